@@ -0,0 +1,18 @@
+package com.plataformaEducativa.proyectoestructuradatos.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "content.cache")
+@Getter
+@Setter
+public class ContentCacheProperties {
+    private boolean enabled = true;
+    private int maxEntries = 2000;
+    private Duration ttl = Duration.ofSeconds(30);
+}
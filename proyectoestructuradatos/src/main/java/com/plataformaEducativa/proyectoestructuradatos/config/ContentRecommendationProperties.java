@@ -0,0 +1,14 @@
+package com.plataformaEducativa.proyectoestructuradatos.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "content.recommendations")
+@Getter
+@Setter
+public class ContentRecommendationProperties {
+    private int neighbours = 20;
+}
@@ -0,0 +1,16 @@
+package com.plataformaEducativa.proyectoestructuradatos.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import com.plataformaEducativa.proyectoestructuradatos.enums.ContentSearchMode;
+
+@Component
+@ConfigurationProperties(prefix = "content.search")
+@Getter
+@Setter
+public class ContentSearchProperties {
+    private ContentSearchMode mode = ContentSearchMode.INDEX;
+}
@@ -0,0 +1,43 @@
+package com.plataformaEducativa.proyectoestructuradatos.config;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Aplaza las migraciones de Flyway hasta que la aplicación ha arrancado.
+ * El esquema lo crea Hibernate (ddl-auto=update) después de que Flyway se
+ * ejecutaría normalmente, así que en una base de datos vacía las migraciones
+ * que crean índices fallarían por no existir aún las tablas.
+ */
+@Configuration
+public class FlywayConfig implements ApplicationListener<ApplicationReadyEvent>, Ordered {
+
+    private final ObjectProvider<Flyway> flyway;
+
+    public FlywayConfig(ObjectProvider<Flyway> flyway) {
+        this.flyway = flyway;
+    }
+
+    @Bean
+    public FlywayMigrationStrategy deferredFlywayMigrationStrategy() {
+        return pending -> {
+            // Se migra en onApplicationEvent
+        };
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        flyway.ifAvailable(Flyway::migrate);
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,17 @@
+package com.plataformaEducativa.proyectoestructuradatos.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "help-requests.matching")
+@Getter
+@Setter
+public class HelpRequestMatchingProperties {
+    private boolean enabled = false;
+    private boolean apply = false;
+    private int candidatesPerRequest = 10;
+    private int maxActivePerHelper = 1;
+}
@@ -0,0 +1,20 @@
+package com.plataformaEducativa.proyectoestructuradatos.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "help-requests.queue")
+@Getter
+@Setter
+public class HelpRequestQueueProperties {
+    private boolean aging = false;
+    private Duration urgentDelay = Duration.ZERO;
+    private Duration highDelay = Duration.ofMinutes(15);
+    private Duration mediumDelay = Duration.ofHours(1);
+    private Duration lowDelay = Duration.ofHours(4);
+}
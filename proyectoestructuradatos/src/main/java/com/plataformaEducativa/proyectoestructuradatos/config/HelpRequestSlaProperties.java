@@ -0,0 +1,14 @@
+package com.plataformaEducativa.proyectoestructuradatos.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "help-requests.sla")
+@Getter
+@Setter
+public class HelpRequestSlaProperties {
+    private int maxTopics = 50;
+}
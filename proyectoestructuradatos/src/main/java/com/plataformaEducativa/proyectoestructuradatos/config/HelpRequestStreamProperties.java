@@ -0,0 +1,23 @@
+package com.plataformaEducativa.proyectoestructuradatos.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "help-requests.stream")
+@Getter
+@Setter
+public class HelpRequestStreamProperties {
+    private int bufferSize = 256;
+    private int senderThreads = 4;
+    private Duration timeout = Duration.ofMinutes(30);
+    private Duration reconnectDelay = Duration.ofSeconds(2);
+    // Un envío bloqueado más tiempo que este cierra al cliente
+    private Duration sendTimeout = Duration.ofSeconds(5);
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+    private Duration stallCheckInterval = Duration.ofSeconds(1);
+}
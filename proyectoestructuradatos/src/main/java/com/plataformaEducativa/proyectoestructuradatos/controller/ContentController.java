@@ -7,13 +7,19 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import com.plataformaEducativa.proyectoestructuradatos.dto.ContentCursorPageDto;
 import com.plataformaEducativa.proyectoestructuradatos.dto.ContentDto;
+import com.plataformaEducativa.proyectoestructuradatos.dto.ContentImportReportDto;
+import com.plataformaEducativa.proyectoestructuradatos.service.ContentImportService;
 import com.plataformaEducativa.proyectoestructuradatos.service.ContentService;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -24,6 +30,7 @@ import java.util.UUID;
 public class ContentController {
 
     private final ContentService contentService;
+    private final ContentImportService contentImportService;
 
     @GetMapping
     public ResponseEntity<Page<ContentDto>> getAllContents(
@@ -55,6 +62,19 @@ public class ContentController {
         return ResponseEntity.noContent().build();
     }
 
+    @PostMapping(value = "/import", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    @PreAuthorize("hasAnyRole('STUDENT', 'MODERATOR')")
+    public ResponseEntity<ContentImportReportDto> importContents(InputStream body) throws IOException {
+        return ResponseEntity.ok(contentImportService.importContents(body));
+    }
+
+    @GetMapping("/{id}/related")
+    public ResponseEntity<List<ContentDto>> getRelatedContents(
+            @PathVariable UUID id,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(contentService.getRelatedContents(id, limit));
+    }
+
     @PostMapping("/{id}/rate")
     @PreAuthorize("hasRole('STUDENT')")
     public ResponseEntity<ContentDto> rateContent(
@@ -106,6 +126,36 @@ public class ContentController {
         return ResponseEntity.ok(contentService.getRecentContents(pageable));
     }
 
+    @GetMapping("/top-rated/scroll")
+    public ResponseEntity<ContentCursorPageDto> scrollTopRatedContents(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(contentService.scrollTopRatedContents(cursor, size));
+    }
+
+    @GetMapping("/most-viewed/scroll")
+    public ResponseEntity<ContentCursorPageDto> scrollMostViewedContents(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(contentService.scrollMostViewedContents(cursor, size));
+    }
+
+    @GetMapping("/recent/scroll")
+    public ResponseEntity<ContentCursorPageDto> scrollRecentContents(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(contentService.scrollRecentContents(cursor, size));
+    }
+
+    @GetMapping("/alphabetical")
+    public ResponseEntity<ContentCursorPageDto> browseContentsAlphabetically(
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(contentService.browseContentsAlphabetically(from, to, cursor, size));
+    }
+
     @GetMapping("/study-group-members/{studentId}")
     public ResponseEntity<Page<ContentDto>> getContentsByStudyGroupMembers(
             @PathVariable UUID studentId,
@@ -120,6 +170,14 @@ public class ContentController {
         return ResponseEntity.ok(contentService.recommendContentsByPreferences(studentId, pageable));
     }
 
+    @GetMapping("/title-search/fuzzy")
+    public ResponseEntity<List<ContentDto>> searchContentsByTitleFuzzy(
+            @RequestParam String title,
+            @RequestParam(defaultValue = "2") int maxDistance,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(contentService.searchContentsByTitleFuzzy(title, maxDistance, limit));
+    }
+
     @GetMapping("/title-search/{title}")
     public ResponseEntity<List<ContentDto>> searchContentsByTitle(@PathVariable String title) {
         return ResponseEntity.ok(contentService.searchContentsByTitle(title));
@@ -3,12 +3,15 @@ package com.plataformaEducativa.proyectoestructuradatos.controller;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.plataformaEducativa.proyectoestructuradatos.dto.HelpRequestDto;
 import com.plataformaEducativa.proyectoestructuradatos.service.HelpRequestService;
+import com.plataformaEducativa.proyectoestructuradatos.service.HelpRequestStreamService;
 
 import java.util.List;
 import java.util.UUID;
@@ -19,6 +22,7 @@ import java.util.UUID;
 public class HelpRequestController {
 
     private final HelpRequestService helpRequestService;
+    private final HelpRequestStreamService helpRequestStreamService;
 
     @GetMapping
     public ResponseEntity<List<HelpRequestDto>> getAllHelpRequests() {
@@ -55,6 +59,20 @@ public class HelpRequestController {
         return ResponseEntity.ok(helpRequestService.offerHelp(id));
     }
 
+    /**
+     * Asigna al estudiante actual la siguiente solicitud abierta de mayor
+     * prioridad, opcionalmente de un tema
+     */
+    @PostMapping("/claim-next")
+    @PreAuthorize("hasRole('STUDENT')")
+    public ResponseEntity<HelpRequestDto> claimNextHelpRequest(@RequestParam(required = false) String topic) {
+        HelpRequestDto request = helpRequestService.claimNextHelpRequest(topic);
+        if (request == null) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok(request);
+    }
+
     @PostMapping("/{id}/resolve")
     public ResponseEntity<HelpRequestDto> resolveHelpRequest(@PathVariable UUID id) {
         return ResponseEntity.ok(helpRequestService.resolveHelpRequest(id));
@@ -65,6 +83,15 @@ public class HelpRequestController {
         return ResponseEntity.ok(helpRequestService.getActiveHelpRequests());
     }
 
+    /**
+     * Stream SSE de la cola de solicitudes abiertas: una instantánea inicial
+     * y después los cambios (enqueued, claimed, resolved, removed)
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamHelpRequests(@RequestParam(required = false) String topic) {
+        return helpRequestStreamService.subscribe(topic);
+    }
+
     @GetMapping("/topic/{topic}")
     public ResponseEntity<List<HelpRequestDto>> getHelpRequestsByTopic(@PathVariable String topic) {
         return ResponseEntity.ok(helpRequestService.getHelpRequestsByTopic(topic));
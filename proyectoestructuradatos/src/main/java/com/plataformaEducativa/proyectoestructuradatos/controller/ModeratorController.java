@@ -4,12 +4,23 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import com.plataformaEducativa.proyectoestructuradatos.dto.HelpMatchingReportDto;
+import com.plataformaEducativa.proyectoestructuradatos.dto.HelpRequestDto;
+import com.plataformaEducativa.proyectoestructuradatos.dto.HelpRequestSlaStatsDto;
 import com.plataformaEducativa.proyectoestructuradatos.dto.ModeratorDto;
 import com.plataformaEducativa.proyectoestructuradatos.models.Student;
+import com.plataformaEducativa.proyectoestructuradatos.service.ContentQueryCache;
+import com.plataformaEducativa.proyectoestructuradatos.service.ContentService;
+import com.plataformaEducativa.proyectoestructuradatos.service.HelpRequestMatchingService;
+import com.plataformaEducativa.proyectoestructuradatos.service.HelpRequestService;
+import com.plataformaEducativa.proyectoestructuradatos.service.HelpRequestSlaService;
 import com.plataformaEducativa.proyectoestructuradatos.service.ModeratorService;
 import com.plataformaEducativa.proyectoestructuradatos.service.StudentConnectionService;
 
@@ -24,6 +35,11 @@ public class ModeratorController {
 
     private final ModeratorService moderatorService;
     private final StudentConnectionService connectionService;
+    private final ContentQueryCache contentQueryCache;
+    private final ContentService contentService;
+    private final HelpRequestMatchingService helpRequestMatchingService;
+    private final HelpRequestService helpRequestService;
+    private final HelpRequestSlaService helpRequestSlaService;
 
     @GetMapping
     public ResponseEntity<List<ModeratorDto>> getAllModerators() {
@@ -149,6 +165,68 @@ public class ModeratorController {
         return ResponseEntity.ok(result);
     }
 
+    /**
+     * Estadísticas de la caché de consultas de contenidos (aciertos, fallos,
+     * desalojos, caducidades e invalidaciones).
+     */
+    @GetMapping("/analytics/content-cache")
+    public ResponseEntity<Map<String, Object>> getContentCacheStatistics() {
+        return ResponseEntity.ok(contentQueryCache.getStatistics());
+    }
+
+    /**
+     * Revisión de contenidos por etiqueta y/o autor sobre todo el catálogo,
+     * con el tiempo empleado y si el recorrido se hizo en paralelo.
+     */
+    @GetMapping("/content-review")
+    public ResponseEntity<Map<String, Object>> reviewContents(
+            @RequestParam(required = false) String tag,
+            @RequestParam(required = false) String author) {
+
+        try {
+            return ResponseEntity.ok(contentService.reviewContents(tag, author));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Percentiles del tiempo hasta tener ayudante y hasta resolverse, por
+     * prioridad y, opcionalmente, por tema.
+     */
+    @GetMapping("/analytics/help-sla")
+    public ResponseEntity<List<HelpRequestSlaStatsDto>> getHelpRequestSlaStatistics(
+            @RequestParam(defaultValue = "false") boolean byTopic) {
+        return ResponseEntity.ok(helpRequestSlaService.getStatistics(byTopic));
+    }
+
+    /**
+     * Cola de solicitudes abiertas en orden de atención, paginada y
+     * opcionalmente filtrada por tema.
+     */
+    @GetMapping("/help-queue")
+    public ResponseEntity<Page<HelpRequestDto>> getHelpRequestQueue(
+            @RequestParam(required = false) String topic,
+            @PageableDefault(size = 20) Pageable pageable) {
+        return ResponseEntity.ok(helpRequestService.getOpenHelpRequestsPage(topic, pageable));
+    }
+
+    /**
+     * Emparejamiento por lotes de solicitudes abiertas con ayudantes, sin aplicarlo.
+     */
+    @GetMapping("/help-matching/proposals")
+    public ResponseEntity<HelpMatchingReportDto> getHelpMatchingProposals() {
+        return ResponseEntity.ok(helpRequestMatchingService.propose());
+    }
+
+    /**
+     * Calcula el emparejamiento y asigna los ayudantes en una sola transacción.
+     */
+    @PostMapping("/help-matching/apply")
+    public ResponseEntity<HelpMatchingReportDto> applyHelpMatching() {
+        return ResponseEntity.ok(helpRequestMatchingService.apply());
+    }
+
     @PostMapping("/analytics/generate-connections")
     public ResponseEntity<Map<String, String>> generateConnections(@RequestParam String type) {
         switch (type) {
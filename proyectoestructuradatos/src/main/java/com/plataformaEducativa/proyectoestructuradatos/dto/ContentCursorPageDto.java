@@ -0,0 +1,21 @@
+package com.plataformaEducativa.proyectoestructuradatos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ContentCursorPageDto {
+    private List<ContentDto> contents = new ArrayList<>();
+
+    // Cursor opaco para pedir la página siguiente; null si no hay más
+    private String nextCursor;
+    private boolean hasNext;
+}
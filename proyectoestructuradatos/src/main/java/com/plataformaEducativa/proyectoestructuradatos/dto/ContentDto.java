@@ -2,6 +2,7 @@ package com.plataformaEducativa.proyectoestructuradatos.dto;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -22,17 +23,20 @@ public class ContentDto {
     private UUID id;
 
     @NotBlank(message = "Title is required")
+    @Size(max = 255, message = "Title must be at most 255 characters")
     private String title;
 
     @NotBlank(message = "Description is required")
+    @Size(max = 2000, message = "Description must be at most 2000 characters")
     private String description;
 
+    @Size(max = 255, message = "Content URL must be at most 255 characters")
     private String contentUrl;
 
     @NotNull(message = "Content type is required")
     private ContentType contentType;
 
-    private Set<String> tags = new HashSet<>();
+    private Set<@Size(max = 255, message = "Tags must be at most 255 characters") String> tags = new HashSet<>();
 
     private UUID authorId;
     private String authorUsername;
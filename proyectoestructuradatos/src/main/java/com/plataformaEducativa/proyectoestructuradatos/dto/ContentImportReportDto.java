@@ -0,0 +1,20 @@
+package com.plataformaEducativa.proyectoestructuradatos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ContentImportReportDto {
+    private int total;
+    private int imported;
+    private int failed;
+    private List<ContentImportResultDto> results = new ArrayList<>();
+}
@@ -0,0 +1,20 @@
+package com.plataformaEducativa.proyectoestructuradatos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ContentImportResultDto {
+    // Posición del registro en el cuerpo de la petición (desde 0)
+    private int index;
+    private boolean imported;
+    private UUID contentId;
+    private String error;
+}
@@ -0,0 +1,23 @@
+package com.plataformaEducativa.proyectoestructuradatos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+import com.plataformaEducativa.proyectoestructuradatos.enums.HelpRequestPriority;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HelpMatchDto {
+    private UUID requestId;
+    private String topic;
+    private HelpRequestPriority priority;
+    private UUID helperId;
+    private double score;
+    private boolean applied;
+}
@@ -0,0 +1,24 @@
+package com.plataformaEducativa.proyectoestructuradatos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HelpMatchingReportDto {
+    private int openRequests;
+    private int helpers;
+    private int proposed;
+    private int applied;
+    private int skipped;
+    private long elapsedMillis;
+    private boolean applyMode;
+    private List<HelpMatchDto> matches = new ArrayList<>();
+}
@@ -0,0 +1,25 @@
+package com.plataformaEducativa.proyectoestructuradatos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.plataformaEducativa.proyectoestructuradatos.enums.HelpRequestQueueEventType;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HelpRequestEventDto {
+    private long sequence;
+    private HelpRequestQueueEventType type;
+    private UUID requestId;
+    private String topic;
+    // Solo en ENQUEUED
+    private HelpRequestDto request;
+    private LocalDateTime timestamp;
+}
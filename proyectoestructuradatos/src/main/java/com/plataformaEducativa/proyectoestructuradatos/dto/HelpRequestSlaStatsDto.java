@@ -0,0 +1,26 @@
+package com.plataformaEducativa.proyectoestructuradatos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import com.plataformaEducativa.proyectoestructuradatos.enums.HelpRequestPriority;
+import com.plataformaEducativa.proyectoestructuradatos.enums.HelpRequestSlaMetric;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HelpRequestSlaStatsDto {
+    private HelpRequestSlaMetric metric;
+    private HelpRequestPriority priority;
+    // null = todos los temas
+    private String topic;
+    private long count;
+    private double meanMillis;
+    private long p50Millis;
+    private long p90Millis;
+    private long p99Millis;
+    private long maxMillis;
+}
@@ -49,13 +49,18 @@ public class ContentEntity {
     @OneToMany(mappedBy = "content", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<ContentRatingEntity> ratings = new HashSet<>();
 
-    @Column(name = "average_rating")
+    // Agregados de valoración: solo se modifican con ContentRepository.applyRatingDelta
+    @Column(name = "average_rating", updatable = false)
     private Double averageRating = 0.0;
 
-    @Column(name = "rating_count")
+    @Column(name = "rating_count", updatable = false)
     private Integer ratingCount = 0;
 
-    @Column(name = "view_count")
+    @Column(name = "rating_sum", updatable = false)
+    private Long ratingSum = 0L;
+
+    // Solo lo incrementa ContentViewCounter con UPDATE ... view_count + ?; guardar la entidad no lo pisa
+    @Column(name = "view_count", updatable = false)
     private Integer viewCount = 0;
 
     @CreationTimestamp
@@ -57,4 +57,10 @@ public class HelpRequestEntity {
     @UpdateTimestamp
     @Column(nullable = false)
     private LocalDateTime updatedAt;
+
+    // Bloqueo optimista: una escritura sobre una copia leída antes de otra
+    // actualización falla en lugar de pisarla
+    @Version
+    @Column(name = "version")
+    private Long version;
 }
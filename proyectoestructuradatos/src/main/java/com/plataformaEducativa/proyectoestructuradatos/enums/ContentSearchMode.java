@@ -0,0 +1,6 @@
+package com.plataformaEducativa.proyectoestructuradatos.enums;
+
+public enum ContentSearchMode {
+    INDEX,
+    DATABASE
+}
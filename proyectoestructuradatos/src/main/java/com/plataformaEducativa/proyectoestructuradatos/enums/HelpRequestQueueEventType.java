@@ -0,0 +1,12 @@
+package com.plataformaEducativa.proyectoestructuradatos.enums;
+
+public enum HelpRequestQueueEventType {
+    // Entra en la cola o cambia estando en ella
+    ENQUEUED,
+    // Sale de la cola porque un ayudante la tomó
+    CLAIMED,
+    RESOLVED,
+    REMOVED,
+    // Las colas se recargaron desde la base de datos: hay que resincronizar
+    RELOADED
+}
@@ -0,0 +1,8 @@
+package com.plataformaEducativa.proyectoestructuradatos.enums;
+
+public enum HelpRequestSlaMetric {
+    // Desde la creación hasta que un ayudante la toma
+    TIME_TO_FIRST_HELPER,
+    // Desde la creación hasta que se resuelve
+    TIME_TO_RESOLVE
+}
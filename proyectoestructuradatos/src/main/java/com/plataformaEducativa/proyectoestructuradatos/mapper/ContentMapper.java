@@ -7,6 +7,7 @@ import com.plataformaEducativa.proyectoestructuradatos.dto.ContentDto;
 import com.plataformaEducativa.proyectoestructuradatos.entity.ContentEntity;
 import com.plataformaEducativa.proyectoestructuradatos.entity.StudentEntity;
 import com.plataformaEducativa.proyectoestructuradatos.models.Content;
+import com.plataformaEducativa.proyectoestructuradatos.repository.projection.ContentListingRow;
 import com.plataformaEducativa.proyectoestructuradatos.repository.StudentRepository;
 
 import java.util.UUID;
@@ -21,8 +22,13 @@ public abstract class ContentMapper {
     @Mapping(target = "authorUsername", source = "author.username")
     public abstract ContentDto entityToDto(ContentEntity entity);
 
+    // Las etiquetas de un listado se cargan en bloque y se asignan después
+    @Mapping(target = "tags", ignore = true)
+    public abstract ContentDto listingToDto(ContentListingRow row);
+
     @Mapping(target = "author", expression = "java(findStudentById(dto.getAuthorId()))")
     @Mapping(target = "ratings", ignore = true)
+    @Mapping(target = "ratingSum", constant = "0L")
     public abstract ContentEntity dtoToEntity(ContentDto dto);
 
     @Mapping(target = "author", source = "author")
@@ -30,11 +36,16 @@ public abstract class ContentMapper {
 
     @Mapping(target = "author", source = "author")
     @Mapping(target = "ratings", ignore = true)
+    @Mapping(target = "ratingSum", ignore = true)
     public abstract ContentEntity modelToEntity(Content model);
 
     @Mapping(target = "author", expression = "java(findStudentById(dto.getAuthorId()))")
     @Mapping(target = "ratings", ignore = true)
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "viewCount", ignore = true)
+    @Mapping(target = "averageRating", ignore = true)
+    @Mapping(target = "ratingCount", ignore = true)
+    @Mapping(target = "ratingSum", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     public abstract void updateEntityFromDto(ContentDto dto, @MappingTarget ContentEntity entity);
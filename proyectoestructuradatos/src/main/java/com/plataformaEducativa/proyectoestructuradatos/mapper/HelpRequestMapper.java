@@ -23,8 +23,15 @@ public abstract class HelpRequestMapper {
     @Mapping(target = "helperUsername", source = "helper.username")
     public abstract HelpRequestDto entityToDto(HelpRequestEntity entity);
 
+    @Mapping(target = "requesterId", source = "requester.id")
+    @Mapping(target = "requesterUsername", source = "requester.username")
+    @Mapping(target = "helperId", source = "helper.id")
+    @Mapping(target = "helperUsername", source = "helper.username")
+    public abstract HelpRequestDto modelToDto(HelpRequest model);
+
     @Mapping(target = "requester", expression = "java(findStudentById(dto.getRequesterId()))")
     @Mapping(target = "helper", expression = "java(findStudentById(dto.getHelperId()))")
+    @Mapping(target = "version", ignore = true)
     public abstract HelpRequestEntity dtoToEntity(HelpRequestDto dto);
 
     @Mapping(target = "requester", source = "requester")
@@ -33,6 +40,7 @@ public abstract class HelpRequestMapper {
 
     @Mapping(target = "requester", source = "requester")
     @Mapping(target = "helper", source = "helper")
+    @Mapping(target = "version", ignore = true)
     public abstract HelpRequestEntity modelToEntity(HelpRequest model);
 
     @Mapping(target = "requester", expression = "java(findStudentById(dto.getRequesterId()))")
@@ -40,6 +48,8 @@ public abstract class HelpRequestMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "resolvedAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
     public abstract void updateEntityFromDto(HelpRequestDto dto, @MappingTarget HelpRequestEntity entity);
 
     protected StudentEntity findStudentById(UUID id) {
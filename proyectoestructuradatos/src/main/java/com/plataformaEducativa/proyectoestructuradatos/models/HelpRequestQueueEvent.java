@@ -0,0 +1,18 @@
+package com.plataformaEducativa.proyectoestructuradatos.models;
+
+import java.util.UUID;
+
+import com.plataformaEducativa.proyectoestructuradatos.enums.HelpRequestQueueEventType;
+
+/**
+ * Cambio en las colas residentes de solicitudes de ayuda. Se publica como
+ * evento de aplicación en el mismo hilo que modifica la cola.
+ *
+ * @param type      Tipo de cambio
+ * @param requestId ID de la solicitud (null en {@code RELOADED})
+ * @param topic     Tema de la cola afectada (null en {@code RELOADED})
+ * @param request   Estado de la solicitud en {@code ENQUEUED}; null en el resto
+ */
+public record HelpRequestQueueEvent(HelpRequestQueueEventType type, UUID requestId, String topic,
+        HelpRequest request) {
+}
@@ -2,6 +2,7 @@ package com.plataformaEducativa.proyectoestructuradatos.models.datastructure.Bin
 
 import com.plataformaEducativa.proyectoestructuradatos.models.Content;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -10,15 +11,44 @@ import lombok.Setter;
  * Esta clase representa cada nodo en la estructura del árbol.
  */
 @Getter
-@Setter
 public class ContentBSTNode {
+    @Setter(AccessLevel.PACKAGE)
     private Content content;
     private ContentBSTNode left;
     private ContentBSTNode right;
+    // Número de nodos del subárbol; se recalcula al cambiar un hijo
+    private int size;
 
     public ContentBSTNode(Content content) {
         this.content = content;
         this.left = null;
         this.right = null;
+        this.size = 1;
+    }
+
+    public static int sizeOf(ContentBSTNode node) {
+        return node != null ? node.size : 0;
+    }
+
+    /**
+     * Cambia el hijo izquierdo y recalcula el tamaño del subárbol. El hijo ya
+     * debe tener su tamaño al día.
+     */
+    void setLeft(ContentBSTNode left) {
+        this.left = left;
+        updateSize();
+    }
+
+    /**
+     * Cambia el hijo derecho y recalcula el tamaño del subárbol. El hijo ya
+     * debe tener su tamaño al día.
+     */
+    void setRight(ContentBSTNode right) {
+        this.right = right;
+        updateSize();
+    }
+
+    private void updateSize() {
+        this.size = 1 + sizeOf(left) + sizeOf(right);
     }
 }
@@ -1,18 +1,30 @@
 package com.plataformaEducativa.proyectoestructuradatos.models.datastructure.BinarySearchTree;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import com.plataformaEducativa.proyectoestructuradatos.models.Content;
 
 import lombok.Getter;
 
 /**
- * Árbol Binario de Búsqueda para Contenidos educativos.
+ * Árbol Binario de Búsqueda para Contenidos educativos, ordenado por título y,
+ * entre títulos iguales, por ID.
  * Esta implementación separa la estructura del árbol de sus nodos.
  */
-public class ContentBinarySearchTree {
+public class ContentBinarySearchTree implements Iterable<Content> {
+
+    // Por debajo de este número de nodos no compensa repartir el recorrido entre hilos
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 4096;
 
     @Getter
     private ContentBSTNode root;
@@ -22,7 +34,49 @@ public class ContentBinarySearchTree {
     }
 
     /**
-     * Inserta un nuevo contenido en el árbol.
+     * Construye un árbol balanceado con los contenidos dados en O(n log n):
+     * se ordenan por (título, ID) y cada subárbol toma como raíz el elemento
+     * central de su tramo. Insertarlos uno a uno degenera en una lista cuando
+     * llegan ordenados; así la altura queda en O(log n) sea cual sea el orden
+     * de entrada.
+     *
+     * @param contents Contenidos a incluir; de los que repiten (título, ID) se
+     *                 conserva el último, igual que con {@link #insert}
+     * @return Árbol con los contenidos
+     */
+    public static ContentBinarySearchTree of(Collection<Content> contents) {
+        List<Content> sorted = new ArrayList<>(contents);
+        sorted.sort(ContentTitleOrder::compare);
+
+        List<Content> unique = new ArrayList<>(sorted.size());
+        for (Content content : sorted) {
+            int last = unique.size() - 1;
+            if (last >= 0 && ContentTitleOrder.compare(unique.get(last), content) == 0) {
+                unique.set(last, content);
+            } else {
+                unique.add(content);
+            }
+        }
+
+        ContentBinarySearchTree tree = new ContentBinarySearchTree();
+        tree.root = buildBalanced(unique, 0, unique.size());
+        return tree;
+    }
+
+    private static ContentBSTNode buildBalanced(List<Content> sorted, int from, int to) {
+        if (from >= to) {
+            return null;
+        }
+        int middle = (from + to) >>> 1;
+        ContentBSTNode node = new ContentBSTNode(sorted.get(middle));
+        node.setLeft(buildBalanced(sorted, from, middle));
+        node.setRight(buildBalanced(sorted, middle + 1, to));
+        return node;
+    }
+
+    /**
+     * Inserta un nuevo contenido en el árbol. Solo reemplaza a otro contenido
+     * con el mismo título y el mismo ID.
      * 
      * @param content Contenido a insertar
      */
@@ -35,16 +89,14 @@ public class ContentBinarySearchTree {
             return new ContentBSTNode(content);
         }
 
-        // Using title for comparison in the BST
-        int comparison = content.getTitle().compareToIgnoreCase(current.getContent().getTitle());
+        int comparison = ContentTitleOrder.compare(content, current.getContent());
 
         if (comparison < 0) {
             current.setLeft(insertRecursive(current.getLeft(), content));
         } else if (comparison > 0) {
             current.setRight(insertRecursive(current.getRight(), content));
         } else {
-            // For duplicate titles, we can either replace or ignore
-            // Here we're replacing the content
+            // Mismo título y mismo ID: es el mismo contenido, se reemplaza
             current.setContent(content);
         }
 
@@ -52,26 +104,43 @@ public class ContentBinarySearchTree {
     }
 
     /**
-     * Busca un contenido por su título.
+     * Busca un contenido por su título. Si varios comparten título devuelve
+     * el de menor ID.
      * 
      * @param title Título a buscar
      * @return Contenido encontrado o null si no existe
      */
     public Content search(String title) {
-        ContentBSTNode result = searchRecursive(root, title);
-        return result != null ? result.getContent() : null;
-    }
-
-    private ContentBSTNode searchRecursive(ContentBSTNode current, String title) {
-        if (current == null || current.getContent().getTitle().equalsIgnoreCase(title)) {
-            return current;
+        ContentBSTNode current = root;
+        Content found = null;
+        while (current != null) {
+            int comparison = ContentTitleOrder.compare(current.getContent(), title, null);
+            if (comparison == 0) {
+                // Puede haber otro con el mismo título y menor ID a la izquierda
+                found = current.getContent();
+            }
+            current = comparison < 0 ? current.getRight() : current.getLeft();
         }
+        return found;
+    }
 
-        if (title.compareToIgnoreCase(current.getContent().getTitle()) < 0) {
-            return searchRecursive(current.getLeft(), title);
-        } else {
-            return searchRecursive(current.getRight(), title);
+    /**
+     * Busca todos los contenidos con ese título, en orden de ID.
+     *
+     * @param title Título a buscar
+     * @return Contenidos con ese título (vacío si no hay ninguno)
+     */
+    public List<Content> searchAll(String title) {
+        List<Content> result = new ArrayList<>();
+        Iterator<Content> iterator = newIterator(title, null, true, null);
+        while (iterator.hasNext()) {
+            Content content = iterator.next();
+            if (!content.getTitle().equalsIgnoreCase(title)) {
+                break;
+            }
+            result.add(content);
         }
+        return result;
     }
 
     /**
@@ -92,7 +161,7 @@ public class ContentBinarySearchTree {
         }
 
         // Check if current node's content has the tag
-        if (current.getContent().getTags().stream().anyMatch(t -> t.toLowerCase().contains(tag))) {
+        if (hasTagContaining(current.getContent(), tag)) {
             result.add(current.getContent());
         }
 
@@ -119,7 +188,7 @@ public class ContentBinarySearchTree {
         }
 
         // Check if current node's content is by the author
-        if (current.getContent().getAuthor().getUsername().toLowerCase().equals(authorUsername)) {
+        if (isByAuthor(current.getContent(), authorUsername)) {
             result.add(current.getContent());
         }
 
@@ -153,6 +222,82 @@ public class ContentBinarySearchTree {
         filterRecursive(current.getRight(), predicate, result);
     }
 
+    /**
+     * Filtra contenidos repartiendo el recorrido entre los hilos del pool
+     * común. Ver {@link #filterParallel(Predicate, ForkJoinPool, int)}.
+     *
+     * @param predicate Predicado para filtrar; se evalúa desde varios hilos
+     * @return Contenidos que cumplen con el predicado y tiempos de la llamada
+     */
+    public ContentTreeFilterResult filterParallel(Predicate<Content> predicate) {
+        return filterParallel(predicate, ForkJoinPool.commonPool(), DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Filtra contenidos dividiendo en tareas los subárboles de más de
+     * {@code threshold} nodos. El resultado está en el mismo orden (preorden)
+     * que {@link #filter(Predicate)}. Si el árbol entero no supera el umbral
+     * se usa el recorrido secuencial. El árbol no debe modificarse mientras
+     * dura la llamada.
+     *
+     * @param predicate Predicado para filtrar; se evalúa desde varios hilos
+     * @param pool      Pool en el que se ejecutan las tareas
+     * @param threshold Tamaño de subárbol a partir del cual se divide
+     * @return Contenidos que cumplen con el predicado y tiempos de la llamada
+     */
+    public ContentTreeFilterResult filterParallel(Predicate<Content> predicate, ForkJoinPool pool, int threshold) {
+        long start = System.nanoTime();
+        int visited = size();
+
+        if (visited <= threshold) {
+            List<Content> result = filter(predicate);
+            return new ContentTreeFilterResult(result, visited, false, 0, System.nanoTime() - start);
+        }
+
+        ContentFilterTask task = new ContentFilterTask(root, predicate, threshold);
+        List<Content> result = pool.invoke(task);
+        return new ContentTreeFilterResult(result, visited, true, task.getTaskCount(), System.nanoTime() - start);
+    }
+
+    /**
+     * Condición de {@link #searchByTag(String)} para combinarla en
+     * {@link #filterParallel(Predicate)}.
+     *
+     * @param tag Texto que debe contener alguna etiqueta (sin distinguir mayúsculas)
+     * @return Predicado sobre contenidos
+     */
+    public static Predicate<Content> taggedWith(String tag) {
+        String lowerTag = tag.toLowerCase();
+        return content -> hasTagContaining(content, lowerTag);
+    }
+
+    /**
+     * Condición de {@link #searchByAuthor(String)} para combinarla en
+     * {@link #filterParallel(Predicate)}.
+     *
+     * @param authorUsername Nombre de usuario del autor (sin distinguir mayúsculas)
+     * @return Predicado sobre contenidos
+     */
+    public static Predicate<Content> byAuthor(String authorUsername) {
+        String lowerUsername = authorUsername.toLowerCase();
+        return content -> isByAuthor(content, lowerUsername);
+    }
+
+    private static boolean hasTagContaining(Content content, String lowerTag) {
+        return content.getTags().stream().anyMatch(t -> t.toLowerCase().contains(lowerTag));
+    }
+
+    private static boolean isByAuthor(Content content, String lowerUsername) {
+        return content.getAuthor().getUsername().toLowerCase().equals(lowerUsername);
+    }
+
+    /**
+     * Número de contenidos del árbol.
+     */
+    public int size() {
+        return ContentBSTNode.sizeOf(root);
+    }
+
     /**
      * Realiza un recorrido en orden del árbol.
      * 
@@ -175,25 +320,136 @@ public class ContentBinarySearchTree {
     }
 
     /**
-     * Elimina un contenido por su título.
+     * Recorre el árbol en orden alfabético de forma perezosa. El iterador no
+     * detecta modificaciones concurrentes del árbol.
+     *
+     * @return Iterador sobre todos los contenidos
+     */
+    @Override
+    public Iterator<Content> iterator() {
+        return iterator(null, null);
+    }
+
+    /**
+     * Recorre en orden los contenidos con título en [fromTitle, toTitle).
+     *
+     * @param fromTitle Título inicial incluido (null para empezar por el primero)
+     * @param toTitle   Título final excluido (null para llegar hasta el último)
+     * @return Iterador sobre el rango
+     */
+    public Iterator<Content> iterator(String fromTitle, String toTitle) {
+        return newIterator(fromTitle, null, true, toTitle);
+    }
+
+    /**
+     * Recorre en orden los contenidos con título estrictamente posterior a
+     * {@code afterTitle} y anterior a {@code toTitle}; útil para continuar
+     * una página a partir del último título devuelto.
+     *
+     * @param afterTitle Último título ya visto
+     * @param toTitle    Título final excluido (null para llegar hasta el último)
+     * @return Iterador sobre el rango
+     */
+    public Iterator<Content> iteratorAfter(String afterTitle, String toTitle) {
+        return newIterator(afterTitle, null, false, toTitle);
+    }
+
+    /**
+     * Recorre en orden los contenidos posteriores a la clave (afterTitle,
+     * afterId) y con título anterior a {@code toTitle}.
+     *
+     * @param afterTitle Título del último contenido ya visto
+     * @param afterId    ID del último contenido ya visto
+     * @param toTitle    Título final excluido (null para llegar hasta el último)
+     * @return Iterador sobre el rango
+     */
+    public Iterator<Content> iteratorAfter(String afterTitle, UUID afterId, String toTitle) {
+        return newIterator(afterTitle, afterId, false, toTitle);
+    }
+
+    @Override
+    public Spliterator<Content> spliterator() {
+        return newIterator(null, null, true, null).spliterator();
+    }
+
+    /**
+     * Devuelve un Stream ordenado y perezoso de los contenidos con título en
+     * [fromTitle, toTitle). Operaciones como limit() detienen el recorrido.
+     *
+     * @param fromTitle Título inicial incluido (null para empezar por el primero)
+     * @param toTitle   Título final excluido (null para llegar hasta el último)
+     * @return Stream de contenidos en orden alfabético
+     */
+    public Stream<Content> stream(String fromTitle, String toTitle) {
+        return StreamSupport.stream(newIterator(fromTitle, null, true, toTitle).spliterator(), false);
+    }
+
+    /**
+     * Devuelve como mucho {@code limit} contenidos con título en [fromTitle, toTitle),
+     * en O(log n + limit).
+     *
+     * @param fromTitle Título inicial incluido (null para empezar por el primero)
+     * @param toTitle   Título final excluido (null para llegar hasta el último)
+     * @param limit     Número máximo de contenidos
+     * @return Lista de contenidos en orden alfabético
+     */
+    public List<Content> range(String fromTitle, String toTitle, int limit) {
+        return stream(fromTitle, toTitle).limit(limit).collect(Collectors.toList());
+    }
+
+    /**
+     * Filtra contenidos según un predicado y se detiene al encontrar
+     * {@code limit} coincidencias, devolviéndolas en orden alfabético.
+     *
+     * @param predicate Predicado para filtrar
+     * @param limit     Número máximo de coincidencias
+     * @return Lista de contenidos que cumplen con el predicado
+     */
+    public List<Content> filter(Predicate<Content> predicate, int limit) {
+        return stream(null, null).filter(predicate).limit(limit).collect(Collectors.toList());
+    }
+
+    private ContentTreeIterator<ContentBSTNode> newIterator(String fromTitle, UUID fromId, boolean fromInclusive,
+            String toTitle) {
+        return new ContentTreeIterator<>(root, fromTitle, fromId, fromInclusive, toTitle,
+                ContentBSTNode::getLeft, ContentBSTNode::getRight, ContentBSTNode::getContent);
+    }
+
+    /**
+     * Elimina un contenido por su título. Si varios comparten título elimina
+     * el que devuelve {@link #search}.
      * 
      * @param title Título del contenido a eliminar
      */
     public void remove(String title) {
-        root = removeRecursive(root, title);
+        Content found = search(title);
+        if (found != null) {
+            remove(found.getTitle(), found.getId());
+        }
     }
 
-    private ContentBSTNode removeRecursive(ContentBSTNode current, String title) {
+    /**
+     * Elimina el contenido con ese título e ID, sin tocar a los demás que
+     * compartan título.
+     *
+     * @param title     Título del contenido a eliminar
+     * @param contentId ID del contenido a eliminar
+     */
+    public void remove(String title, UUID contentId) {
+        root = removeRecursive(root, title, contentId);
+    }
+
+    private ContentBSTNode removeRecursive(ContentBSTNode current, String title, UUID contentId) {
         if (current == null) {
             return null;
         }
 
-        int comparison = title.compareToIgnoreCase(current.getContent().getTitle());
+        int comparison = ContentTitleOrder.compare(current.getContent(), title, contentId);
 
-        if (comparison < 0) {
-            current.setLeft(removeRecursive(current.getLeft(), title));
-        } else if (comparison > 0) {
-            current.setRight(removeRecursive(current.getRight(), title));
+        if (comparison > 0) {
+            current.setLeft(removeRecursive(current.getLeft(), title, contentId));
+        } else if (comparison < 0) {
+            current.setRight(removeRecursive(current.getRight(), title, contentId));
         } else {
             // Node with only one child or no child
             if (current.getLeft() == null) {
@@ -206,7 +462,8 @@ public class ContentBinarySearchTree {
             current.setContent(findMin(current.getRight()).getContent());
 
             // Delete the inorder successor
-            current.setRight(removeRecursive(current.getRight(), current.getContent().getTitle()));
+            Content successor = current.getContent();
+            current.setRight(removeRecursive(current.getRight(), successor.getTitle(), successor.getId()));
         }
 
         return current;
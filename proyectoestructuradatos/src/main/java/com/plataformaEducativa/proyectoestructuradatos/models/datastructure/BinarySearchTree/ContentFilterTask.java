@@ -0,0 +1,125 @@
+package com.plataformaEducativa.proyectoestructuradatos.models.datastructure.BinarySearchTree;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import com.plataformaEducativa.proyectoestructuradatos.models.Content;
+
+/**
+ * Tarea fork/join que filtra un subárbol de {@link ContentBinarySearchTree}
+ * devolviendo las coincidencias en preorden (nodo, izquierdo, derecho).
+ *
+ * El árbol no está equilibrado, así que en lugar de recursión la tarea baja
+ * en bucle por el hijo más grande y separa el otro: como tarea nueva si
+ * supera el umbral o recorrido en el momento si no. Así una rama degenerada
+ * no desborda la pila. Los trozos se guardan en el orden en que deben
+ * aparecer: los que siguen al nodo actual en {@code head} y los hijos
+ * derechos pendientes de los nodos por los que se bajó a la izquierda en
+ * {@code tail}, que van detrás de todo lo que quede por debajo.
+ */
+class ContentFilterTask extends RecursiveTask<List<Content>> {
+
+    private final ContentBSTNode root;
+    private final Predicate<Content> predicate;
+    private final int threshold;
+    private final AtomicInteger taskCount;
+
+    ContentFilterTask(ContentBSTNode root, Predicate<Content> predicate, int threshold) {
+        this(root, predicate, threshold, new AtomicInteger(1));
+    }
+
+    private ContentFilterTask(ContentBSTNode root, Predicate<Content> predicate, int threshold,
+            AtomicInteger taskCount) {
+        this.root = root;
+        this.predicate = predicate;
+        this.threshold = threshold;
+        this.taskCount = taskCount;
+    }
+
+    /**
+     * Número de tareas creadas en todo el filtrado, incluida la inicial.
+     */
+    int getTaskCount() {
+        return taskCount.get();
+    }
+
+    @Override
+    protected List<Content> compute() {
+        // Cada trozo es una lista ya calculada o una subtarea lanzada
+        List<Object> head = new ArrayList<>();
+        Deque<Object> tail = new ArrayDeque<>();
+
+        ContentBSTNode node = root;
+        while (node != null) {
+            if (ContentBSTNode.sizeOf(node) <= threshold) {
+                head.add(filterSequential(node));
+                break;
+            }
+
+            if (predicate.test(node.getContent())) {
+                head.add(List.of(node.getContent()));
+            }
+
+            ContentBSTNode left = node.getLeft();
+            ContentBSTNode right = node.getRight();
+            if (ContentBSTNode.sizeOf(left) >= ContentBSTNode.sizeOf(right)) {
+                tail.push(split(right));
+                node = left;
+            } else {
+                head.add(split(left));
+                node = right;
+            }
+        }
+
+        List<Content> result = new ArrayList<>();
+        for (Object piece : head) {
+            result.addAll(resolve(piece));
+        }
+        for (Object piece : tail) {
+            result.addAll(resolve(piece));
+        }
+        return result;
+    }
+
+    private Object split(ContentBSTNode node) {
+        if (ContentBSTNode.sizeOf(node) <= threshold) {
+            return filterSequential(node);
+        }
+        taskCount.incrementAndGet();
+        return new ContentFilterTask(node, predicate, threshold, taskCount).fork();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Content> resolve(Object piece) {
+        return piece instanceof ContentFilterTask task ? task.join() : (List<Content>) piece;
+    }
+
+    /**
+     * Recorrido en preorden con pila explícita.
+     */
+    private List<Content> filterSequential(ContentBSTNode node) {
+        List<Content> result = new ArrayList<>();
+        Deque<ContentBSTNode> stack = new ArrayDeque<>();
+        if (node != null) {
+            stack.push(node);
+        }
+        while (!stack.isEmpty()) {
+            ContentBSTNode current = stack.pop();
+            if (predicate.test(current.getContent())) {
+                result.add(current.getContent());
+            }
+            if (current.getRight() != null) {
+                stack.push(current.getRight());
+            }
+            if (current.getLeft() != null) {
+                stack.push(current.getLeft());
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,35 @@
+package com.plataformaEducativa.proyectoestructuradatos.models.datastructure.BinarySearchTree;
+
+import java.util.UUID;
+
+import com.plataformaEducativa.proyectoestructuradatos.models.Content;
+
+/**
+ * Orden de los árboles de contenidos: título sin distinguir mayúsculas y,
+ * entre títulos iguales, ID. El título no es único, así que cada contenido
+ * ocupa su propio nodo aunque comparta título con otros.
+ */
+final class ContentTitleOrder {
+
+    private ContentTitleOrder() {
+    }
+
+    static int compare(Content first, Content second) {
+        return compare(first, second.getTitle(), second.getId());
+    }
+
+    /**
+     * Compara un contenido con la clave (título, ID). Con un ID null solo se
+     * compara el título, de modo que la clave equivale a todo el grupo de
+     * contenidos con ese título.
+     *
+     * @return Negativo si el contenido va antes que la clave, cero si coincide
+     */
+    static int compare(Content content, String title, UUID id) {
+        int byTitle = content.getTitle().compareToIgnoreCase(title);
+        if (byTitle != 0 || id == null || content.getId() == null) {
+            return byTitle;
+        }
+        return content.getId().compareTo(id);
+    }
+}
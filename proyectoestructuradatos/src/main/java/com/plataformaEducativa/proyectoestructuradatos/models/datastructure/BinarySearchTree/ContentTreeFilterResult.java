@@ -0,0 +1,51 @@
+package com.plataformaEducativa.proyectoestructuradatos.models.datastructure.BinarySearchTree;
+
+import java.util.List;
+
+import com.plataformaEducativa.proyectoestructuradatos.models.Content;
+
+/**
+ * Resultado de un filtrado del árbol de contenidos: los contenidos que
+ * cumplen el predicado y cómo se ha hecho el recorrido (nodos visitados,
+ * si fue en paralelo, tareas creadas y tiempo empleado).
+ */
+public final class ContentTreeFilterResult {
+    private final List<Content> contents;
+    private final int visitedNodes;
+    private final boolean parallel;
+    private final int taskCount;
+    private final long elapsedNanos;
+
+    ContentTreeFilterResult(List<Content> contents, int visitedNodes, boolean parallel, int taskCount,
+            long elapsedNanos) {
+        this.contents = contents;
+        this.visitedNodes = visitedNodes;
+        this.parallel = parallel;
+        this.taskCount = taskCount;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public List<Content> getContents() {
+        return contents;
+    }
+
+    public int getVisitedNodes() {
+        return visitedNodes;
+    }
+
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    public int getTaskCount() {
+        return taskCount;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getElapsedMillis() {
+        return elapsedNanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,95 @@
+package com.plataformaEducativa.proyectoestructuradatos.models.datastructure.BinarySearchTree;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.UUID;
+import java.util.function.Function;
+
+import com.plataformaEducativa.proyectoestructuradatos.models.Content;
+
+/**
+ * Recorrido en orden perezoso sobre un árbol de contenidos ordenado por
+ * (título, ID), ver {@link ContentTitleOrder}.
+ * Usa una pila explícita en lugar de recursión: la pila solo guarda el camino
+ * pendiente (O(altura)), posicionarse en la clave inicial cuesta O(log n) en
+ * un árbol balanceado y cada elemento siguiente O(1) amortizado. Sirve tanto
+ * para {@link ContentBSTNode} como para {@link PersistentContentNode} a través
+ * de funciones de acceso a los hijos.
+ *
+ * @param <N> Tipo de nodo
+ */
+final class ContentTreeIterator<N> implements Iterator<Content> {
+
+    private static final int CHARACTERISTICS = Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.DISTINCT;
+
+    private final Function<N, N> left;
+    private final Function<N, N> right;
+    private final Function<N, Content> content;
+    private final String toTitle;
+    private final Deque<N> stack;
+
+    /**
+     * @param root          Raíz del árbol
+     * @param fromTitle     Título inicial (null para empezar por el primero)
+     * @param fromId        ID inicial dentro del título (null para todo el grupo del título)
+     * @param fromInclusive Si la clave inicial se incluye en el recorrido
+     * @param toTitle       Título final excluido (null para llegar hasta el último)
+     */
+    ContentTreeIterator(N root, String fromTitle, UUID fromId, boolean fromInclusive, String toTitle,
+            Function<N, N> left, Function<N, N> right, Function<N, Content> content) {
+        this.left = left;
+        this.right = right;
+        this.content = content;
+        this.toTitle = toTitle;
+        this.stack = new ArrayDeque<>();
+
+        // Apilar solo los ancestros que quedan dentro del rango, de menor a mayor
+        N current = root;
+        while (current != null) {
+            int comparison = fromTitle == null ? 1
+                    : ContentTitleOrder.compare(content.apply(current), fromTitle, fromId);
+            if (comparison > 0 || (comparison == 0 && fromInclusive)) {
+                stack.push(current);
+                current = left.apply(current);
+            } else {
+                current = right.apply(current);
+            }
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !stack.isEmpty()
+                && (toTitle == null || titleOf(stack.peek()).compareToIgnoreCase(toTitle) < 0);
+    }
+
+    @Override
+    public Content next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        N node = stack.pop();
+        N current = right.apply(node);
+        while (current != null) {
+            stack.push(current);
+            current = left.apply(current);
+        }
+        return content.apply(node);
+    }
+
+    /**
+     * Envuelve el recorrido en un Spliterator secuencial y ordenado.
+     */
+    Spliterator<Content> spliterator() {
+        return Spliterators.spliteratorUnknownSize(this, CHARACTERISTICS);
+    }
+
+    private String titleOf(N node) {
+        return content.apply(node).getTitle();
+    }
+}
@@ -0,0 +1,36 @@
+package com.plataformaEducativa.proyectoestructuradatos.models.datastructure.BinarySearchTree;
+
+import com.plataformaEducativa.proyectoestructuradatos.models.Content;
+
+import lombok.Getter;
+
+/**
+ * Nodo inmutable del árbol persistente de contenidos. Además del contenido y
+ * sus hijos guarda la altura (para el balanceo AVL) y el tamaño del subárbol.
+ * Una vez creado no cambia, por lo que puede compartirse entre versiones del
+ * árbol y leerse desde cualquier hilo.
+ */
+@Getter
+public final class PersistentContentNode {
+    private final Content content;
+    private final PersistentContentNode left;
+    private final PersistentContentNode right;
+    private final int height;
+    private final int size;
+
+    PersistentContentNode(Content content, PersistentContentNode left, PersistentContentNode right) {
+        this.content = content;
+        this.left = left;
+        this.right = right;
+        this.height = Math.max(heightOf(left), heightOf(right)) + 1;
+        this.size = sizeOf(left) + sizeOf(right) + 1;
+    }
+
+    static int heightOf(PersistentContentNode node) {
+        return node != null ? node.height : 0;
+    }
+
+    static int sizeOf(PersistentContentNode node) {
+        return node != null ? node.size : 0;
+    }
+}
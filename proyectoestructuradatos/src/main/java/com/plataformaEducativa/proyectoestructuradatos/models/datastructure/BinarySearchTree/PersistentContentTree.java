@@ -0,0 +1,324 @@
+package com.plataformaEducativa.proyectoestructuradatos.models.datastructure.BinarySearchTree;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.plataformaEducativa.proyectoestructuradatos.models.Content;
+
+import lombok.Getter;
+
+/**
+ * Variante persistente (inmutable) del Árbol Binario de Búsqueda de
+ * Contenidos, ordenada por título sin distinguir mayúsculas y, a igual
+ * título, por ID ({@link ContentTitleOrder}).
+ * Cada inserción o eliminación devuelve un árbol nuevo que copia solo el
+ * camino desde la raíz hasta el nodo modificado (O(log n) nodos nuevos, el
+ * árbol se mantiene balanceado con rotaciones AVL) y comparte el resto con la
+ * versión anterior. Las versiones existentes nunca cambian, así que un lector
+ * recorre siempre una instantánea coherente sin necesidad de bloqueos.
+ */
+public final class PersistentContentTree implements Iterable<Content> {
+
+    private static final PersistentContentTree EMPTY = new PersistentContentTree(null);
+
+    @Getter
+    private final PersistentContentNode root;
+
+    private PersistentContentTree(PersistentContentNode root) {
+        this.root = root;
+    }
+
+    public static PersistentContentTree empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Devuelve un árbol con el contenido insertado. Si ya está el mismo
+     * contenido (mismo título e ID), se reemplaza; otro contenido con el mismo
+     * título ocupa su propio nodo.
+     *
+     * @param content Contenido a insertar
+     * @return Nueva versión del árbol
+     */
+    public PersistentContentTree insert(Content content) {
+        return new PersistentContentTree(insertRecursive(root, content));
+    }
+
+    /**
+     * Devuelve un árbol sin el contenido con ese título e ID. Los demás
+     * contenidos con el mismo título se conservan.
+     *
+     * @param title     Título del contenido a eliminar
+     * @param contentId ID del contenido
+     * @return Nueva versión del árbol, o este mismo si no existe
+     */
+    public PersistentContentTree remove(String title, UUID contentId) {
+        if (find(title, contentId) == null) {
+            return this;
+        }
+        return new PersistentContentTree(removeRecursive(root, title, contentId));
+    }
+
+    /**
+     * Busca un contenido por su título. Si varios lo comparten, devuelve el
+     * de menor ID.
+     *
+     * @param title Título a buscar
+     * @return Contenido encontrado o null si no existe
+     */
+    public Content search(String title) {
+        Iterator<Content> iterator = newIterator(title, null, true, null);
+        if (iterator.hasNext()) {
+            Content first = iterator.next();
+            return first.getTitle().equalsIgnoreCase(title) ? first : null;
+        }
+        return null;
+    }
+
+    /**
+     * Busca todos los contenidos con ese título, en orden de ID, en
+     * O(log n + coincidencias).
+     *
+     * @param title Título a buscar
+     * @return Contenidos con ese título
+     */
+    public List<Content> searchAll(String title) {
+        List<Content> result = new ArrayList<>();
+        Iterator<Content> iterator = newIterator(title, null, true, null);
+        while (iterator.hasNext()) {
+            Content content = iterator.next();
+            if (!content.getTitle().equalsIgnoreCase(title)) {
+                break;
+            }
+            result.add(content);
+        }
+        return result;
+    }
+
+    /**
+     * Realiza un recorrido en orden del árbol.
+     *
+     * @return Lista de contenidos en orden alfabético por título
+     */
+    public List<Content> inOrderTraversal() {
+        List<Content> result = new ArrayList<>(size());
+        inOrderTraversalRecursive(root, result);
+        return result;
+    }
+
+    /**
+     * Recorre esta versión del árbol en orden alfabético de forma perezosa.
+     * Como la versión es inmutable, el recorrido no se ve afectado por
+     * publicaciones posteriores.
+     *
+     * @return Iterador sobre todos los contenidos
+     */
+    @Override
+    public Iterator<Content> iterator() {
+        return iterator(null, null);
+    }
+
+    /**
+     * Recorre en orden los contenidos con título en [fromTitle, toTitle).
+     *
+     * @param fromTitle Título inicial incluido (null para empezar por el primero)
+     * @param toTitle   Título final excluido (null para llegar hasta el último)
+     * @return Iterador sobre el rango
+     */
+    public Iterator<Content> iterator(String fromTitle, String toTitle) {
+        return newIterator(fromTitle, null, true, toTitle);
+    }
+
+    /**
+     * Recorre en orden los contenidos con título estrictamente posterior a
+     * {@code afterTitle} y anterior a {@code toTitle}.
+     *
+     * @param afterTitle Último título ya visto
+     * @param toTitle    Título final excluido (null para llegar hasta el último)
+     * @return Iterador sobre el rango
+     */
+    public Iterator<Content> iteratorAfter(String afterTitle, String toTitle) {
+        return newIterator(afterTitle, null, false, toTitle);
+    }
+
+    /**
+     * Recorre en orden los contenidos posteriores a la clave (afterTitle,
+     * afterId) y con título anterior a {@code toTitle}. Continúa una página
+     * aunque termine a mitad de un grupo de contenidos con el mismo título.
+     *
+     * @param afterTitle Título del último contenido ya visto
+     * @param afterId    ID del último contenido ya visto
+     * @param toTitle    Título final excluido (null para llegar hasta el último)
+     * @return Iterador sobre el rango
+     */
+    public Iterator<Content> iteratorAfter(String afterTitle, UUID afterId, String toTitle) {
+        return newIterator(afterTitle, afterId, false, toTitle);
+    }
+
+    @Override
+    public Spliterator<Content> spliterator() {
+        return newIterator(null, null, true, null).spliterator();
+    }
+
+    /**
+     * Devuelve un Stream ordenado y perezoso de los contenidos con título en
+     * [fromTitle, toTitle).
+     *
+     * @param fromTitle Título inicial incluido (null para empezar por el primero)
+     * @param toTitle   Título final excluido (null para llegar hasta el último)
+     * @return Stream de contenidos en orden alfabético
+     */
+    public Stream<Content> stream(String fromTitle, String toTitle) {
+        return StreamSupport.stream(newIterator(fromTitle, null, true, toTitle).spliterator(), false);
+    }
+
+    /**
+     * Devuelve como mucho {@code limit} contenidos con título en [fromTitle, toTitle),
+     * en O(log n + limit).
+     */
+    public List<Content> range(String fromTitle, String toTitle, int limit) {
+        return stream(fromTitle, toTitle).limit(limit).collect(Collectors.toList());
+    }
+
+    /**
+     * Filtra contenidos según un predicado y se detiene al encontrar
+     * {@code limit} coincidencias.
+     */
+    public List<Content> filter(Predicate<Content> predicate, int limit) {
+        return stream(null, null).filter(predicate).limit(limit).collect(Collectors.toList());
+    }
+
+    public int size() {
+        return PersistentContentNode.sizeOf(root);
+    }
+
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    private ContentTreeIterator<PersistentContentNode> newIterator(String fromTitle, UUID fromId,
+            boolean fromInclusive, String toTitle) {
+        return new ContentTreeIterator<>(root, fromTitle, fromId, fromInclusive, toTitle,
+                PersistentContentNode::getLeft, PersistentContentNode::getRight, PersistentContentNode::getContent);
+    }
+
+    private void inOrderTraversalRecursive(PersistentContentNode current, List<Content> result) {
+        if (current == null) {
+            return;
+        }
+
+        inOrderTraversalRecursive(current.getLeft(), result);
+        result.add(current.getContent());
+        inOrderTraversalRecursive(current.getRight(), result);
+    }
+
+    private static PersistentContentNode insertRecursive(PersistentContentNode current, Content content) {
+        if (current == null) {
+            return new PersistentContentNode(content, null, null);
+        }
+
+        int comparison = ContentTitleOrder.compare(content, current.getContent());
+
+        if (comparison < 0) {
+            return balance(current.getContent(), insertRecursive(current.getLeft(), content), current.getRight());
+        } else if (comparison > 0) {
+            return balance(current.getContent(), current.getLeft(), insertRecursive(current.getRight(), content));
+        }
+        // Mismo contenido: se reemplaza (p. ej. otro uso de mayúsculas) conservando los subárboles
+        return new PersistentContentNode(content, current.getLeft(), current.getRight());
+    }
+
+    private PersistentContentNode find(String title, UUID contentId) {
+        PersistentContentNode current = root;
+        while (current != null) {
+            int comparison = ContentTitleOrder.compare(current.getContent(), title, contentId);
+            if (comparison == 0) {
+                return current;
+            }
+            current = comparison > 0 ? current.getLeft() : current.getRight();
+        }
+        return null;
+    }
+
+    private static PersistentContentNode removeRecursive(PersistentContentNode current, String title,
+            UUID contentId) {
+        if (current == null) {
+            return null;
+        }
+
+        int comparison = ContentTitleOrder.compare(current.getContent(), title, contentId);
+
+        if (comparison > 0) {
+            return balance(current.getContent(), removeRecursive(current.getLeft(), title, contentId),
+                    current.getRight());
+        } else if (comparison < 0) {
+            return balance(current.getContent(), current.getLeft(),
+                    removeRecursive(current.getRight(), title, contentId));
+        }
+
+        if (current.getLeft() == null) {
+            return current.getRight();
+        } else if (current.getRight() == null) {
+            return current.getLeft();
+        }
+
+        // Dos hijos: el sucesor en orden ocupa su lugar
+        PersistentContentNode successor = current.getRight();
+        while (successor.getLeft() != null) {
+            successor = successor.getLeft();
+        }
+        return balance(successor.getContent(), current.getLeft(), removeMin(current.getRight()));
+    }
+
+    private static PersistentContentNode removeMin(PersistentContentNode current) {
+        if (current.getLeft() == null) {
+            return current.getRight();
+        }
+        return balance(current.getContent(), removeMin(current.getLeft()), current.getRight());
+    }
+
+    /**
+     * Crea el nodo aplicando las rotaciones AVL necesarias si las alturas de
+     * los subárboles difieren en más de uno.
+     */
+    private static PersistentContentNode balance(Content content, PersistentContentNode left,
+            PersistentContentNode right) {
+        int leftHeight = PersistentContentNode.heightOf(left);
+        int rightHeight = PersistentContentNode.heightOf(right);
+
+        if (leftHeight > rightHeight + 1) {
+            if (PersistentContentNode.heightOf(left.getLeft()) >= PersistentContentNode.heightOf(left.getRight())) {
+                // Rotación simple a la derecha
+                return new PersistentContentNode(left.getContent(), left.getLeft(),
+                        new PersistentContentNode(content, left.getRight(), right));
+            }
+            // Rotación doble izquierda-derecha
+            PersistentContentNode pivot = left.getRight();
+            return new PersistentContentNode(pivot.getContent(),
+                    new PersistentContentNode(left.getContent(), left.getLeft(), pivot.getLeft()),
+                    new PersistentContentNode(content, pivot.getRight(), right));
+        }
+
+        if (rightHeight > leftHeight + 1) {
+            if (PersistentContentNode.heightOf(right.getRight()) >= PersistentContentNode.heightOf(right.getLeft())) {
+                // Rotación simple a la izquierda
+                return new PersistentContentNode(right.getContent(),
+                        new PersistentContentNode(content, left, right.getLeft()), right.getRight());
+            }
+            // Rotación doble derecha-izquierda
+            PersistentContentNode pivot = right.getLeft();
+            return new PersistentContentNode(pivot.getContent(),
+                    new PersistentContentNode(content, left, pivot.getLeft()),
+                    new PersistentContentNode(right.getContent(), pivot.getRight(), right.getRight()));
+        }
+
+        return new PersistentContentNode(content, left, right);
+    }
+}
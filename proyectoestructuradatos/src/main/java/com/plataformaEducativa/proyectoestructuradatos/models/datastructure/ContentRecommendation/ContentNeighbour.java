@@ -0,0 +1,25 @@
+package com.plataformaEducativa.proyectoestructuradatos.models.datastructure.ContentRecommendation;
+
+import java.util.UUID;
+
+/**
+ * Vecino de un contenido en el modelo de similitud: el contenido parecido y
+ * su puntuación de similitud.
+ */
+public final class ContentNeighbour {
+    private final UUID contentId;
+    private final double similarity;
+
+    ContentNeighbour(UUID contentId, double similarity) {
+        this.contentId = contentId;
+        this.similarity = similarity;
+    }
+
+    public UUID getContentId() {
+        return contentId;
+    }
+
+    public double getSimilarity() {
+        return similarity;
+    }
+}
@@ -0,0 +1,862 @@
+package com.plataformaEducativa.proyectoestructuradatos.models.datastructure.ContentRecommendation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+/**
+ * Índice de similitud item-item. Para cada contenido guarda sus N vecinos más
+ * parecidos en arrays primitivos, combinando:
+ * <ul>
+ * <li>la similitud coseno de las valoraciones que comparten (co-valoración),
+ * atenuada cuando hay pocas co-valoraciones, y</li>
+ * <li>la similitud coseno de sus etiquetas ponderadas con TF-IDF, de modo que
+ * compartir una etiqueta rara pesa más que compartir una muy común.</li>
+ * </ul>
+ *
+ * Los vecinos se calculan de una vez al construir el índice y después se
+ * refrescan de forma incremental: cada cambio de etiquetas o valoraciones
+ * marca el contenido como pendiente y {@link #refreshPending()} recalcula solo
+ * sus vecinos y corrige las listas de los contenidos afectados (los que se
+ * parecen a él ahora o lo tenían entre sus vecinos). Como el IDF de una
+ * etiqueta depende de cuántos contenidos la usan, los cambios de etiquetas
+ * desplazan un poco las puntuaciones de otros pares; esa deriva se corrige
+ * reconstruyendo el índice periódicamente. Los cambios de valoraciones se
+ * reflejan de forma exacta.
+ *
+ * Esta clase no es segura para hilos: quien la use debe serializar las
+ * modificaciones y no leer mientras se modifica.
+ */
+public final class ContentSimilarityIndex {
+
+    /** Valoración mínima para que un contenido cuente como preferencia del estudiante. */
+    public static final int MIN_PREFERRED_RATING = 4;
+
+    // Peso de cada señal en la similitud combinada
+    private static final double RATING_WEIGHT = 0.7;
+    private static final double TAG_WEIGHT = 0.3;
+
+    // Atenúa la similitud de pares con pocas co-valoraciones
+    private static final double CO_RATING_SHRINKAGE = 5.0;
+
+    // Las etiquetas presentes en demasiados contenidos apenas distinguen (IDF
+    // mínimo) y harían cuadrático el cálculo de etiquetas compartidas
+    private static final int MAX_TAG_FANOUT = 5000;
+
+    private static final int[] NO_INDEXES = new int[0];
+    private static final float[] NO_SCORES = new float[0];
+
+    private final int neighbourCount;
+
+    private final List<UUID> contentIds = new ArrayList<>();
+    private final List<UUID> authorIds = new ArrayList<>();
+    private final Map<UUID, Integer> indexById = new HashMap<>();
+    private final BitSet removed = new BitSet();
+    private int liveCount;
+
+    private final Map<String, Integer> tagIndexes = new HashMap<>();
+    private final List<int[]> tagsByContent = new ArrayList<>();
+    private final List<IntList> contentsByTag = new ArrayList<>();
+
+    private final Map<UUID, Integer> studentIndexes = new HashMap<>();
+    private final List<SparseRow> ratingsByContent = new ArrayList<>();
+    private final List<SparseRow> ratingsByStudent = new ArrayList<>();
+
+    private final List<int[]> neighbourIndexes = new ArrayList<>();
+    private final List<float[]> neighbourScores = new ArrayList<>();
+    // Contenidos que tienen a cada contenido entre sus vecinos
+    private final List<IntList> listedBy = new ArrayList<>();
+
+    private final BitSet pending = new BitSet();
+
+    /**
+     * Crea un índice vacío.
+     *
+     * @param neighbourCount Número de vecinos que se guardan por contenido
+     */
+    public ContentSimilarityIndex(int neighbourCount) {
+        this.neighbourCount = Math.max(0, neighbourCount);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Número de contenidos del índice (sin contar los eliminados).
+     */
+    public int size() {
+        return liveCount;
+    }
+
+    public boolean isEmpty() {
+        return liveCount == 0;
+    }
+
+    public boolean contains(UUID contentId) {
+        Integer index = indexById.get(contentId);
+        return index != null && !removed.get(index);
+    }
+
+    // ---------------------------------------------------------------- lecturas
+
+    /**
+     * Devuelve los vecinos de un contenido, del más parecido al menos.
+     *
+     * @param contentId ID del contenido
+     * @param limit     Número máximo de vecinos
+     * @return Vecinos, o lista vacía si el contenido no está en el índice
+     */
+    public List<ContentNeighbour> getNeighbours(UUID contentId, int limit) {
+        Integer index = indexById.get(contentId);
+        if (index == null || removed.get(index)) {
+            return List.of();
+        }
+
+        int[] indexes = neighbourIndexes.get(index);
+        float[] scores = neighbourScores.get(index);
+        int count = Math.min(limit, indexes.length);
+        List<ContentNeighbour> neighbours = new ArrayList<>(count);
+        for (int k = 0; k < count; k++) {
+            neighbours.add(new ContentNeighbour(contentIds.get(indexes[k]), scores[k]));
+        }
+        return neighbours;
+    }
+
+    /**
+     * Recomienda contenidos a un estudiante sumando, para cada candidato, su
+     * similitud con los contenidos que el estudiante valoró con
+     * {@value #MIN_PREFERRED_RATING} o más, ponderada por esa valoración. Se
+     * excluyen los contenidos ya valorados y los del propio estudiante.
+     *
+     * @param studentId      ID del estudiante
+     * @param studentRatings Valoraciones del estudiante por contenido
+     * @return IDs recomendados, del más relevante al menos
+     */
+    public List<UUID> recommend(UUID studentId, Map<UUID, Integer> studentRatings) {
+        Map<Integer, Double> scores = new HashMap<>();
+
+        for (Map.Entry<UUID, Integer> rated : studentRatings.entrySet()) {
+            Integer index = indexById.get(rated.getKey());
+            if (index == null || removed.get(index) || rated.getValue() < MIN_PREFERRED_RATING) {
+                continue;
+            }
+            // Una valoración de 5 pesa el doble que una de 4
+            double weight = rated.getValue() - (MIN_PREFERRED_RATING - 1);
+            int[] indexes = neighbourIndexes.get(index);
+            float[] neighbourWeights = neighbourScores.get(index);
+            for (int k = 0; k < indexes.length; k++) {
+                scores.merge(indexes[k], weight * neighbourWeights[k], Double::sum);
+            }
+        }
+
+        List<Map.Entry<Integer, Double>> candidates = new ArrayList<>(scores.size());
+        for (Map.Entry<Integer, Double> candidate : scores.entrySet()) {
+            int index = candidate.getKey();
+            if (!studentRatings.containsKey(contentIds.get(index))
+                    && !Objects.equals(authorIds.get(index), studentId)) {
+                candidates.add(candidate);
+            }
+        }
+
+        candidates.sort(Map.Entry.<Integer, Double>comparingByValue().reversed()
+                .thenComparing(Map.Entry.comparingByKey()));
+
+        List<UUID> recommended = new ArrayList<>(candidates.size());
+        for (Map.Entry<Integer, Double> candidate : candidates) {
+            recommended.add(contentIds.get(candidate.getKey()));
+        }
+        return recommended;
+    }
+
+    /**
+     * Contenidos que tienen a {@code contentId} entre sus vecinos según el
+     * índice inverso. Solo se usa para comprobar su coherencia en las pruebas.
+     */
+    List<UUID> listedBy(UUID contentId) {
+        Integer index = indexById.get(contentId);
+        if (index == null) {
+            return List.of();
+        }
+        List<UUID> listing = new ArrayList<>();
+        for (int j : listedBy.get(index).toArray()) {
+            listing.add(contentIds.get(j));
+        }
+        return listing;
+    }
+
+    // ---------------------------------------------------------- modificaciones
+
+    /**
+     * Añade un contenido o reemplaza sus etiquetas. Los vecinos se actualizan
+     * en el siguiente {@link #refreshPending()}.
+     *
+     * @param contentId ID del contenido
+     * @param authorId  ID del autor
+     * @param tags      Etiquetas del contenido
+     */
+    public void putContent(UUID contentId, UUID authorId, Collection<String> tags) {
+        int index = indexOf(contentId, authorId);
+        authorIds.set(index, authorId);
+
+        int[] previous = tagsByContent.get(index);
+        int[] current = tagIndexesOf(tags);
+        if (Arrays.equals(previous, current)) {
+            return;
+        }
+
+        for (int tag : previous) {
+            contentsByTag.get(tag).remove(index);
+        }
+        for (int tag : current) {
+            contentsByTag.get(tag).add(index);
+        }
+        tagsByContent.set(index, current);
+        pending.set(index);
+    }
+
+    /**
+     * Elimina un contenido: desaparece de las listas de vecinos de los demás
+     * en el siguiente {@link #refreshPending()}.
+     *
+     * @param contentId ID del contenido
+     */
+    public void removeContent(UUID contentId) {
+        Integer index = indexById.get(contentId);
+        if (index == null || removed.get(index)) {
+            return;
+        }
+
+        for (int tag : tagsByContent.get(index)) {
+            contentsByTag.get(tag).remove(index);
+        }
+        tagsByContent.set(index, NO_INDEXES);
+
+        SparseRow raters = ratingsByContent.get(index);
+        for (int k = 0; k < raters.size; k++) {
+            ratingsByStudent.get(raters.keys[k]).remove(index);
+        }
+        ratingsByContent.set(index, new SparseRow());
+
+        removed.set(index);
+        liveCount--;
+        pending.set(index);
+    }
+
+    /**
+     * Registra una valoración nueva o modificada. Se ignora si el contenido
+     * no está en el índice.
+     *
+     * @param contentId ID del contenido
+     * @param studentId ID del estudiante
+     * @param rating    Valoración
+     */
+    public void putRating(UUID contentId, UUID studentId, int rating) {
+        Integer index = indexById.get(contentId);
+        if (index == null || removed.get(index)) {
+            return;
+        }
+
+        int student = studentIndexOf(studentId);
+        ratingsByContent.get(index).put(student, rating);
+        ratingsByStudent.get(student).put(index, rating);
+        pending.set(index);
+    }
+
+    public boolean hasPendingChanges() {
+        return !pending.isEmpty();
+    }
+
+    /**
+     * Recalcula los vecinos de los contenidos modificados y corrige las listas
+     * de los contenidos afectados por esos cambios.
+     *
+     * @return Número de listas de vecinos recalculadas por completo
+     */
+    public int refreshPending() {
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        int[] changed = pending.stream().toArray();
+        pending.clear();
+
+        Scratch scratch = SCRATCH.get();
+        scratch.ensureCapacity(contentIds.size());
+        BitSet recompute = new BitSet();
+
+        for (int i : changed) {
+            if (removed.get(i)) {
+                setNeighbours(i, NO_INDEXES, NO_SCORES);
+            } else {
+                score(i, scratch);
+                TopNeighbours top = scratch.top(neighbourCount);
+                setNeighbours(i, top.indexes(), top.scores());
+
+                // La similitud es simétrica: i puede entrar, subir o bajar en las listas de sus parecidos
+                for (int t = 0; t < scratch.touchedCount; t++) {
+                    int j = scratch.touched[t];
+                    if (scratch.scores[j] > 0) {
+                        offerNeighbour(j, i, scratch.scores[j], recompute);
+                    }
+                }
+            }
+
+            // Quien tenía a i como vecino y ya no se le parece pierde un hueco que hay que rellenar
+            for (int j : listedBy.get(i).toArray()) {
+                if (removed.get(i) || !scratch.seen[j] || scratch.scores[j] <= 0) {
+                    removeNeighbour(j, i);
+                    recompute.set(j);
+                }
+            }
+            scratch.reset();
+        }
+
+        for (int j = recompute.nextSetBit(0); j >= 0; j = recompute.nextSetBit(j + 1)) {
+            if (!removed.get(j)) {
+                score(j, scratch);
+                TopNeighbours top = scratch.top(neighbourCount);
+                scratch.reset();
+                setNeighbours(j, top.indexes(), top.scores());
+            }
+        }
+
+        return changed.length + recompute.cardinality();
+    }
+
+    /**
+     * Calcula todos los vecinos desde cero, en paralelo.
+     */
+    private void rebuildAll() {
+        int n = contentIds.size();
+        int[][] indexes = new int[n][];
+        float[][] scores = new float[n][];
+
+        IntStream.range(0, n).parallel().forEach(i -> {
+            if (removed.get(i)) {
+                indexes[i] = NO_INDEXES;
+                scores[i] = NO_SCORES;
+                return;
+            }
+            Scratch scratch = SCRATCH.get();
+            scratch.ensureCapacity(n);
+            score(i, scratch);
+            TopNeighbours top = scratch.top(neighbourCount);
+            scratch.reset();
+            indexes[i] = top.indexes();
+            scores[i] = top.scores();
+        });
+
+        for (int i = 0; i < n; i++) {
+            listedBy.get(i).clear();
+        }
+        for (int i = 0; i < n; i++) {
+            neighbourIndexes.set(i, indexes[i]);
+            neighbourScores.set(i, scores[i]);
+            for (int j : indexes[i]) {
+                listedBy.get(j).add(i);
+            }
+        }
+        pending.clear();
+    }
+
+    // ---------------------------------------------------------------- cálculo
+
+    /**
+     * Acumula en {@code scratch} la similitud de {@code i} con cada contenido
+     * con el que comparte valoraciones o etiquetas.
+     */
+    private void score(int i, Scratch scratch) {
+        SparseRow raters = ratingsByContent.get(i);
+        for (int a = 0; a < raters.size; a++) {
+            SparseRow rated = ratingsByStudent.get(raters.keys[a]);
+            float rating = raters.values[a];
+            for (int b = 0; b < rated.size; b++) {
+                int j = rated.keys[b];
+                if (j != i) {
+                    scratch.touch(j);
+                    scratch.dot[j] += rating * rated.values[b];
+                    scratch.coRatings[j]++;
+                }
+            }
+        }
+
+        int[] tags = tagsByContent.get(i);
+        for (int tag : tags) {
+            IntList tagged = contentsByTag.get(tag);
+            if (tagged.size > MAX_TAG_FANOUT) {
+                continue;
+            }
+            // Etiquetas binarias (TF = 1): el producto escalar suma IDF² por etiqueta compartida
+            double idf = idf(tagged.size);
+            double weight = idf * idf;
+            for (int k = 0; k < tagged.size; k++) {
+                int j = tagged.items[k];
+                if (j != i) {
+                    scratch.touch(j);
+                    scratch.tagDot[j] += weight;
+                }
+            }
+        }
+
+        double ratingNorm = raters.norm();
+        double tagNorm = tagNorm(tags);
+        for (int t = 0; t < scratch.touchedCount; t++) {
+            int j = scratch.touched[t];
+            double score = 0;
+
+            double otherRatingNorm = ratingsByContent.get(j).norm();
+            if (scratch.coRatings[j] > 0 && ratingNorm > 0 && otherRatingNorm > 0) {
+                double cosine = scratch.dot[j] / (ratingNorm * otherRatingNorm);
+                score += RATING_WEIGHT * cosine
+                        * scratch.coRatings[j] / (scratch.coRatings[j] + CO_RATING_SHRINKAGE);
+            }
+            if (scratch.tagDot[j] > 0) {
+                score += TAG_WEIGHT * scratch.tagDot[j] / (tagNorm * tagNorm(tagsByContent.get(j)));
+            }
+            scratch.scores[j] = (float) score;
+        }
+    }
+
+    private double idf(int documentFrequency) {
+        // IDF suavizado: siempre positivo, aunque la etiqueta esté en todos los contenidos
+        return Math.log((liveCount + 1.0) / (documentFrequency + 1.0)) + 1.0;
+    }
+
+    private double tagNorm(int[] tags) {
+        double sum = 0;
+        for (int tag : tags) {
+            double idf = idf(contentsByTag.get(tag).size);
+            sum += idf * idf;
+        }
+        return Math.sqrt(sum);
+    }
+
+    /**
+     * Actualiza la puntuación de {@code i} en la lista de {@code j}. Si baja
+     * dentro de una lista llena, puede que otro candidato la supere ahora y
+     * la lista se recalcula entera.
+     */
+    private void offerNeighbour(int j, int i, float score, BitSet recompute) {
+        int[] indexes = neighbourIndexes.get(j);
+        float[] scores = neighbourScores.get(j);
+        int position = positionOf(indexes, i);
+
+        if (position >= 0) {
+            if (score < scores[position] && indexes.length == neighbourCount) {
+                recompute.set(j);
+                return;
+            }
+            TopNeighbours top = new TopNeighbours(neighbourCount);
+            for (int k = 0; k < indexes.length; k++) {
+                top.offer(indexes[k], k == position ? score : scores[k]);
+            }
+            setNeighbours(j, top.indexes(), top.scores());
+        } else if (indexes.length < neighbourCount || score > scores[scores.length - 1]) {
+            TopNeighbours top = new TopNeighbours(neighbourCount);
+            for (int k = 0; k < indexes.length; k++) {
+                top.offer(indexes[k], scores[k]);
+            }
+            top.offer(i, score);
+            setNeighbours(j, top.indexes(), top.scores());
+        }
+    }
+
+    private void removeNeighbour(int j, int i) {
+        int[] indexes = neighbourIndexes.get(j);
+        float[] scores = neighbourScores.get(j);
+        int position = positionOf(indexes, i);
+        if (position < 0) {
+            return;
+        }
+
+        int[] nextIndexes = new int[indexes.length - 1];
+        float[] nextScores = new float[scores.length - 1];
+        System.arraycopy(indexes, 0, nextIndexes, 0, position);
+        System.arraycopy(indexes, position + 1, nextIndexes, position, indexes.length - position - 1);
+        System.arraycopy(scores, 0, nextScores, 0, position);
+        System.arraycopy(scores, position + 1, nextScores, position, scores.length - position - 1);
+        setNeighbours(j, nextIndexes, nextScores);
+    }
+
+    /**
+     * Sustituye la lista de vecinos de {@code j} manteniendo el índice inverso.
+     */
+    private void setNeighbours(int j, int[] indexes, float[] scores) {
+        int[] previous = neighbourIndexes.get(j);
+        for (int old : previous) {
+            if (positionOf(indexes, old) < 0) {
+                listedBy.get(old).remove(j);
+            }
+        }
+        for (int added : indexes) {
+            if (positionOf(previous, added) < 0) {
+                listedBy.get(added).add(j);
+            }
+        }
+        neighbourIndexes.set(j, indexes);
+        neighbourScores.set(j, scores);
+    }
+
+    private static int positionOf(int[] indexes, int value) {
+        for (int k = 0; k < indexes.length; k++) {
+            if (indexes[k] == value) {
+                return k;
+            }
+        }
+        return -1;
+    }
+
+    // ------------------------------------------------------------ diccionarios
+
+    private int indexOf(UUID contentId, UUID authorId) {
+        Integer existing = indexById.get(contentId);
+        if (existing != null) {
+            if (removed.get(existing)) {
+                removed.clear(existing);
+                liveCount++;
+            }
+            return existing;
+        }
+
+        int index = contentIds.size();
+        indexById.put(contentId, index);
+        contentIds.add(contentId);
+        authorIds.add(authorId);
+        tagsByContent.add(NO_INDEXES);
+        ratingsByContent.add(new SparseRow());
+        neighbourIndexes.add(NO_INDEXES);
+        neighbourScores.add(NO_SCORES);
+        listedBy.add(new IntList());
+        liveCount++;
+        return index;
+    }
+
+    private int studentIndexOf(UUID studentId) {
+        Integer existing = studentIndexes.get(studentId);
+        if (existing != null) {
+            return existing;
+        }
+        int index = ratingsByStudent.size();
+        studentIndexes.put(studentId, index);
+        ratingsByStudent.add(new SparseRow());
+        return index;
+    }
+
+    private int[] tagIndexesOf(Collection<String> tags) {
+        if (tags == null || tags.isEmpty()) {
+            return NO_INDEXES;
+        }
+        Set<String> distinct = new LinkedHashSet<>();
+        for (String tag : tags) {
+            if (tag != null && !tag.isBlank()) {
+                distinct.add(tag.trim().toLowerCase());
+            }
+        }
+        int[] indexes = new int[distinct.size()];
+        int k = 0;
+        for (String tag : distinct) {
+            indexes[k++] = tagIndexes.computeIfAbsent(tag, t -> {
+                contentsByTag.add(new IntList());
+                return contentsByTag.size() - 1;
+            });
+        }
+        Arrays.sort(indexes);
+        return indexes;
+    }
+
+    /**
+     * Acumula contenidos, etiquetas y valoraciones (por ejemplo, leídos de la
+     * base de datos) y construye el índice con todos los vecinos calculados.
+     */
+    public static final class Builder {
+
+        private final Map<UUID, UUID> authors = new HashMap<>();
+        private final Map<UUID, List<String>> tags = new HashMap<>();
+        private final List<Object[]> ratings = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        public Builder addContent(UUID contentId, UUID authorId) {
+            authors.putIfAbsent(contentId, authorId);
+            return this;
+        }
+
+        /**
+         * Añade una etiqueta; se ignora si el contenido no se añadió antes.
+         */
+        public Builder addTag(UUID contentId, String tag) {
+            if (authors.containsKey(contentId) && tag != null) {
+                tags.computeIfAbsent(contentId, id -> new ArrayList<>()).add(tag);
+            }
+            return this;
+        }
+
+        /**
+         * Añade una valoración; se ignora si el contenido no se añadió antes.
+         */
+        public Builder addRating(UUID contentId, UUID studentId, int rating) {
+            if (authors.containsKey(contentId)) {
+                ratings.add(new Object[] { contentId, studentId, rating });
+            }
+            return this;
+        }
+
+        /**
+         * Construye el índice.
+         *
+         * @param neighbourCount Número de vecinos que se guardan por contenido
+         * @return Índice con los vecinos de todos los contenidos
+         */
+        public ContentSimilarityIndex build(int neighbourCount) {
+            ContentSimilarityIndex index = new ContentSimilarityIndex(neighbourCount);
+            authors.forEach((contentId, authorId) ->
+                    index.putContent(contentId, authorId, tags.getOrDefault(contentId, List.of())));
+
+            // Las filas se rellenan sin ordenar y se ordenan una vez al final
+            for (Object[] rating : ratings) {
+                int content = index.indexById.get((UUID) rating[0]);
+                int student = index.studentIndexOf((UUID) rating[1]);
+                float value = (Integer) rating[2];
+                index.ratingsByContent.get(content).append(student, value);
+                index.ratingsByStudent.get(student).append(content, value);
+            }
+            index.ratingsByContent.forEach(SparseRow::sortAndDeduplicate);
+            index.ratingsByStudent.forEach(SparseRow::sortAndDeduplicate);
+
+            index.rebuildAll();
+            return index;
+        }
+    }
+
+    // ------------------------------------------------------ estructuras internas
+
+    /**
+     * Lista de enteros sin cajas.
+     */
+    private static final class IntList {
+        private int[] items = NO_INDEXES;
+        private int size;
+
+        private void add(int value) {
+            if (size == items.length) {
+                items = Arrays.copyOf(items, Math.max(4, size * 2));
+            }
+            items[size++] = value;
+        }
+
+        private void remove(int value) {
+            for (int k = 0; k < size; k++) {
+                if (items[k] == value) {
+                    items[k] = items[--size];
+                    return;
+                }
+            }
+        }
+
+        private void clear() {
+            size = 0;
+        }
+
+        private int[] toArray() {
+            return Arrays.copyOf(items, size);
+        }
+    }
+
+    /**
+     * Fila dispersa ordenada por clave (estudiante o contenido → valoración),
+     * con la suma de cuadrados mantenida para la norma.
+     */
+    private static final class SparseRow {
+        private int[] keys = NO_INDEXES;
+        private float[] values = NO_SCORES;
+        private int size;
+        private double sumOfSquares;
+
+        private double norm() {
+            return Math.sqrt(sumOfSquares);
+        }
+
+        private void put(int key, float value) {
+            int position = Arrays.binarySearch(keys, 0, size, key);
+            if (position >= 0) {
+                sumOfSquares += value * value - values[position] * values[position];
+                values[position] = value;
+                return;
+            }
+            int insertion = -position - 1;
+            ensureCapacity(size + 1);
+            System.arraycopy(keys, insertion, keys, insertion + 1, size - insertion);
+            System.arraycopy(values, insertion, values, insertion + 1, size - insertion);
+            keys[insertion] = key;
+            values[insertion] = value;
+            size++;
+            sumOfSquares += value * value;
+        }
+
+        private void remove(int key) {
+            int position = Arrays.binarySearch(keys, 0, size, key);
+            if (position < 0) {
+                return;
+            }
+            sumOfSquares -= values[position] * values[position];
+            System.arraycopy(keys, position + 1, keys, position, size - position - 1);
+            System.arraycopy(values, position + 1, values, position, size - position - 1);
+            size--;
+        }
+
+        private void append(int key, float value) {
+            ensureCapacity(size + 1);
+            keys[size] = key;
+            values[size] = value;
+            size++;
+        }
+
+        /**
+         * Ordena las filas añadidas con {@link #append}; ante claves repetidas
+         * se queda la última.
+         */
+        private void sortAndDeduplicate() {
+            Integer[] order = new Integer[size];
+            for (int k = 0; k < size; k++) {
+                order[k] = k;
+            }
+            Arrays.sort(order, (a, b) -> keys[a] != keys[b] ? Integer.compare(keys[a], keys[b])
+                    : Integer.compare(a, b));
+
+            int[] sortedKeys = new int[size];
+            float[] sortedValues = new float[size];
+            int count = 0;
+            for (Integer k : order) {
+                if (count > 0 && sortedKeys[count - 1] == keys[k]) {
+                    sortedValues[count - 1] = values[k];
+                } else {
+                    sortedKeys[count] = keys[k];
+                    sortedValues[count] = values[k];
+                    count++;
+                }
+            }
+
+            keys = sortedKeys;
+            values = sortedValues;
+            size = count;
+            sumOfSquares = 0;
+            for (int k = 0; k < size; k++) {
+                sumOfSquares += values[k] * values[k];
+            }
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (keys.length < capacity) {
+                int grown = Math.max(4, Math.max(capacity, keys.length * 2));
+                keys = Arrays.copyOf(keys, grown);
+                values = Arrays.copyOf(values, grown);
+            }
+        }
+    }
+
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    /**
+     * Acumuladores densos reutilizados por cada hilo; solo se limpian las
+     * posiciones tocadas.
+     */
+    private static final class Scratch {
+        private double[] dot = new double[0];
+        private double[] tagDot = new double[0];
+        private int[] coRatings = new int[0];
+        private float[] scores = new float[0];
+        private boolean[] seen = new boolean[0];
+        private int[] touched = new int[0];
+        private int touchedCount;
+
+        private void ensureCapacity(int n) {
+            if (dot.length < n) {
+                dot = new double[n];
+                tagDot = new double[n];
+                coRatings = new int[n];
+                scores = new float[n];
+                seen = new boolean[n];
+                touched = new int[n];
+                touchedCount = 0;
+            }
+        }
+
+        private void touch(int j) {
+            if (!seen[j]) {
+                seen[j] = true;
+                touched[touchedCount++] = j;
+            }
+        }
+
+        private TopNeighbours top(int capacity) {
+            TopNeighbours top = new TopNeighbours(capacity);
+            for (int t = 0; t < touchedCount; t++) {
+                int j = touched[t];
+                if (scores[j] > 0) {
+                    top.offer(j, scores[j]);
+                }
+            }
+            return top;
+        }
+
+        private void reset() {
+            for (int t = 0; t < touchedCount; t++) {
+                int j = touched[t];
+                dot[j] = 0;
+                tagDot[j] = 0;
+                coRatings[j] = 0;
+                scores[j] = 0;
+                seen[j] = false;
+            }
+            touchedCount = 0;
+        }
+    }
+
+    /**
+     * Los N mejores vecinos, mantenidos ordenados por inserción (N es pequeño).
+     * A igual puntuación se mantiene el orden de llegada.
+     */
+    private static final class TopNeighbours {
+        private final int[] indexes;
+        private final float[] scores;
+        private int size;
+
+        private TopNeighbours(int capacity) {
+            this.indexes = new int[capacity];
+            this.scores = new float[capacity];
+        }
+
+        private void offer(int index, float score) {
+            if (indexes.length == 0 || size == indexes.length && score <= scores[size - 1]) {
+                return;
+            }
+            int position = size < indexes.length ? size++ : size - 1;
+            while (position > 0 && scores[position - 1] < score) {
+                indexes[position] = indexes[position - 1];
+                scores[position] = scores[position - 1];
+                position--;
+            }
+            indexes[position] = index;
+            scores[position] = score;
+        }
+
+        private int[] indexes() {
+            return Arrays.copyOf(indexes, size);
+        }
+
+        private float[] scores() {
+            return Arrays.copyOf(scores, size);
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.plataformaEducativa.proyectoestructuradatos.models.datastructure.ContentSearchIndex;
+
+import java.util.Arrays;
+
+/**
+ * Lista de apariciones (postings) de un término en el índice de contenidos.
+ * Cada entrada guarda el identificador interno del documento y la frecuencia
+ * del término. Los identificadores se almacenan como diferencias respecto al
+ * anterior, codificadas en enteros de longitud variable (varint), y cada
+ * {@value #SKIP_INTERVAL} entradas se guarda un punto de salto para poder
+ * avanzar sin decodificar toda la lista.
+ */
+public final class ContentPostingList {
+
+    public static final int NO_MORE_DOCS = Integer.MAX_VALUE;
+
+    private static final int SKIP_INTERVAL = 64;
+
+    private byte[] data;
+    private int length;
+    private int size;
+    private int lastDocId;
+    private int maxTermFrequency;
+
+    // Para cada bloque: documento anterior al bloque y desplazamiento en bytes
+    private int[] skipDocIds;
+    private int[] skipOffsets;
+    private int skipCount;
+
+    public ContentPostingList() {
+        this.data = new byte[16];
+        this.length = 0;
+        this.size = 0;
+        this.lastDocId = -1;
+        this.maxTermFrequency = 0;
+        this.skipDocIds = new int[4];
+        this.skipOffsets = new int[4];
+        this.skipCount = 0;
+    }
+
+    /**
+     * Añade una aparición al final de la lista. Los documentos deben llegar en
+     * orden estrictamente creciente.
+     *
+     * @param docId         Identificador interno del documento
+     * @param termFrequency Frecuencia del término en el documento
+     */
+    public void add(int docId, int termFrequency) {
+        if (docId <= lastDocId) {
+            throw new IllegalArgumentException("Document ids must be added in increasing order");
+        }
+
+        if (size % SKIP_INTERVAL == 0) {
+            if (skipCount == skipDocIds.length) {
+                skipDocIds = Arrays.copyOf(skipDocIds, skipCount * 2);
+                skipOffsets = Arrays.copyOf(skipOffsets, skipCount * 2);
+            }
+            skipDocIds[skipCount] = lastDocId;
+            skipOffsets[skipCount] = length;
+            skipCount++;
+        }
+
+        writeVarInt(docId - lastDocId);
+        writeVarInt(termFrequency);
+
+        lastDocId = docId;
+        size++;
+        maxTermFrequency = Math.max(maxTermFrequency, termFrequency);
+    }
+
+    /**
+     * Devuelve el número de entradas, incluidas las de documentos eliminados.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Devuelve la mayor frecuencia del término en cualquier documento, usada
+     * para calcular la cota superior de puntuación del término.
+     */
+    public int getMaxTermFrequency() {
+        return maxTermFrequency;
+    }
+
+    /**
+     * Devuelve la memoria ocupada por las entradas codificadas, en bytes.
+     */
+    public int getEncodedBytes() {
+        return length;
+    }
+
+    /**
+     * Crea un cursor posicionado antes de la primera entrada.
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    private void writeVarInt(int value) {
+        if (length + 5 > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length * 2, length + 5));
+        }
+        while ((value & ~0x7F) != 0) {
+            data[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[length++] = (byte) value;
+    }
+
+    /**
+     * Recorrido secuencial de la lista con soporte para saltos.
+     */
+    public final class Cursor {
+        private int offset;
+        private int index;
+        private int docId;
+        private int termFrequency;
+
+        private Cursor() {
+            this.offset = 0;
+            this.index = 0;
+            this.docId = -1;
+            this.termFrequency = 0;
+        }
+
+        /**
+         * Documento actual, -1 antes de empezar o {@link #NO_MORE_DOCS} al terminar.
+         */
+        public int docId() {
+            return docId;
+        }
+
+        /**
+         * Frecuencia del término en el documento actual.
+         */
+        public int termFrequency() {
+            return termFrequency;
+        }
+
+        /**
+         * Avanza a la siguiente entrada.
+         *
+         * @return Nuevo documento actual o {@link #NO_MORE_DOCS}
+         */
+        public int nextDoc() {
+            if (index >= size) {
+                docId = NO_MORE_DOCS;
+                return docId;
+            }
+            docId += readVarInt();
+            termFrequency = readVarInt();
+            index++;
+            return docId;
+        }
+
+        /**
+         * Avanza hasta el primer documento mayor o igual que {@code target},
+         * saltando bloques completos cuando es posible.
+         *
+         * @param target Documento buscado
+         * @return Nuevo documento actual o {@link #NO_MORE_DOCS}
+         */
+        public int advance(int target) {
+            if (docId >= target) {
+                return docId;
+            }
+
+            int block = index / SKIP_INTERVAL;
+            while (block + 1 < skipCount && skipDocIds[block + 1] < target) {
+                block++;
+            }
+
+            if (block * SKIP_INTERVAL > index) {
+                offset = skipOffsets[block];
+                index = block * SKIP_INTERVAL;
+                docId = skipDocIds[block];
+            }
+
+            while (docId < target) {
+                nextDoc();
+            }
+            return docId;
+        }
+
+        private int readVarInt() {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[offset++];
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.plataformaEducativa.proyectoestructuradatos.models.datastructure.ContentSearchIndex;
+
+import java.util.UUID;
+
+/**
+ * Resultado de una búsqueda en el índice de contenidos: el contenido
+ * encontrado y su puntuación BM25.
+ */
+public final class ContentSearchHit {
+    private final UUID contentId;
+    private final double score;
+    private final int docId;
+
+    ContentSearchHit(UUID contentId, double score, int docId) {
+        this.contentId = contentId;
+        this.score = score;
+        this.docId = docId;
+    }
+
+    public UUID getContentId() {
+        return contentId;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    int getDocId() {
+        return docId;
+    }
+}
@@ -0,0 +1,346 @@
+package com.plataformaEducativa.proyectoestructuradatos.models.datastructure.ContentSearchIndex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Índice invertido de texto completo para contenidos educativos.
+ * Indexa título, etiquetas y descripción, puntúa con BM25 y recupera los K
+ * mejores resultados con poda MaxScore: los términos cuya cota superior
+ * acumulada no alcanza el umbral del K-ésimo resultado dejan de dirigir el
+ * recorrido y solo se consultan para los candidatos que aún pueden entrar.
+ *
+ * Las actualizaciones son incrementales: cada versión de un contenido recibe
+ * un identificador interno nuevo y la anterior queda marcada como eliminada
+ * hasta la siguiente compactación. Esta clase no es segura para hilos.
+ */
+public class ContentSearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final int TITLE_BOOST = 3;
+    private static final int TAG_BOOST = 2;
+    private static final int DESCRIPTION_BOOST = 1;
+
+    private static final int MIN_DELETED_FOR_COMPACTION = 1024;
+
+    private Map<String, TermEntry> terms;
+    private final Map<UUID, Integer> docIdsByContent;
+
+    private List<UUID> contentIds;
+    private List<String[]> docTerms;
+    private int[] docLengths;
+    private BitSet deleted;
+
+    private int nextDocId;
+    private int liveDocCount;
+    private int deletedDocCount;
+    private long totalLiveLength;
+
+    public ContentSearchIndex() {
+        this.terms = new HashMap<>();
+        this.docIdsByContent = new HashMap<>();
+        this.contentIds = new ArrayList<>();
+        this.docTerms = new ArrayList<>();
+        this.docLengths = new int[64];
+        this.deleted = new BitSet();
+        this.nextDocId = 0;
+        this.liveDocCount = 0;
+        this.deletedDocCount = 0;
+        this.totalLiveLength = 0;
+    }
+
+    /**
+     * Indexa (o reindexa) un contenido.
+     *
+     * @param contentId   Identificador del contenido
+     * @param title       Título
+     * @param description Descripción
+     * @param tags        Etiquetas
+     */
+    public void index(UUID contentId, String title, String description, Collection<String> tags) {
+        remove(contentId);
+
+        Map<String, Integer> frequencies = new HashMap<>();
+        addField(frequencies, title, TITLE_BOOST);
+        addField(frequencies, description, DESCRIPTION_BOOST);
+        if (tags != null) {
+            for (String tag : tags) {
+                addField(frequencies, tag, TAG_BOOST);
+            }
+        }
+
+        int docId = nextDocId++;
+        int docLength = 0;
+        String[] distinctTerms = new String[frequencies.size()];
+        int i = 0;
+
+        for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+            TermEntry termEntry = terms.computeIfAbsent(entry.getKey(), t -> new TermEntry());
+            termEntry.postings.add(docId, entry.getValue());
+            termEntry.liveDocFrequency++;
+            docLength += entry.getValue();
+            distinctTerms[i++] = entry.getKey();
+        }
+
+        if (docId == docLengths.length) {
+            docLengths = Arrays.copyOf(docLengths, docLengths.length * 2);
+        }
+        docLengths[docId] = docLength;
+        contentIds.add(contentId);
+        docTerms.add(distinctTerms);
+        docIdsByContent.put(contentId, docId);
+
+        liveDocCount++;
+        totalLiveLength += docLength;
+    }
+
+    /**
+     * Elimina un contenido del índice.
+     *
+     * @param contentId Identificador del contenido
+     * @return true si el contenido estaba indexado
+     */
+    public boolean remove(UUID contentId) {
+        Integer docId = docIdsByContent.remove(contentId);
+        if (docId == null) {
+            return false;
+        }
+
+        for (String term : docTerms.get(docId)) {
+            terms.get(term).liveDocFrequency--;
+        }
+
+        deleted.set(docId);
+        docTerms.set(docId, null);
+        liveDocCount--;
+        deletedDocCount++;
+        totalLiveLength -= docLengths[docId];
+
+        if (deletedDocCount >= MIN_DELETED_FOR_COMPACTION && deletedDocCount > liveDocCount) {
+            compact();
+        }
+        return true;
+    }
+
+    /**
+     * Devuelve el número de contenidos indexados.
+     */
+    public int size() {
+        return liveDocCount;
+    }
+
+    /**
+     * Busca los {@code limit} contenidos más relevantes para la consulta.
+     *
+     * @param query Texto de búsqueda
+     * @param limit Número máximo de resultados
+     * @return Resultados ordenados por puntuación descendente
+     */
+    public List<ContentSearchHit> search(String query, int limit) {
+        List<ContentSearchHit> hits = new ArrayList<>();
+        if (limit <= 0 || liveDocCount == 0) {
+            return hits;
+        }
+
+        List<QueryTerm> queryTerms = prepareQuery(query);
+        if (queryTerms.isEmpty()) {
+            return hits;
+        }
+
+        // Ordenar por cota superior ascendente y acumular prefijos
+        queryTerms.sort(Comparator.comparingDouble(t -> t.upperBound));
+        int n = queryTerms.size();
+        double[] prefixBounds = new double[n];
+        double accumulated = 0;
+        for (int i = 0; i < n; i++) {
+            accumulated += queryTerms.get(i).upperBound;
+            prefixBounds[i] = accumulated;
+            queryTerms.get(i).cursor.nextDoc();
+        }
+
+        double averageLength = (double) totalLiveLength / liveDocCount;
+        PriorityQueue<ContentSearchHit> topK = new PriorityQueue<>(limit + 1, WORST_FIRST);
+        double threshold = 0;
+        int firstEssential = 0;
+
+        while (true) {
+            // Los términos cuya suma de cotas no supera el umbral dejan de ser esenciales
+            while (topK.size() == limit && firstEssential < n && prefixBounds[firstEssential] <= threshold) {
+                firstEssential++;
+            }
+            if (firstEssential == n) {
+                break;
+            }
+
+            int doc = ContentPostingList.NO_MORE_DOCS;
+            for (int i = firstEssential; i < n; i++) {
+                doc = Math.min(doc, queryTerms.get(i).cursor.docId());
+            }
+            if (doc == ContentPostingList.NO_MORE_DOCS) {
+                break;
+            }
+
+            boolean live = !deleted.get(doc);
+            double score = 0;
+
+            for (int i = firstEssential; i < n; i++) {
+                QueryTerm term = queryTerms.get(i);
+                if (term.cursor.docId() == doc) {
+                    if (live) {
+                        score += term.score(term.cursor.termFrequency(), docLengths[doc], averageLength);
+                    }
+                    term.cursor.nextDoc();
+                }
+            }
+
+            if (!live) {
+                continue;
+            }
+
+            // Completar con los términos no esenciales mientras el documento pueda entrar
+            for (int i = firstEssential - 1; i >= 0; i--) {
+                if (score + prefixBounds[i] <= threshold) {
+                    break;
+                }
+                QueryTerm term = queryTerms.get(i);
+                if (term.cursor.advance(doc) == doc) {
+                    score += term.score(term.cursor.termFrequency(), docLengths[doc], averageLength);
+                }
+            }
+
+            if (topK.size() < limit) {
+                topK.add(new ContentSearchHit(contentIds.get(doc), score, doc));
+            } else if (score > threshold) {
+                topK.poll();
+                topK.add(new ContentSearchHit(contentIds.get(doc), score, doc));
+            }
+
+            if (topK.size() == limit) {
+                threshold = topK.peek().getScore();
+            }
+        }
+
+        while (!topK.isEmpty()) {
+            hits.add(topK.poll());
+        }
+        Collections.reverse(hits);
+        return hits;
+    }
+
+    private List<QueryTerm> prepareQuery(String query) {
+        List<QueryTerm> queryTerms = new ArrayList<>();
+        Set<String> distinct = new LinkedHashSet<>(ContentTextAnalyzer.analyze(query));
+
+        for (String term : distinct) {
+            TermEntry entry = terms.get(term);
+            if (entry == null || entry.liveDocFrequency <= 0) {
+                continue;
+            }
+
+            double idf = Math.log(1 + (liveDocCount - entry.liveDocFrequency + 0.5)
+                    / (entry.liveDocFrequency + 0.5));
+            int maxTf = entry.postings.getMaxTermFrequency();
+            // Cota superior: frecuencia máxima con la menor normalización posible (longitud 0)
+            double upperBound = idf * (maxTf * (K1 + 1)) / (maxTf + K1 * (1 - B));
+
+            queryTerms.add(new QueryTerm(entry.postings.cursor(), idf, upperBound));
+        }
+
+        return queryTerms;
+    }
+
+    private static void addField(Map<String, Integer> frequencies, String text, int boost) {
+        for (String term : ContentTextAnalyzer.analyze(text)) {
+            frequencies.merge(term, boost, Integer::sum);
+        }
+    }
+
+    /**
+     * Reconstruye las listas sin los documentos eliminados y renumera los
+     * identificadores internos conservando su orden.
+     */
+    private void compact() {
+        int[] remap = new int[nextDocId];
+        List<UUID> compactedIds = new ArrayList<>(liveDocCount);
+        List<String[]> compactedTerms = new ArrayList<>(liveDocCount);
+        int[] compactedLengths = new int[Math.max(64, liveDocCount * 2)];
+        int newId = 0;
+
+        for (int docId = 0; docId < nextDocId; docId++) {
+            if (deleted.get(docId)) {
+                remap[docId] = -1;
+                continue;
+            }
+            remap[docId] = newId;
+            compactedIds.add(contentIds.get(docId));
+            compactedTerms.add(docTerms.get(docId));
+            compactedLengths[newId] = docLengths[docId];
+            docIdsByContent.put(contentIds.get(docId), newId);
+            newId++;
+        }
+
+        Map<String, TermEntry> compactedPostings = new HashMap<>();
+        for (Map.Entry<String, TermEntry> entry : terms.entrySet()) {
+            if (entry.getValue().liveDocFrequency <= 0) {
+                continue;
+            }
+            TermEntry compacted = new TermEntry();
+            ContentPostingList.Cursor cursor = entry.getValue().postings.cursor();
+            for (int doc = cursor.nextDoc(); doc != ContentPostingList.NO_MORE_DOCS; doc = cursor.nextDoc()) {
+                if (remap[doc] >= 0) {
+                    compacted.postings.add(remap[doc], cursor.termFrequency());
+                    compacted.liveDocFrequency++;
+                }
+            }
+            compactedPostings.put(entry.getKey(), compacted);
+        }
+
+        terms = compactedPostings;
+        contentIds = compactedIds;
+        docTerms = compactedTerms;
+        docLengths = compactedLengths;
+        deleted = new BitSet();
+        nextDocId = newId;
+        deletedDocCount = 0;
+    }
+
+    // El peor resultado primero; a igual puntuación, el documento más reciente es peor
+    private static final Comparator<ContentSearchHit> WORST_FIRST = Comparator
+            .comparingDouble(ContentSearchHit::getScore)
+            .thenComparing(ContentSearchHit::getDocId, Comparator.reverseOrder());
+
+    private static final class TermEntry {
+        private final ContentPostingList postings = new ContentPostingList();
+        private int liveDocFrequency;
+    }
+
+    private static final class QueryTerm {
+        private final ContentPostingList.Cursor cursor;
+        private final double idf;
+        private final double upperBound;
+
+        private QueryTerm(ContentPostingList.Cursor cursor, double idf, double upperBound) {
+            this.cursor = cursor;
+            this.idf = idf;
+            this.upperBound = upperBound;
+        }
+
+        private double score(int termFrequency, int docLength, double averageLength) {
+            double norm = K1 * (1 - B + B * docLength / averageLength);
+            return idf * (termFrequency * (K1 + 1)) / (termFrequency + norm);
+        }
+    }
+}
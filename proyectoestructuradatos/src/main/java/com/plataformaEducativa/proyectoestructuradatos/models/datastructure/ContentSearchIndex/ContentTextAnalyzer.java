@@ -0,0 +1,158 @@
+package com.plataformaEducativa.proyectoestructuradatos.models.datastructure.ContentSearchIndex;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Analizador de texto para el índice de búsqueda de contenidos.
+ * Normaliza (minúsculas, sin tildes), separa en palabras, descarta palabras
+ * vacías en español e inglés y aplica un stemming ligero de sufijos.
+ */
+public final class ContentTextAnalyzer {
+
+    private static final int MIN_TOKEN_LENGTH = 2;
+
+    private static final Set<String> STOPWORDS = Set.of(
+            // Español
+            "a", "al", "algo", "ante", "como", "con", "contra", "cual", "de", "del", "desde", "donde",
+            "el", "ella", "ellos", "en", "entre", "era", "es", "esa", "ese", "eso", "esta", "este",
+            "esto", "fue", "ha", "hay", "la", "las", "le", "les", "lo", "los", "mas", "me", "mi",
+            "muy", "no", "nos", "o", "para", "pero", "por", "que", "se", "si", "sin", "sobre", "su",
+            "sus", "te", "tu", "un", "una", "uno", "unos", "unas", "y", "ya",
+            // Inglés
+            "an", "and", "are", "as", "at", "be", "but", "by", "for", "from", "has", "have", "how",
+            "if", "in", "into", "is", "it", "its", "of", "on", "or", "that", "the", "their", "this",
+            "to", "was", "what", "when", "which", "with", "you", "your");
+
+    private ContentTextAnalyzer() {
+    }
+
+    /**
+     * Convierte un texto en la lista de términos indexables, en orden de
+     * aparición y con repeticiones.
+     *
+     * @param text Texto a analizar (puede ser null)
+     * @return Lista de términos normalizados
+     */
+    public static List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return terms;
+        }
+
+        String normalized = normalize(text);
+        int start = -1;
+
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean wordChar = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                addTerm(normalized.substring(start, i), terms);
+                start = -1;
+            }
+        }
+
+        return terms;
+    }
+
+    /**
+     * Pasa el texto a minúsculas y elimina los signos diacríticos (tildes,
+     * diéresis), de modo que "Programación" y "programacion" coincidan.
+     */
+    static String normalize(String text) {
+        String decomposed = Normalizer.normalize(text.toLowerCase(Locale.ROOT), Normalizer.Form.NFD);
+        StringBuilder builder = new StringBuilder(decomposed.length());
+
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                builder.append(c);
+            }
+        }
+
+        return builder.toString();
+    }
+
+    private static void addTerm(String token, List<String> terms) {
+        if (token.length() < MIN_TOKEN_LENGTH || STOPWORDS.contains(token)) {
+            return;
+        }
+        terms.add(stem(token));
+    }
+
+    /**
+     * Stemming ligero para español e inglés: recorta los sufijos flexivos más
+     * comunes sin dejar raíces de menos de tres letras. No pretende ser un
+     * Snowball completo, solo agrupar plurales y derivaciones frecuentes.
+     *
+     * @param token Palabra normalizada
+     * @return Raíz aproximada
+     */
+    static String stem(String token) {
+        if (token.length() <= 3 || !Character.isLetter(token.charAt(token.length() - 1))) {
+            return token;
+        }
+
+        // Español: sufijos derivativos
+        if (token.endsWith("amientos") || token.endsWith("imientos")) {
+            return trim(token, 8);
+        }
+        if (token.endsWith("amiento") || token.endsWith("imiento")) {
+            return trim(token, 7);
+        }
+        if (token.endsWith("aciones")) {
+            return trim(token, 7);
+        }
+        if (token.endsWith("acion")) {
+            return trim(token, 5);
+        }
+        if (token.endsWith("mente")) {
+            return trim(token, 5);
+        }
+
+        // Inglés: sufijos verbales y plurales
+        if (token.endsWith("ations")) {
+            return trim(token, 6);
+        }
+        if (token.endsWith("ation")) {
+            return trim(token, 5);
+        }
+        if (token.endsWith("ing")) {
+            return trim(token, 3);
+        }
+        if (token.endsWith("ies")) {
+            return token.length() > 4 ? token.substring(0, token.length() - 3) + "y" : token;
+        }
+        if (token.endsWith("ed")) {
+            return trim(token, 2);
+        }
+
+        // Plurales comunes a ambos idiomas
+        if (token.endsWith("es") && token.length() > 4 && takesEsPlural(token.charAt(token.length() - 3))) {
+            return trim(token, 2);
+        }
+        if (token.endsWith("s") && !token.endsWith("ss") && !token.endsWith("us")) {
+            return trim(token, 1);
+        }
+
+        return token;
+    }
+
+    private static String trim(String token, int suffixLength) {
+        int length = token.length() - suffixLength;
+        return length >= 3 ? token.substring(0, length) : token;
+    }
+
+    /**
+     * Consonantes tras las que el plural se forma con "-es" (árbol/árboles,
+     * función/funciones, red/redes, box/boxes).
+     */
+    private static boolean takesEsPlural(char c) {
+        return c == 'l' || c == 'r' || c == 'n' || c == 'd' || c == 'j' || c == 'x';
+    }
+}
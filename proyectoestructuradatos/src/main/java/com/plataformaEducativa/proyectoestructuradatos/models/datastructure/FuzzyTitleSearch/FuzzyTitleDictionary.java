@@ -0,0 +1,208 @@
+package com.plataformaEducativa.proyectoestructuradatos.models.datastructure.FuzzyTitleSearch;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Diccionario inmutable de títulos para búsquedas tolerantes a erratas.
+ *
+ * Los títulos se guardan normalizados en un array ordenado, que equivale a un
+ * trie implícito: títulos consecutivos comparten prefijo. La búsqueda simula
+ * un autómata de Levenshtein con una fila de programación dinámica por
+ * carácter del prefijo; las filas del prefijo común con el título anterior se
+ * reutilizan, y en cuanto el mínimo de una fila supera la distancia máxima se
+ * descartan de golpe todos los títulos con ese prefijo (que ocupan un tramo
+ * contiguo del array).
+ *
+ * Las modificaciones devuelven un diccionario nuevo (copia del array), igual
+ * que {@code PersistentContentTree}, de modo que se puede publicar junto al
+ * árbol de títulos y leer sin bloqueos.
+ */
+public final class FuzzyTitleDictionary {
+
+    private static final FuzzyTitleDictionary EMPTY = new FuzzyTitleDictionary(new String[0]);
+
+    private final String[] titles;
+
+    private FuzzyTitleDictionary(String[] titles) {
+        this.titles = titles;
+    }
+
+    public static FuzzyTitleDictionary empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Construye el diccionario a partir de una colección de títulos. Los
+     * duplicados (sin distinguir mayúsculas) se guardan una vez.
+     */
+    public static FuzzyTitleDictionary of(Collection<String> titles) {
+        String[] keys = titles.stream()
+                .map(FuzzyTitleDictionary::normalize)
+                .sorted()
+                .distinct()
+                .toArray(String[]::new);
+        return keys.length == 0 ? EMPTY : new FuzzyTitleDictionary(keys);
+    }
+
+    /**
+     * Normaliza un título como clave del diccionario.
+     */
+    public static String normalize(String title) {
+        return title.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Devuelve un diccionario con el título añadido, o este mismo si ya estaba.
+     */
+    public FuzzyTitleDictionary with(String title) {
+        String key = normalize(title);
+        int position = Arrays.binarySearch(titles, key);
+        if (position >= 0) {
+            return this;
+        }
+
+        int insertion = -position - 1;
+        String[] next = new String[titles.length + 1];
+        System.arraycopy(titles, 0, next, 0, insertion);
+        next[insertion] = key;
+        System.arraycopy(titles, insertion, next, insertion + 1, titles.length - insertion);
+        return new FuzzyTitleDictionary(next);
+    }
+
+    /**
+     * Devuelve un diccionario sin el título, o este mismo si no estaba.
+     */
+    public FuzzyTitleDictionary without(String title) {
+        int position = Arrays.binarySearch(titles, normalize(title));
+        if (position < 0) {
+            return this;
+        }
+
+        String[] next = new String[titles.length - 1];
+        System.arraycopy(titles, 0, next, 0, position);
+        System.arraycopy(titles, position + 1, next, position, titles.length - position - 1);
+        return new FuzzyTitleDictionary(next);
+    }
+
+    public boolean contains(String title) {
+        return Arrays.binarySearch(titles, normalize(title)) >= 0;
+    }
+
+    public int size() {
+        return titles.length;
+    }
+
+    /**
+     * Busca los títulos a distancia de edición menor o igual que {@code maxDistance}.
+     *
+     * @param query       Título buscado (se normaliza)
+     * @param maxDistance Número máximo de inserciones, borrados o sustituciones
+     * @return Coincidencias en orden alfabético, con su distancia
+     */
+    public List<FuzzyTitleMatch> search(String query, int maxDistance) {
+        List<FuzzyTitleMatch> matches = new ArrayList<>();
+        String target = normalize(query);
+        int columns = target.length() + 1;
+
+        // rows[d] es la fila del autómata tras leer los d primeros caracteres del título
+        int[][] rows = new int[1][];
+        rows[0] = new int[columns];
+        for (int c = 0; c < columns; c++) {
+            rows[0][c] = c;
+        }
+
+        String previous = "";
+        int validDepth = 0;
+        int index = 0;
+
+        while (index < titles.length) {
+            String title = titles[index];
+            int depth = Math.min(validDepth, commonPrefixLength(previous, title));
+            previous = title;
+
+            boolean pruned = false;
+            while (depth < title.length()) {
+                if (depth + 1 >= rows.length) {
+                    rows = grow(rows, title.length() + 1, columns);
+                }
+                int rowMinimum = step(rows[depth], rows[depth + 1], title.charAt(depth), target);
+                depth++;
+                if (rowMinimum > maxDistance) {
+                    pruned = true;
+                    break;
+                }
+            }
+            validDepth = depth;
+
+            if (pruned) {
+                // Ningún título con este prefijo puede estar a distancia <= maxDistance
+                index = endOfPrefixRange(title.substring(0, depth), index + 1);
+                continue;
+            }
+
+            int distance = rows[depth][columns - 1];
+            if (distance <= maxDistance) {
+                matches.add(new FuzzyTitleMatch(title, distance));
+            }
+            index++;
+        }
+
+        return matches;
+    }
+
+    /**
+     * Calcula la fila siguiente del autómata al leer un carácter y devuelve su mínimo.
+     */
+    private static int step(int[] current, int[] next, char character, String target) {
+        next[0] = current[0] + 1;
+        int minimum = next[0];
+        for (int c = 1; c < next.length; c++) {
+            int cost = target.charAt(c - 1) == character ? 0 : 1;
+            int value = Math.min(Math.min(current[c] + 1, next[c - 1] + 1), current[c - 1] + cost);
+            next[c] = value;
+            if (value < minimum) {
+                minimum = value;
+            }
+        }
+        return minimum;
+    }
+
+    /**
+     * Primera posición desde {@code from} cuyo título no empieza por el prefijo.
+     * Los títulos con un mismo prefijo son contiguos en el array ordenado.
+     */
+    private int endOfPrefixRange(String prefix, int from) {
+        int low = from;
+        int high = titles.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (titles[middle].startsWith(prefix)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static int commonPrefixLength(String a, String b) {
+        int limit = Math.min(a.length(), b.length());
+        int i = 0;
+        while (i < limit && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int[][] grow(int[][] rows, int minimumLength, int columns) {
+        int[][] grown = Arrays.copyOf(rows, Math.max(minimumLength, rows.length * 2));
+        for (int d = rows.length; d < grown.length; d++) {
+            grown[d] = new int[columns];
+        }
+        return grown;
+    }
+}
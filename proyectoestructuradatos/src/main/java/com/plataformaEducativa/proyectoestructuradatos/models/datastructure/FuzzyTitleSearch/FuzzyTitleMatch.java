@@ -0,0 +1,23 @@
+package com.plataformaEducativa.proyectoestructuradatos.models.datastructure.FuzzyTitleSearch;
+
+/**
+ * Título del diccionario encontrado por la búsqueda aproximada, con su
+ * distancia de edición a la consulta.
+ */
+public final class FuzzyTitleMatch {
+    private final String title;
+    private final int distance;
+
+    FuzzyTitleMatch(String title, int distance) {
+        this.title = title;
+        this.distance = distance;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public int getDistance() {
+        return distance;
+    }
+}
@@ -0,0 +1,31 @@
+package com.plataformaEducativa.proyectoestructuradatos.models.datastructure.HelpMatching;
+
+import java.util.UUID;
+
+/**
+ * Pareja solicitud-ayudante propuesta por {@link HelpRequestMatcher}.
+ */
+public final class HelpMatch {
+
+    private final UUID requestId;
+    private final UUID helperId;
+    private final double score;
+
+    HelpMatch(UUID requestId, UUID helperId, double score) {
+        this.requestId = requestId;
+        this.helperId = helperId;
+        this.score = score;
+    }
+
+    public UUID getRequestId() {
+        return requestId;
+    }
+
+    public UUID getHelperId() {
+        return helperId;
+    }
+
+    public double getScore() {
+        return score;
+    }
+}
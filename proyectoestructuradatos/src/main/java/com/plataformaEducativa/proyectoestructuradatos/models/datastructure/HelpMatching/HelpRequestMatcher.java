@@ -0,0 +1,357 @@
+package com.plataformaEducativa.proyectoestructuradatos.models.datastructure.HelpMatching;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import com.plataformaEducativa.proyectoestructuradatos.enums.HelpRequestPriority;
+
+/**
+ * Emparejamiento por lotes de solicitudes de ayuda abiertas con estudiantes
+ * disponibles. La puntuación de cada par combina:
+ * <ul>
+ * <li>si el tema de la solicitud está entre los intereses del ayudante,</li>
+ * <li>el solapamiento (Jaccard) entre los intereses del ayudante y los del
+ * solicitante, y</li>
+ * <li>la fuerza de la conexión entre ambos en el grafo de estudiantes,</li>
+ * </ul>
+ * multiplicada por un factor de urgencia para que las solicitudes más
+ * prioritarias elijan antes.
+ *
+ * Para no puntuar todos los pares, cada solicitud solo considera a los
+ * ayudantes interesados en su tema o conectados con el solicitante, y se
+ * queda con sus {@code candidatesPerRequest} mejores. Las candidatas se
+ * calculan en paralelo por solicitud. La asignación es voraz: se monta un
+ * montículo de máximos con todas las aristas candidatas (O(E)) y se extraen en
+ * orden de puntuación, aceptando cada par si la solicitud sigue libre y al
+ * ayudante le queda capacidad. El resultado es al menos la mitad del óptimo
+ * de un emparejamiento de peso máximo y solo se extraen las aristas
+ * necesarias.
+ */
+public final class HelpRequestMatcher {
+
+    // Peso de cada señal en la puntuación
+    private static final double TOPIC_WEIGHT = 0.6;
+    private static final double OVERLAP_WEIGHT = 0.2;
+    private static final double CONNECTION_WEIGHT = 0.2;
+
+    // Fuerza de conexión a la que la señal vale la mitad de su peso
+    private static final double CONNECTION_HALF_STRENGTH = 3.0;
+
+    // Factor de urgencia: LOW x1, MEDIUM x1.5, HIGH x2, URGENT x2.5
+    private static final double URGENCY_STEP = 0.5;
+
+    private static final int[] NO_INTERESTS = new int[0];
+
+    private final int candidatesPerRequest;
+
+    private final UUID[] requestIds;
+    private final int[] requestTopics;
+    private final double[] requestUrgency;
+    private final UUID[] requesterIds;
+
+    private final UUID[] helperIds;
+    private final int[] helperCapacity;
+    private final Map<UUID, Integer> helperIndexes;
+    private final int[][] helperInterests;
+    private final int[][] helpersByInterest;
+
+    private final Map<UUID, int[]> interestsByStudent;
+    private final Map<UUID, Map<UUID, Integer>> connections;
+
+    private HelpRequestMatcher(Builder builder, int candidatesPerRequest) {
+        this.candidatesPerRequest = candidatesPerRequest;
+
+        int requestCount = builder.requests.size();
+        this.requestIds = new UUID[requestCount];
+        this.requestTopics = new int[requestCount];
+        this.requestUrgency = new double[requestCount];
+        this.requesterIds = new UUID[requestCount];
+        for (int i = 0; i < requestCount; i++) {
+            PendingRequest request = builder.requests.get(i);
+            requestIds[i] = request.id();
+            Integer topic = builder.interestIds.get(request.topic());
+            requestTopics[i] = topic != null ? topic : -1;
+            requestUrgency[i] = 1 + URGENCY_STEP * request.priority().ordinal();
+            requesterIds[i] = request.requesterId();
+        }
+
+        int helperCount = builder.helpers.size();
+        this.helperIds = new UUID[helperCount];
+        this.helperCapacity = new int[helperCount];
+        this.helperInterests = new int[helperCount][];
+        this.helperIndexes = new HashMap<>();
+        List<List<Integer>> byInterest = new ArrayList<>();
+        for (int i = 0; i < builder.interestIds.size(); i++) {
+            byInterest.add(new ArrayList<>());
+        }
+        for (int i = 0; i < helperCount; i++) {
+            Map.Entry<UUID, Integer> helper = builder.helpers.get(i);
+            helperIds[i] = helper.getKey();
+            helperCapacity[i] = helper.getValue();
+            helperIndexes.put(helper.getKey(), i);
+            helperInterests[i] = builder.interestsOf(helper.getKey());
+            for (int interest : helperInterests[i]) {
+                byInterest.get(interest).add(i);
+            }
+        }
+        this.helpersByInterest = new int[byInterest.size()][];
+        for (int i = 0; i < byInterest.size(); i++) {
+            helpersByInterest[i] = byInterest.get(i).stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        this.interestsByStudent = new HashMap<>();
+        builder.interests.forEach((studentId, interests) -> interestsByStudent.put(studentId, builder.interestsOf(studentId)));
+        this.connections = builder.connections;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int getRequestCount() {
+        return requestIds.length;
+    }
+
+    public int getHelperCount() {
+        return helperIds.length;
+    }
+
+    /**
+     * Calcula la asignación voraz.
+     *
+     * @return Parejas asignadas, de mayor a menor puntuación
+     */
+    public List<HelpMatch> match() {
+        // Candidatas por solicitud, en paralelo: cada tarea solo escribe su posición
+        Candidate[][] candidates = new Candidate[requestIds.length][];
+        IntStream.range(0, requestIds.length).parallel()
+                .forEach(request -> candidates[request] = topCandidates(request));
+
+        List<Candidate> edges = new ArrayList<>();
+        for (Candidate[] requestCandidates : candidates) {
+            edges.addAll(Arrays.asList(requestCandidates));
+        }
+
+        PriorityQueue<Candidate> heap = new PriorityQueue<>(edges);
+        boolean[] assigned = new boolean[requestIds.length];
+        int[] capacity = helperCapacity.clone();
+        int remainingRequests = requestIds.length;
+        int remainingCapacity = Arrays.stream(capacity).sum();
+
+        List<HelpMatch> matches = new ArrayList<>();
+        while (!heap.isEmpty() && remainingRequests > 0 && remainingCapacity > 0) {
+            Candidate edge = heap.poll();
+            if (assigned[edge.request] || capacity[edge.helper] == 0) {
+                continue;
+            }
+            assigned[edge.request] = true;
+            capacity[edge.helper]--;
+            remainingRequests--;
+            remainingCapacity--;
+            matches.add(new HelpMatch(requestIds[edge.request], helperIds[edge.helper], edge.score));
+        }
+        return matches;
+    }
+
+    /**
+     * Mejores ayudantes para una solicitud entre los interesados en su tema y
+     * los conectados con el solicitante.
+     */
+    private Candidate[] topCandidates(int request) {
+        UUID requesterId = requesterIds[request];
+        int[] requesterInterests = interestsByStudent.getOrDefault(requesterId, NO_INTERESTS);
+        Map<UUID, Integer> requesterConnections = connections.getOrDefault(requesterId, Map.of());
+
+        // Montículo de mínimos con las mejores candidatas vistas hasta ahora
+        PriorityQueue<Candidate> best = new PriorityQueue<>(candidatesPerRequest + 1,
+                (first, second) -> second.compareTo(first));
+
+        int topic = requestTopics[request];
+        if (topic >= 0) {
+            for (int helper : helpersByInterest[topic]) {
+                offer(best, request, helper, requesterInterests, requesterConnections);
+            }
+        }
+        for (UUID connectedId : requesterConnections.keySet()) {
+            Integer helper = helperIndexes.get(connectedId);
+            // Los interesados en el tema ya se puntuaron arriba
+            if (helper != null && (topic < 0 || Arrays.binarySearch(helperInterests[helper], topic) < 0)) {
+                offer(best, request, helper, requesterInterests, requesterConnections);
+            }
+        }
+
+        return best.toArray(new Candidate[0]);
+    }
+
+    private void offer(PriorityQueue<Candidate> best, int request, int helper, int[] requesterInterests,
+            Map<UUID, Integer> requesterConnections) {
+        if (helperIds[helper].equals(requesterIds[request]) || helperCapacity[helper] == 0) {
+            return;
+        }
+
+        int[] interests = helperInterests[helper];
+        int topic = requestTopics[request];
+        double topicMatch = topic >= 0 && Arrays.binarySearch(interests, topic) >= 0 ? 1 : 0;
+        double overlap = jaccard(interests, requesterInterests);
+        int strength = requesterConnections.getOrDefault(helperIds[helper], 0);
+        double connection = strength / (strength + CONNECTION_HALF_STRENGTH);
+
+        double score = (TOPIC_WEIGHT * topicMatch + OVERLAP_WEIGHT * overlap + CONNECTION_WEIGHT * connection)
+                * requestUrgency[request];
+        if (score <= 0) {
+            return;
+        }
+
+        best.add(new Candidate(request, helper, score));
+        if (best.size() > candidatesPerRequest) {
+            best.poll();
+        }
+    }
+
+    /**
+     * Índice de Jaccard de dos conjuntos ordenados de intereses.
+     */
+    private static double jaccard(int[] first, int[] second) {
+        if (first.length == 0 || second.length == 0) {
+            return 0;
+        }
+        int common = 0;
+        int i = 0;
+        int j = 0;
+        while (i < first.length && j < second.length) {
+            if (first[i] == second[j]) {
+                common++;
+                i++;
+                j++;
+            } else if (first[i] < second[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return (double) common / (first.length + second.length - common);
+    }
+
+    /**
+     * Arista candidata. El orden natural pone primero la de mayor puntuación;
+     * a igual puntuación, la solicitud añadida antes (más prioritaria) y el
+     * ayudante añadido antes, para que el resultado sea determinista.
+     */
+    private static final class Candidate implements Comparable<Candidate> {
+        private final int request;
+        private final int helper;
+        private final double score;
+
+        Candidate(int request, int helper, double score) {
+            this.request = request;
+            this.helper = helper;
+            this.score = score;
+        }
+
+        @Override
+        public int compareTo(Candidate other) {
+            int byScore = Double.compare(other.score, score);
+            if (byScore != 0) {
+                return byScore;
+            }
+            int byRequest = Integer.compare(request, other.request);
+            return byRequest != 0 ? byRequest : Integer.compare(helper, other.helper);
+        }
+    }
+
+    private record PendingRequest(UUID id, String topic, HelpRequestPriority priority, UUID requesterId) {
+    }
+
+    /**
+     * Recoge solicitudes, ayudantes, intereses y conexiones antes de emparejar.
+     */
+    public static final class Builder {
+
+        private final List<PendingRequest> requests = new ArrayList<>();
+        private final List<Map.Entry<UUID, Integer>> helpers = new ArrayList<>();
+        private final Map<UUID, List<String>> interests = new HashMap<>();
+        private final Map<UUID, Map<UUID, Integer>> connections = new HashMap<>();
+        private final Map<String, Integer> interestIds = new HashMap<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Añade una solicitud abierta. Conviene añadirlas en orden de atención:
+         * a igual puntuación gana la añadida antes.
+         */
+        public Builder addRequest(UUID requestId, String topic, HelpRequestPriority priority, UUID requesterId) {
+            requests.add(new PendingRequest(requestId, topic, priority, requesterId));
+            internInterest(topic);
+            return this;
+        }
+
+        /**
+         * Añade un estudiante disponible.
+         *
+         * @param capacity Número de solicitudes que puede recibir en este lote
+         */
+        public Builder addHelper(UUID helperId, int capacity) {
+            if (capacity > 0) {
+                helpers.add(Map.entry(helperId, capacity));
+            }
+            return this;
+        }
+
+        /**
+         * Añade un interés académico de un estudiante (ayudante o solicitante).
+         */
+        public Builder addInterest(UUID studentId, String interest) {
+            if (interest != null) {
+                interests.computeIfAbsent(studentId, id -> new ArrayList<>()).add(interest);
+                internInterest(interest);
+            }
+            return this;
+        }
+
+        /**
+         * Añade una conexión del grafo de estudiantes (no dirigida).
+         */
+        public Builder addConnection(UUID studentA, UUID studentB, int strength) {
+            if (strength > 0) {
+                connections.computeIfAbsent(studentA, id -> new HashMap<>()).merge(studentB, strength, Math::max);
+                connections.computeIfAbsent(studentB, id -> new HashMap<>()).merge(studentA, strength, Math::max);
+            }
+            return this;
+        }
+
+        /**
+         * Prepara el emparejamiento.
+         *
+         * @param candidatesPerRequest Número de ayudantes candidatos que se conservan por solicitud
+         * @return Emparejador listo para {@link HelpRequestMatcher#match()}
+         */
+        public HelpRequestMatcher build(int candidatesPerRequest) {
+            if (candidatesPerRequest < 1) {
+                throw new IllegalArgumentException("candidatesPerRequest must be at least 1");
+            }
+            return new HelpRequestMatcher(this, candidatesPerRequest);
+        }
+
+        private void internInterest(String interest) {
+            if (interest != null) {
+                interestIds.putIfAbsent(interest, interestIds.size());
+            }
+        }
+
+        private int[] interestsOf(UUID studentId) {
+            List<String> names = interests.get(studentId);
+            if (names == null) {
+                return NO_INTERESTS;
+            }
+            return names.stream().mapToInt(interestIds::get).sorted().distinct().toArray();
+        }
+    }
+}
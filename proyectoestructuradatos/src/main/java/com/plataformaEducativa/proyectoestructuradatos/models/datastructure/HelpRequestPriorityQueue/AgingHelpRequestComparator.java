@@ -0,0 +1,67 @@
+package com.plataformaEducativa.proyectoestructuradatos.models.datastructure.HelpRequestPriorityQueue;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Comparator;
+import java.util.Map;
+
+import com.plataformaEducativa.proyectoestructuradatos.enums.HelpRequestPriority;
+import com.plataformaEducativa.proyectoestructuradatos.models.HelpRequest;
+
+/**
+ * Orden con envejecimiento para la cola de solicitudes de ayuda. Cada
+ * solicitud se ordena por un plazo virtual: su fecha de creación más un
+ * margen que depende de la prioridad (cero para URGENT, mayor cuanto menor es
+ * la prioridad). Una solicitud LOW adelanta a las MEDIUM que lleguen más de
+ * {@code margen(LOW) - margen(MEDIUM)} después de ella, de modo que ninguna
+ * prioridad espera indefinidamente.
+ *
+ * El plazo solo depende de la prioridad y la fecha de creación, que no
+ * cambian mientras la solicitud está en la cola, así que el orden del
+ * montículo sigue siendo válido con el paso del tiempo sin reconstruirlo.
+ * {@link HelpRequestPriorityQueue} aprovecha esto: guarda el plazo de cada
+ * solicitud en su nodo al encolarla y no llama a {@link #compare} en el
+ * montículo.
+ */
+public final class AgingHelpRequestComparator implements Comparator<HelpRequest> {
+
+    private final long[] delayNanos;
+
+    /**
+     * @param delays Margen de cada prioridad; las que falten tienen margen cero
+     */
+    public AgingHelpRequestComparator(Map<HelpRequestPriority, Duration> delays) {
+        HelpRequestPriority[] priorities = HelpRequestPriority.values();
+        this.delayNanos = new long[priorities.length];
+        for (HelpRequestPriority priority : priorities) {
+            Duration delay = delays.getOrDefault(priority, Duration.ZERO);
+            if (delay.isNegative()) {
+                throw new IllegalArgumentException("Aging delay cannot be negative: " + priority);
+            }
+            delayNanos[priority.ordinal()] = delay.toNanos();
+        }
+    }
+
+    /**
+     * Plazo virtual de la solicitud en nanosegundos desde la época (UTC).
+     *
+     * @param request Solicitud
+     * @return Fecha de creación más el margen de su prioridad
+     */
+    public long virtualDeadline(HelpRequest request) {
+        LocalDateTime createdAt = request.getCreatedAt();
+        return createdAt.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + createdAt.getNano()
+                + delayNanos[request.getPriority().ordinal()];
+    }
+
+    @Override
+    public int compare(HelpRequest first, HelpRequest second) {
+        int byDeadline = Long.compare(virtualDeadline(first), virtualDeadline(second));
+        if (byDeadline != 0) {
+            return byDeadline;
+        }
+        // Mismo plazo: primero la de mayor prioridad y, a igualdad, la más antigua
+        return first.compareTo(second);
+    }
+}
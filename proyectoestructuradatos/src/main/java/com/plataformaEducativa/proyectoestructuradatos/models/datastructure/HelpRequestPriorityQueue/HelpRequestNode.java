@@ -2,6 +2,7 @@ package com.plataformaEducativa.proyectoestructuradatos.models.datastructure.Hel
 
 import com.plataformaEducativa.proyectoestructuradatos.models.HelpRequest;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -11,10 +12,25 @@ import lombok.Setter;
  * específica del nodo para la estructura de la cola de prioridad.
  */
 @Getter
-@Setter
+@Setter(AccessLevel.PACKAGE)
 public class HelpRequestNode implements Comparable<HelpRequestNode> {
     private HelpRequest helpRequest;
 
+    /**
+     * Posición actual del nodo en el montículo. Solo la mantiene la cola.
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    int index;
+
+    /**
+     * Clave de orden precalculada por la cola (por ejemplo, el plazo virtual
+     * del orden con envejecimiento). Se recalcula al sustituir la solicitud.
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    long key;
+
     public HelpRequestNode(HelpRequest helpRequest) {
         this.helpRequest = helpRequest;
     }
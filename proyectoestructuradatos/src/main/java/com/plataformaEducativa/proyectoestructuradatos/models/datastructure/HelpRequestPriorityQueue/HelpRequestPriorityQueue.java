@@ -1,37 +1,105 @@
 package com.plataformaEducativa.proyectoestructuradatos.models.datastructure.HelpRequestPriorityQueue;
 
-import lombok.Getter;
-
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
 import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
 
 import com.plataformaEducativa.proyectoestructuradatos.models.HelpRequest;
 
 /**
  * Cola de prioridad para gestionar solicitudes de ayuda según su urgencia.
- * Implementada como un montículo binario (binary heap).
- * Esta versión separa la estructura de cola de los nodos que contiene.
+ * Implementada como un montículo binario (binary heap) indexado: cada nodo
+ * guarda su posición en el montículo y un mapa ID → nodo permite localizar
+ * cualquier solicitud en O(1). Así {@code findById} es O(1) y
+ * {@code remove} y {@code update} son O(log n) en lugar de recorrer la cola.
+ *
+ * Por defecto se ordena por el orden natural de {@link HelpRequest}
+ * (prioridad y antigüedad); puede indicarse otro orden, por ejemplo
+ * {@link AgingHelpRequestComparator}, siempre que dependa solo de datos que
+ * no cambian mientras la solicitud está en la cola. Con
+ * {@link AgingHelpRequestComparator} el plazo virtual se calcula una vez al
+ * encolar o actualizar y se guarda en el nodo, de modo que el hundido y la
+ * flotación comparan dos {@code long} en lugar de recalcular fechas.
+ *
+ * Para listar en orden sin alterar la cola, {@link #orderedIterator()} y
+ * {@link #topN(int)} recorren el árbol implícito con un montículo secundario
+ * de candidatas: solo se visitan los nodos que se devuelven y sus hijos.
  */
 public class HelpRequestPriorityQueue {
 
-    @Getter
     private final List<HelpRequestNode> heap;
+    private final Map<UUID, HelpRequestNode> nodesById;
+    private final Comparator<HelpRequest> order;
+
+    // Clave precalculada en cada nodo (null si el orden no tiene) y desempate entre claves iguales
+    private final ToLongFunction<HelpRequest> keyFunction;
+    private final Comparator<HelpRequest> tieBreak;
+
+    // Cambios del montículo, para que los iteradores ordenados detecten modificaciones
+    private int modCount;
 
     public HelpRequestPriorityQueue() {
+        this(Comparator.naturalOrder());
+    }
+
+    /**
+     * @param order Orden de atención: la menor según el comparador sale primero
+     */
+    public HelpRequestPriorityQueue(Comparator<HelpRequest> order) {
         this.heap = new ArrayList<>();
+        this.nodesById = new HashMap<>();
+        this.order = order;
+        if (order instanceof AgingHelpRequestComparator aging) {
+            this.keyFunction = aging::virtualDeadline;
+            this.tieBreak = Comparator.naturalOrder();
+        } else {
+            this.keyFunction = null;
+            this.tieBreak = order;
+        }
+    }
+
+    public Comparator<HelpRequest> getOrder() {
+        return order;
+    }
+
+    /**
+     * Vista de solo lectura del montículo. Modificarlo desde fuera rompería
+     * el índice de posiciones.
+     *
+     * @return Nodos en el orden interno del montículo
+     */
+    public List<HelpRequestNode> getHeap() {
+        return Collections.unmodifiableList(heap);
     }
 
     /**
-     * Añade una solicitud de ayuda a la cola de prioridad.
+     * Añade una solicitud de ayuda a la cola de prioridad. Si ya hay una
+     * solicitud con el mismo ID, se actualiza en lugar de duplicarla.
      * 
      * @param request Solicitud de ayuda a añadir
      */
     public void enqueue(HelpRequest request) {
+        if (update(request)) {
+            return;
+        }
+
+        modCount++;
         HelpRequestNode node = new HelpRequestNode(request);
+        node.key = keyOf(request);
+        node.index = heap.size();
         heap.add(node);
-        siftUp(heap.size() - 1);
+        nodesById.put(request.getId(), node);
+        siftUp(node.index);
     }
 
     /**
@@ -46,16 +114,37 @@ public class HelpRequestPriorityQueue {
         }
 
         HelpRequest top = heap.get(0).getHelpRequest();
+        removeAt(0);
+        return top;
+    }
 
-        // Mover el último elemento al principio y reducir el tamaño
-        HelpRequestNode last = heap.remove(heap.size() - 1);
-
-        if (!isEmpty()) {
-            heap.set(0, last);
-            siftDown(0);
+    /**
+     * Extrae la solicitud de mayor prioridad que cumpla el filtro. Si la
+     * cabeza lo cumple cuesta O(log n); si no, se recorre el montículo en
+     * O(n) buscando la mejor candidata.
+     *
+     * @param filter Condición que debe cumplir la solicitud
+     * @return Solicitud extraída o null si ninguna cumple el filtro
+     */
+    public HelpRequest poll(Predicate<HelpRequest> filter) {
+        HelpRequestNode best = findBest(filter);
+        if (best == null) {
+            return null;
         }
+        removeAt(best.index);
+        return best.getHelpRequest();
+    }
 
-        return top;
+    /**
+     * Devuelve sin extraerla la solicitud de mayor prioridad que cumpla el
+     * filtro, con el mismo coste que {@link #poll(Predicate)}.
+     *
+     * @param filter Condición que debe cumplir la solicitud
+     * @return Solicitud o null si ninguna cumple el filtro
+     */
+    public HelpRequest peek(Predicate<HelpRequest> filter) {
+        HelpRequestNode best = findBest(filter);
+        return best != null ? best.getHelpRequest() : null;
     }
 
     /**
@@ -90,57 +179,45 @@ public class HelpRequestPriorityQueue {
     }
 
     /**
-     * Elimina una solicitud específica por su ID.
+     * Elimina una solicitud específica por su ID en O(log n).
      * 
      * @param requestId ID de la solicitud a eliminar
      * @return true si la solicitud fue eliminada, false si no se encontró
      */
     public boolean remove(UUID requestId) {
-        for (int i = 0; i < heap.size(); i++) {
-            if (heap.get(i).getHelpRequest().getId().equals(requestId)) {
-                // Reemplazar con el último elemento
-                HelpRequestNode last = heap.remove(heap.size() - 1);
-
-                // Si el elemento eliminado no era el último
-                if (i < heap.size()) {
-                    heap.set(i, last);
-
-                    // Restablecer el orden del heap
-                    siftUp(i);
-                    siftDown(i);
-                }
-
-                return true;
-            }
+        HelpRequestNode node = nodesById.get(requestId);
+        if (node == null) {
+            return false;
         }
 
-        return false;
+        removeAt(node.index);
+        return true;
     }
 
     /**
-     * Actualiza una solicitud existente y reajusta su posición en la cola.
+     * Actualiza una solicitud existente y reajusta su posición en la cola
+     * en O(log n).
      * 
      * @param updatedRequest Solicitud actualizada
      * @return true si la solicitud fue actualizada, false si no se encontró
      */
     public boolean update(HelpRequest updatedRequest) {
-        for (int i = 0; i < heap.size(); i++) {
-            if (heap.get(i).getHelpRequest().getId().equals(updatedRequest.getId())) {
-                HelpRequest oldRequest = heap.get(i).getHelpRequest();
-                heap.get(i).setHelpRequest(updatedRequest);
-
-                // Determinar si la prioridad aumentó o disminuyó
-                if (updatedRequest.compareTo(oldRequest) < 0) {
-                    siftUp(i);
-                } else {
-                    siftDown(i);
-                }
+        HelpRequestNode node = nodesById.get(updatedRequest.getId());
+        if (node == null) {
+            return false;
+        }
 
-                return true;
-            }
+        modCount++;
+        node.setHelpRequest(updatedRequest);
+        node.key = keyOf(updatedRequest);
+
+        // Si la prioridad aumentó flota; si no se movió, puede que deba hundirse
+        int index = node.index;
+        if (siftUp(index) == index) {
+            siftDown(index);
         }
 
-        return false;
+        return true;
     }
 
     /**
@@ -149,7 +226,7 @@ public class HelpRequestPriorityQueue {
      * @return Lista de todas las solicitudes en la cola
      */
     public List<HelpRequest> getAllRequests() {
-        List<HelpRequest> requests = new ArrayList<>();
+        List<HelpRequest> requests = new ArrayList<>(heap.size());
         for (HelpRequestNode node : heap) {
             requests.add(node.getHelpRequest());
         }
@@ -157,73 +234,231 @@ public class HelpRequestPriorityQueue {
     }
 
     /**
-     * Busca una solicitud por su ID.
+     * Devuelve las n solicitudes de mayor prioridad en orden, sin modificar
+     * ni copiar el montículo, en O(n log n) independientemente del tamaño de
+     * la cola.
+     *
+     * @param n Número de solicitudes
+     * @return Hasta n solicitudes en orden de atención
+     */
+    public List<HelpRequest> topN(int n) {
+        return page(0, n);
+    }
+
+    /**
+     * Devuelve una página de la cola en orden de atención, en
+     * O((offset + limit) log(offset + limit)).
+     *
+     * @param offset Solicitudes a saltar
+     * @param limit  Tamaño máximo de la página
+     * @return Solicitudes de la página en orden de atención
+     */
+    public List<HelpRequest> page(long offset, int limit) {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("Offset and limit must not be negative");
+        }
+
+        List<HelpRequest> page = new ArrayList<>((int) Math.min(limit, Math.max(0, heap.size() - offset)));
+        Iterator<HelpRequest> iterator = orderedIterator();
+        for (long skipped = 0; skipped < offset && iterator.hasNext(); skipped++) {
+            iterator.next();
+        }
+        while (page.size() < limit && iterator.hasNext()) {
+            page.add(iterator.next());
+        }
+        return page;
+    }
+
+    /**
+     * Recorre la cola en orden de atención sin modificarla. Cada
+     * {@code next()} cuesta O(log k), siendo k el número de elementos ya
+     * devueltos. Si la cola cambia durante el recorrido, el iterador lanza
+     * {@link ConcurrentModificationException}.
+     *
+     * @return Iterador en orden de atención
+     */
+    public Iterator<HelpRequest> orderedIterator() {
+        return new OrderedIterator();
+    }
+
+    /**
+     * Busca una solicitud por su ID en O(1).
      * 
      * @param requestId ID de la solicitud a buscar
      * @return Solicitud encontrada o null si no existe
      */
     public HelpRequest findById(UUID requestId) {
+        HelpRequestNode node = nodesById.get(requestId);
+        return node != null ? node.getHelpRequest() : null;
+    }
+
+    /**
+     * Indica si la solicitud está en la cola.
+     *
+     * @param requestId ID de la solicitud
+     * @return true si está en la cola
+     */
+    public boolean contains(UUID requestId) {
+        return nodesById.containsKey(requestId);
+    }
+
+    private HelpRequestNode findBest(Predicate<HelpRequest> filter) {
+        if (isEmpty()) {
+            return null;
+        }
+        if (filter.test(heap.get(0).getHelpRequest())) {
+            return heap.get(0);
+        }
+
+        HelpRequestNode best = null;
         for (HelpRequestNode node : heap) {
-            if (node.getHelpRequest().getId().equals(requestId)) {
-                return node.getHelpRequest();
+            if (filter.test(node.getHelpRequest()) && (best == null || compare(node, best) < 0)) {
+                best = node;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Quita el nodo de la posición indicada: el último nodo ocupa su hueco y
+     * se recoloca hacia arriba o hacia abajo según corresponda.
+     */
+    private void removeAt(int index) {
+        modCount++;
+        HelpRequestNode removed = heap.get(index);
+        nodesById.remove(removed.getHelpRequest().getId());
+
+        HelpRequestNode last = heap.remove(heap.size() - 1);
+        if (index < heap.size()) {
+            place(last, index);
+            if (siftUp(index) == index) {
+                siftDown(index);
             }
         }
-        return null;
     }
 
     /**
      * Hace flotar un elemento hacia arriba en el heap para mantener la propiedad de
-     * heap.
+     * heap. En lugar de intercambiar en cada nivel, los padres bajan un nivel y
+     * el nodo se coloca una sola vez en su posición final.
      * 
      * @param index Índice del elemento a flotar
+     * @return Posición final del elemento
      */
-    private void siftUp(int index) {
-        int parentIndex;
-        HelpRequestNode temp;
-
-        if (index != 0) {
-            parentIndex = (index - 1) / 2;
-
-            if (heap.get(parentIndex).compareTo(heap.get(index)) > 0) {
-                // Intercambiar con el padre
-                temp = heap.get(index);
-                heap.set(index, heap.get(parentIndex));
-                heap.set(parentIndex, temp);
-
-                // Continuar flotando hacia arriba
-                siftUp(parentIndex);
+    private int siftUp(int index) {
+        HelpRequestNode node = heap.get(index);
+
+        while (index > 0) {
+            int parentIndex = (index - 1) >>> 1;
+            HelpRequestNode parent = heap.get(parentIndex);
+            if (compare(parent, node) <= 0) {
+                break;
             }
+            place(parent, index);
+            index = parentIndex;
         }
+
+        place(node, index);
+        return index;
     }
 
     /**
      * Hace hundir un elemento hacia abajo en el heap para mantener la propiedad de
-     * heap.
+     * heap, subiendo en cada nivel el hijo de mayor prioridad.
      * 
      * @param index Índice del elemento a hundir
      */
     private void siftDown(int index) {
-        int leftChild = 2 * index + 1;
-        int rightChild = 2 * index + 2;
-        int smallest = index;
+        HelpRequestNode node = heap.get(index);
+        int size = heap.size();
+        int half = size >>> 1;
+
+        // Solo los nodos de la primera mitad tienen hijos
+        while (index < half) {
+            int child = 2 * index + 1;
+            HelpRequestNode smallest = heap.get(child);
+
+            int rightChild = child + 1;
+            if (rightChild < size && compare(heap.get(rightChild), smallest) < 0) {
+                child = rightChild;
+                smallest = heap.get(rightChild);
+            }
 
-        // Comprobar si el hijo izquierdo es menor
-        if (leftChild < heap.size() && heap.get(leftChild).compareTo(heap.get(smallest)) < 0) {
-            smallest = leftChild;
+            if (compare(node, smallest) <= 0) {
+                break;
+            }
+            place(smallest, index);
+            index = child;
         }
 
-        // Comprobar si el hijo derecho es menor
-        if (rightChild < heap.size() && heap.get(rightChild).compareTo(heap.get(smallest)) < 0) {
-            smallest = rightChild;
+        place(node, index);
+    }
+
+    /**
+     * Compara por la clave guardada en los nodos y, si empatan, por el
+     * desempate. Equivale a {@link #order} sin recalcular la clave.
+     */
+    private int compare(HelpRequestNode first, HelpRequestNode second) {
+        int byKey = Long.compare(first.key, second.key);
+        if (byKey != 0) {
+            return byKey;
         }
+        return tieBreak.compare(first.getHelpRequest(), second.getHelpRequest());
+    }
 
-        // Si el más pequeño no es el elemento actual, intercambiar y seguir hundiendo
-        if (smallest != index) {
-            HelpRequestNode temp = heap.get(index);
-            heap.set(index, heap.get(smallest));
-            heap.set(smallest, temp);
+    private long keyOf(HelpRequest request) {
+        return keyFunction != null ? keyFunction.applyAsLong(request) : 0;
+    }
+
+    private void place(HelpRequestNode node, int index) {
+        heap.set(index, node);
+        node.index = index;
+    }
 
-            siftDown(smallest);
+    /**
+     * Recorrido en orden del árbol implícito. El siguiente elemento es
+     * siempre la mejor de las candidatas, que son los hijos de los nodos ya
+     * devueltos: al devolver un nodo, sus dos hijos pasan a ser candidatos.
+     */
+    private final class OrderedIterator implements Iterator<HelpRequest> {
+        private final PriorityQueue<HelpRequestNode> candidates =
+                new PriorityQueue<>(HelpRequestPriorityQueue.this::compare);
+        private final int expectedModCount = modCount;
+
+        OrderedIterator() {
+            if (!heap.isEmpty()) {
+                candidates.add(heap.get(0));
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            checkForModification();
+            return !candidates.isEmpty();
+        }
+
+        @Override
+        public HelpRequest next() {
+            checkForModification();
+            HelpRequestNode node = candidates.poll();
+            if (node == null) {
+                throw new NoSuchElementException();
+            }
+
+            int child = 2 * node.index + 1;
+            if (child < heap.size()) {
+                candidates.add(heap.get(child));
+                if (child + 1 < heap.size()) {
+                    candidates.add(heap.get(child + 1));
+                }
+            }
+            return node.getHelpRequest();
+        }
+
+        private void checkForModification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,347 @@
+package com.plataformaEducativa.proyectoestructuradatos.models.datastructure.HelpRequestPriorityQueue;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+import com.plataformaEducativa.proyectoestructuradatos.enums.HelpRequestPriority;
+import com.plataformaEducativa.proyectoestructuradatos.models.HelpRequest;
+
+/**
+ * Variante de {@link HelpRequestPriorityQueue} con claves primitivas. El
+ * orden de cada solicitud se empaqueta en un único {@code long}
+ * (prioridad, milisegundos de creación, secuencia de llegada), de modo que
+ * cada comparación durante el hundido o la flotación es una comparación de
+ * enteros sobre un {@code long[]}, sin acceder a la solicitud ni a su fecha.
+ *
+ * El montículo es 4-ario: con la mitad de niveles que uno binario, cada
+ * hundido lee cuatro claves contiguas en memoria por nivel. Las solicitudes
+ * se guardan en una tabla aparte indexada por un identificador interno
+ * (handle); el montículo solo mueve claves y handles, y la posición de cada
+ * handle se mantiene en un {@code int[]} para que {@code remove} y
+ * {@code update} por ID sigan siendo O(log n).
+ *
+ * Ordena como el orden natural de {@link HelpRequest} salvo dentro del mismo
+ * milisegundo, donde decide el orden de llegada a la cola.
+ */
+public final class PackedHelpRequestHeap {
+
+    private static final int ARITY = 4;
+    private static final int INITIAL_CAPACITY = 16;
+
+    // Disposición de la clave (63 bits, siempre positiva):
+    // [prioridad invertida: 2][ms desde 2020-01-01 UTC: 41 (hasta 2089)][secuencia: 20]
+    private static final int SEQUENCE_BITS = 20;
+    private static final int MILLIS_BITS = 41;
+    private static final int PRIORITY_SHIFT = SEQUENCE_BITS + MILLIS_BITS;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final long MAX_MILLIS = (1L << MILLIS_BITS) - 1;
+    private static final long EPOCH_MILLIS = LocalDateTime.of(2020, 1, 1, 0, 0)
+            .toEpochSecond(ZoneOffset.UTC) * 1000;
+    private static final int MAX_PRIORITY = HelpRequestPriority.values().length - 1;
+
+    static {
+        if (HelpRequestPriority.values().length > 4) {
+            throw new IllegalStateException("Packed key reserves 2 bits for the priority");
+        }
+    }
+
+    // Montículo: clave y handle de cada posición
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private int[] handles = new int[INITIAL_CAPACITY];
+    private int size;
+
+    // Tabla de solicitudes por handle
+    private HelpRequest[] requests = new HelpRequest[INITIAL_CAPACITY];
+    private int[] positions = new int[INITIAL_CAPACITY];
+    private int[] freeHandles = new int[INITIAL_CAPACITY];
+    private int freeCount;
+    private int nextHandle;
+
+    private final Map<UUID, Integer> handlesById = new HashMap<>();
+    private int sequence;
+
+    /**
+     * Calcula la clave empaquetada de una solicitud. Una clave menor sale antes.
+     *
+     * @param priority  Prioridad
+     * @param createdAt Fecha de creación (se interpreta en UTC)
+     * @param sequence  Desempate por orden de llegada (se usan sus 20 bits bajos)
+     * @return Clave de ordenación
+     */
+    public static long packKey(HelpRequestPriority priority, LocalDateTime createdAt, long sequence) {
+        long millis = createdAt.toEpochSecond(ZoneOffset.UTC) * 1000 + createdAt.getNano() / 1_000_000
+                - EPOCH_MILLIS;
+        millis = Math.max(0, Math.min(millis, MAX_MILLIS));
+        long invertedPriority = MAX_PRIORITY - priority.ordinal();
+        return (invertedPriority << PRIORITY_SHIFT) | (millis << SEQUENCE_BITS) | (sequence & SEQUENCE_MASK);
+    }
+
+    /**
+     * Añade una solicitud. Si ya hay una con el mismo ID, se actualiza.
+     *
+     * @param request Solicitud a añadir
+     */
+    public void enqueue(HelpRequest request) {
+        if (update(request)) {
+            return;
+        }
+
+        int handle = allocateHandle();
+        requests[handle] = request;
+        handlesById.put(request.getId(), handle);
+
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            handles = Arrays.copyOf(handles, size * 2);
+        }
+        siftUp(size++, packKey(request.getPriority(), request.getCreatedAt(), sequence++), handle);
+    }
+
+    /**
+     * Extrae la solicitud de mayor prioridad.
+     *
+     * @return Solicitud extraída
+     * @throws NoSuchElementException si la cola está vacía
+     */
+    public HelpRequest dequeue() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("Priority queue is empty");
+        }
+        return removeAt(0);
+    }
+
+    /**
+     * Devuelve la solicitud de mayor prioridad sin extraerla.
+     *
+     * @return Solicitud de mayor prioridad
+     * @throws NoSuchElementException si la cola está vacía
+     */
+    public HelpRequest peek() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("Priority queue is empty");
+        }
+        return requests[handles[0]];
+    }
+
+    /**
+     * Extrae la solicitud de mayor prioridad que cumpla el filtro: O(log n)
+     * si es la cabeza, O(n) en otro caso.
+     *
+     * @param filter Condición que debe cumplir la solicitud
+     * @return Solicitud extraída o null si ninguna cumple el filtro
+     */
+    public HelpRequest poll(Predicate<HelpRequest> filter) {
+        int position = findBest(filter);
+        return position < 0 ? null : removeAt(position);
+    }
+
+    /**
+     * Devuelve sin extraerla la solicitud de mayor prioridad que cumpla el filtro.
+     *
+     * @param filter Condición que debe cumplir la solicitud
+     * @return Solicitud o null si ninguna cumple el filtro
+     */
+    public HelpRequest peek(Predicate<HelpRequest> filter) {
+        int position = findBest(filter);
+        return position < 0 ? null : requests[handles[position]];
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Elimina una solicitud por su ID en O(log n).
+     *
+     * @param requestId ID de la solicitud
+     * @return true si estaba en la cola
+     */
+    public boolean remove(UUID requestId) {
+        Integer handle = handlesById.get(requestId);
+        if (handle == null) {
+            return false;
+        }
+        removeAt(positions[handle]);
+        return true;
+    }
+
+    /**
+     * Sustituye una solicitud de la cola y la recoloca en O(log n). Conserva
+     * su secuencia de llegada.
+     *
+     * @param updatedRequest Solicitud actualizada
+     * @return true si estaba en la cola
+     */
+    public boolean update(HelpRequest updatedRequest) {
+        Integer handle = handlesById.get(updatedRequest.getId());
+        if (handle == null) {
+            return false;
+        }
+
+        int position = positions[handle];
+        long oldKey = keys[position];
+        long newKey = packKey(updatedRequest.getPriority(), updatedRequest.getCreatedAt(), oldKey & SEQUENCE_MASK);
+        requests[handle] = updatedRequest;
+
+        if (newKey < oldKey) {
+            siftUp(position, newKey, handle);
+        } else {
+            siftDown(position, newKey, handle);
+        }
+        return true;
+    }
+
+    /**
+     * Busca una solicitud por su ID en O(1).
+     *
+     * @param requestId ID de la solicitud
+     * @return Solicitud o null si no está en la cola
+     */
+    public HelpRequest findById(UUID requestId) {
+        Integer handle = handlesById.get(requestId);
+        return handle != null ? requests[handle] : null;
+    }
+
+    public boolean contains(UUID requestId) {
+        return handlesById.containsKey(requestId);
+    }
+
+    /**
+     * Obtiene todas las solicitudes en el orden interno del montículo.
+     *
+     * @return Lista de solicitudes
+     */
+    public List<HelpRequest> getAllRequests() {
+        List<HelpRequest> all = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            all.add(requests[handles[i]]);
+        }
+        return all;
+    }
+
+    private int findBest(Predicate<HelpRequest> filter) {
+        if (isEmpty()) {
+            return -1;
+        }
+        if (filter.test(requests[handles[0]])) {
+            return 0;
+        }
+
+        int best = -1;
+        for (int i = 1; i < size; i++) {
+            if ((best < 0 || keys[i] < keys[best]) && filter.test(requests[handles[i]])) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    private HelpRequest removeAt(int position) {
+        int handle = handles[position];
+        HelpRequest removed = requests[handle];
+        handlesById.remove(removed.getId());
+        releaseHandle(handle);
+
+        int last = --size;
+        if (position < last) {
+            long lastKey = keys[last];
+            int lastHandle = handles[last];
+            // El último ocupa el hueco: flota si es menor que el padre, si no se hunde
+            if (position > 0 && lastKey < keys[(position - 1) / ARITY]) {
+                siftUp(position, lastKey, lastHandle);
+            } else {
+                siftDown(position, lastKey, lastHandle);
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Coloca la clave subiendo desde {@code position}: los padres mayores
+     * bajan un nivel y la clave se escribe una sola vez en su sitio.
+     */
+    private void siftUp(int position, long key, int handle) {
+        while (position > 0) {
+            int parent = (position - 1) / ARITY;
+            long parentKey = keys[parent];
+            if (parentKey <= key) {
+                break;
+            }
+            move(parent, position);
+            position = parent;
+        }
+        place(position, key, handle);
+    }
+
+    /**
+     * Coloca la clave bajando desde {@code position}: en cada nivel sube el
+     * menor de hasta cuatro hijos contiguos.
+     */
+    private void siftDown(int position, long key, int handle) {
+        while (true) {
+            int firstChild = position * ARITY + 1;
+            if (firstChild >= size) {
+                break;
+            }
+
+            int lastChild = Math.min(firstChild + ARITY, size);
+            int smallest = firstChild;
+            long smallestKey = keys[firstChild];
+            for (int child = firstChild + 1; child < lastChild; child++) {
+                if (keys[child] < smallestKey) {
+                    smallest = child;
+                    smallestKey = keys[child];
+                }
+            }
+
+            if (key <= smallestKey) {
+                break;
+            }
+            move(smallest, position);
+            position = smallest;
+        }
+        place(position, key, handle);
+    }
+
+    private void move(int from, int to) {
+        keys[to] = keys[from];
+        handles[to] = handles[from];
+        positions[handles[to]] = to;
+    }
+
+    private void place(int position, long key, int handle) {
+        keys[position] = key;
+        handles[position] = handle;
+        positions[handle] = position;
+    }
+
+    private int allocateHandle() {
+        if (freeCount > 0) {
+            return freeHandles[--freeCount];
+        }
+        if (nextHandle == requests.length) {
+            int capacity = nextHandle * 2;
+            requests = Arrays.copyOf(requests, capacity);
+            positions = Arrays.copyOf(positions, capacity);
+            freeHandles = Arrays.copyOf(freeHandles, capacity);
+        }
+        return nextHandle++;
+    }
+
+    private void releaseHandle(int handle) {
+        requests[handle] = null;
+        freeHandles[freeCount++] = handle;
+    }
+}
@@ -0,0 +1,159 @@
+package com.plataformaEducativa.proyectoestructuradatos.models.datastructure.HelpRequestSla;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import com.plataformaEducativa.proyectoestructuradatos.enums.HelpRequestPriority;
+import com.plataformaEducativa.proyectoestructuradatos.enums.HelpRequestSlaMetric;
+
+/**
+ * Histogramas HDR de latencias de las solicitudes de ayuda, uno por métrica,
+ * prioridad y tema. Los percentiles se calculan en memoria con precisión
+ * relativa fija (3 dígitos significativos) y coste independiente del número
+ * de muestras, sin agregar sobre la tabla.
+ *
+ * Cada serie graba en un {@link Recorder}, que no bloquea a quien registra
+ * aunque se esté leyendo a la vez; al leer, lo grabado desde la última
+ * lectura se suma al histograma acumulado de la serie.
+ *
+ * Los temas son texto libre, así que el número de series por tema está
+ * acotado: a partir de {@code maxTopics} temas distintos, los nuevos se
+ * agrupan en {@link #OTHER_TOPIC}.
+ */
+public final class HelpRequestSlaHistograms {
+
+    public static final String OTHER_TOPIC = "other";
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final int maxTopics;
+    private final ConcurrentMap<SeriesKey, LatencySeries> series = new ConcurrentHashMap<>();
+    private final Set<String> topics = ConcurrentHashMap.newKeySet();
+
+    public HelpRequestSlaHistograms(int maxTopics) {
+        this.maxTopics = maxTopics;
+    }
+
+    /**
+     * Registra una latencia.
+     *
+     * @param metric   Métrica
+     * @param priority Prioridad de la solicitud
+     * @param topic    Tema (se agrupa en {@link #OTHER_TOPIC} si se superó el límite)
+     * @param millis   Latencia en milisegundos (las negativas cuentan como 0)
+     * @return Serie en la que se registró
+     */
+    public LatencySeries record(HelpRequestSlaMetric metric, HelpRequestPriority priority, String topic,
+            long millis) {
+        LatencySeries target = series.computeIfAbsent(new SeriesKey(metric, priority, bucketTopic(topic)),
+                key -> new LatencySeries());
+        target.record(Math.max(0, millis));
+        return target;
+    }
+
+    /**
+     * Tema con el que se registra una muestra: el propio tema mientras no se
+     * supere el límite de temas distintos, {@link #OTHER_TOPIC} después.
+     */
+    public String bucketTopic(String topic) {
+        if (topic == null) {
+            return OTHER_TOPIC;
+        }
+        if (topics.contains(topic)) {
+            return topic;
+        }
+        // Con registros concurrentes el límite puede superarse por unos pocos temas
+        if (topics.size() < maxTopics) {
+            topics.add(topic);
+            return topic;
+        }
+        return OTHER_TOPIC;
+    }
+
+    /**
+     * Copia del acumulado de una métrica y prioridad sumando todos los temas.
+     */
+    public Histogram snapshot(HelpRequestSlaMetric metric, HelpRequestPriority priority) {
+        Histogram merged = new Histogram(SIGNIFICANT_DIGITS);
+        series.forEach((key, latencies) -> {
+            if (key.metric() == metric && key.priority() == priority) {
+                latencies.addTo(merged);
+            }
+        });
+        return merged;
+    }
+
+    /**
+     * Copia del acumulado de una métrica y prioridad para cada tema.
+     *
+     * @return Histogramas por tema, ordenados por nombre de tema
+     */
+    public Map<String, Histogram> snapshotByTopic(HelpRequestSlaMetric metric, HelpRequestPriority priority) {
+        Map<String, Histogram> byTopic = new TreeMap<>();
+        series.forEach((key, latencies) -> {
+            if (key.metric() == metric && key.priority() == priority) {
+                Histogram copy = new Histogram(SIGNIFICANT_DIGITS);
+                latencies.addTo(copy);
+                byTopic.put(key.topic(), copy);
+            }
+        });
+        return byTopic;
+    }
+
+    private record SeriesKey(HelpRequestSlaMetric metric, HelpRequestPriority priority, String topic) {
+    }
+
+    /**
+     * Latencias de una serie: grabación sin bloqueo y acumulado para lectura.
+     */
+    public static final class LatencySeries {
+        private final Recorder recorder = new Recorder(SIGNIFICANT_DIGITS);
+        private final Histogram total = new Histogram(SIGNIFICANT_DIGITS);
+        private Histogram interval;
+
+        void record(long millis) {
+            recorder.recordValue(millis);
+        }
+
+        public synchronized long getCount() {
+            collect();
+            return total.getTotalCount();
+        }
+
+        public synchronized double getMean() {
+            collect();
+            return total.getMean();
+        }
+
+        public synchronized long getMax() {
+            collect();
+            return total.getMaxValue();
+        }
+
+        /**
+         * @param percentile Percentil entre 0 y 100
+         * @return Latencia en milisegundos (0 si no hay muestras)
+         */
+        public synchronized long getValueAtPercentile(double percentile) {
+            collect();
+            return total.getValueAtPercentile(percentile);
+        }
+
+        synchronized void addTo(Histogram target) {
+            collect();
+            target.add(total);
+        }
+
+        private void collect() {
+            // Reutiliza el histograma del intervalo anterior para no reservar uno por lectura
+            interval = recorder.getIntervalHistogram(interval);
+            total.add(interval);
+        }
+    }
+}
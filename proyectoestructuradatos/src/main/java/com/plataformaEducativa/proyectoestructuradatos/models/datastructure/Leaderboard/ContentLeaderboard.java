@@ -0,0 +1,257 @@
+package com.plataformaEducativa.proyectoestructuradatos.models.datastructure.Leaderboard;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Clasificación de contenidos implementada como skip list indexable.
+ * Los contenidos se ordenan por puntuación principal descendente, después por
+ * puntuación secundaria descendente y por último por ID. Cada enlace guarda
+ * cuántos nodos salta (span), lo que permite localizar la posición k en
+ * O(log n) y devolver cualquier página en O(log n + tamaño de página).
+ * Esta clase no es segura para hilos.
+ */
+public class ContentLeaderboard {
+
+    private static final int MAX_LEVEL = 32;
+    private static final double LEVEL_PROBABILITY = 0.25;
+
+    private final LeaderboardNode head;
+    private final Map<UUID, LeaderboardNode> nodes;
+    private int level;
+    private int size;
+
+    public ContentLeaderboard() {
+        this.head = new LeaderboardNode(null, 0, 0, MAX_LEVEL);
+        this.nodes = new HashMap<>();
+        this.level = 1;
+        this.size = 0;
+    }
+
+    /**
+     * Inserta un contenido o actualiza su puntuación.
+     *
+     * @param contentId ID del contenido
+     * @param primary   Puntuación principal (p. ej. media de valoraciones o visualizaciones)
+     * @param secondary Puntuación de desempate (p. ej. número de valoraciones)
+     */
+    public void upsert(UUID contentId, double primary, long secondary) {
+        LeaderboardNode existing = nodes.get(contentId);
+        if (existing != null) {
+            if (existing.primary == primary && existing.secondary == secondary) {
+                return;
+            }
+            remove(contentId);
+        }
+        insert(contentId, primary, secondary);
+    }
+
+    /**
+     * Suma una cantidad a la puntuación principal de un contenido ya presente.
+     *
+     * @param contentId ID del contenido
+     * @param delta     Cantidad a sumar
+     * @return true si el contenido estaba en la clasificación
+     */
+    public boolean increment(UUID contentId, double delta) {
+        LeaderboardNode existing = nodes.get(contentId);
+        if (existing == null) {
+            return false;
+        }
+        upsert(contentId, existing.primary + delta, existing.secondary);
+        return true;
+    }
+
+    /**
+     * Elimina un contenido de la clasificación.
+     *
+     * @param contentId ID del contenido
+     * @return true si el contenido estaba en la clasificación
+     */
+    public boolean remove(UUID contentId) {
+        LeaderboardNode target = nodes.remove(contentId);
+        if (target == null) {
+            return false;
+        }
+
+        LeaderboardNode[] update = new LeaderboardNode[MAX_LEVEL];
+        LeaderboardNode x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && precedes(x.next[i], target.primary, target.secondary, target.contentId)) {
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+
+        for (int i = 0; i < level; i++) {
+            if (update[i].next[i] == target) {
+                update[i].span[i] += target.span[i] - 1;
+                update[i].next[i] = target.next[i];
+            } else {
+                update[i].span[i]--;
+            }
+        }
+
+        while (level > 1 && head.next[level - 1] == null) {
+            level--;
+        }
+        size--;
+        return true;
+    }
+
+    /**
+     * Devuelve los IDs de una porción de la clasificación.
+     *
+     * @param offset Posición inicial (0 es el primero)
+     * @param limit  Número máximo de elementos
+     * @return IDs en orden de clasificación
+     */
+    public List<UUID> range(int offset, int limit) {
+        List<UUID> result = new ArrayList<>(Math.max(0, Math.min(limit, size - offset)));
+        if (offset < 0 || offset >= size || limit <= 0) {
+            return result;
+        }
+
+        // Bajar por los niveles hasta el nodo de rango offset + 1
+        int target = offset + 1;
+        int traversed = 0;
+        LeaderboardNode x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && traversed + x.span[i] <= target) {
+                traversed += x.span[i];
+                x = x.next[i];
+            }
+        }
+
+        while (x != null && result.size() < limit) {
+            result.add(x.contentId);
+            x = x.next[0];
+        }
+        return result;
+    }
+
+    /**
+     * Devuelve la posición (0 es el primero) de un contenido, o -1 si no está.
+     *
+     * @param contentId ID del contenido
+     * @return Posición en la clasificación
+     */
+    public int rankOf(UUID contentId) {
+        LeaderboardNode target = nodes.get(contentId);
+        if (target == null) {
+            return -1;
+        }
+
+        int rank = 0;
+        LeaderboardNode x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && precedes(x.next[i], target.primary, target.secondary, target.contentId)) {
+                rank += x.span[i];
+                x = x.next[i];
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * Devuelve la puntuación principal de un contenido, o 0 si no está.
+     *
+     * @param contentId ID del contenido
+     * @return Puntuación principal
+     */
+    public double primaryOf(UUID contentId) {
+        LeaderboardNode node = nodes.get(contentId);
+        return node != null ? node.primary : 0;
+    }
+
+    public boolean contains(UUID contentId) {
+        return nodes.containsKey(contentId);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void insert(UUID contentId, double primary, long secondary) {
+        LeaderboardNode[] update = new LeaderboardNode[MAX_LEVEL];
+        int[] rank = new int[MAX_LEVEL];
+        LeaderboardNode x = head;
+
+        for (int i = level - 1; i >= 0; i--) {
+            rank[i] = i == level - 1 ? 0 : rank[i + 1];
+            while (x.next[i] != null && precedes(x.next[i], primary, secondary, contentId)) {
+                rank[i] += x.span[i];
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+
+        int nodeLevel = randomLevel();
+        if (nodeLevel > level) {
+            for (int i = level; i < nodeLevel; i++) {
+                rank[i] = 0;
+                update[i] = head;
+                update[i].span[i] = size;
+            }
+            level = nodeLevel;
+        }
+
+        LeaderboardNode node = new LeaderboardNode(contentId, primary, secondary, nodeLevel);
+        for (int i = 0; i < nodeLevel; i++) {
+            node.next[i] = update[i].next[i];
+            update[i].next[i] = node;
+
+            node.span[i] = update[i].span[i] - (rank[0] - rank[i]);
+            update[i].span[i] = (rank[0] - rank[i]) + 1;
+        }
+
+        for (int i = nodeLevel; i < level; i++) {
+            update[i].span[i]++;
+        }
+
+        nodes.put(contentId, node);
+        size++;
+    }
+
+    /**
+     * Indica si el nodo va antes que la clave dada en la clasificación.
+     */
+    private static boolean precedes(LeaderboardNode node, double primary, long secondary, UUID contentId) {
+        int comparison = Double.compare(node.primary, primary);
+        if (comparison != 0) {
+            return comparison > 0;
+        }
+        if (node.secondary != secondary) {
+            return node.secondary > secondary;
+        }
+        return node.contentId.compareTo(contentId) > 0;
+    }
+
+    private static int randomLevel() {
+        int nodeLevel = 1;
+        while (nodeLevel < MAX_LEVEL && ThreadLocalRandom.current().nextDouble() < LEVEL_PROBABILITY) {
+            nodeLevel++;
+        }
+        return nodeLevel;
+    }
+
+    private static final class LeaderboardNode {
+        private final UUID contentId;
+        private final double primary;
+        private final long secondary;
+        private final LeaderboardNode[] next;
+        private final int[] span;
+
+        private LeaderboardNode(UUID contentId, double primary, long secondary, int level) {
+            this.contentId = contentId;
+            this.primary = primary;
+            this.secondary = secondary;
+            this.next = new LeaderboardNode[level];
+            this.span = new int[level];
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.plataformaEducativa.proyectoestructuradatos.models.datastructure.QueryCache;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Caché acotada con expiración (TTL) y desalojo LRU en la que cada entrada
+ * declara de qué depende (una etiqueta, un autor, una clasificación...).
+ * Invalidar una dependencia elimina solo las entradas que la declararon.
+ *
+ * Las entradas viven en un {@link LinkedHashMap} en orden de acceso, así que
+ * la más antigua es siempre la menos usada recientemente; un índice inverso
+ * dependencia → claves permite invalidar sin recorrer la caché. Las entradas
+ * caducadas se descartan al leerlas o al llegar al final de la lista LRU.
+ *
+ * Para no guardar un resultado calculado antes de una invalidación, quien
+ * calcula un valor toma {@link #generation()} antes de empezar y lo pasa a
+ * {@link #put}: si hubo alguna invalidación entretanto, el valor se descarta.
+ *
+ * Todas las operaciones son O(1) (más el número de claves invalidadas) y se
+ * serializan con un único cerrojo.
+ */
+public class DependencyTrackingCache<K, V> {
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final LinkedHashMap<K, CacheEntry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Set<K>> keysByDependency = new HashMap<>();
+
+    private long generation;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+    private long invalidations;
+
+    /**
+     * @param maxEntries Número máximo de entradas
+     * @param ttlNanos   Tiempo de vida de cada entrada, en nanosegundos
+     * @param clock      Reloj monotónico en nanosegundos (System::nanoTime)
+     */
+    public DependencyTrackingCache(int maxEntries, long ttlNanos, LongSupplier clock) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Max entries must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttlNanos;
+        this.clock = clock;
+    }
+
+    /**
+     * Devuelve el valor de la clave si existe y no ha caducado.
+     *
+     * @param key Clave de la consulta
+     * @return Valor guardado o null
+     */
+    public V get(K key) {
+        lock.lock();
+        try {
+            CacheEntry<V> entry = entries.get(key);
+            if (entry == null) {
+                misses++;
+                return null;
+            }
+            if (clock.getAsLong() - entry.createdAt >= ttlNanos) {
+                removeEntry(key);
+                expirations++;
+                misses++;
+                return null;
+            }
+            hits++;
+            return entry.value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Generación actual: aumenta con cada invalidación.
+     */
+    public long generation() {
+        lock.lock();
+        try {
+            return generation;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Guarda un valor con sus dependencias, salvo que se haya invalidado algo
+     * desde que se empezó a calcular.
+     *
+     * @param key                Clave de la consulta
+     * @param value              Valor calculado
+     * @param dependencies       Dependencias del valor
+     * @param computedGeneration Generación leída antes de calcular el valor
+     * @return true si el valor se ha guardado
+     */
+    public boolean put(K key, V value, Collection<String> dependencies, long computedGeneration) {
+        lock.lock();
+        try {
+            if (computedGeneration != generation) {
+                return false;
+            }
+
+            removeEntry(key);
+            Set<String> ownDependencies = new HashSet<>(dependencies);
+            entries.put(key, new CacheEntry<>(value, ownDependencies, clock.getAsLong()));
+            for (String dependency : ownDependencies) {
+                keysByDependency.computeIfAbsent(dependency, d -> new HashSet<>()).add(key);
+            }
+
+            Iterator<Map.Entry<K, CacheEntry<V>>> eldest = entries.entrySet().iterator();
+            while (entries.size() > maxEntries) {
+                Map.Entry<K, CacheEntry<V>> evicted = eldest.next();
+                eldest.remove();
+                unlink(evicted.getKey(), evicted.getValue());
+                evictions++;
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Elimina las entradas que dependen de alguna de las dependencias dadas.
+     *
+     * @param dependencies Dependencias modificadas
+     */
+    public void invalidate(Collection<String> dependencies) {
+        lock.lock();
+        try {
+            generation++;
+            for (String dependency : dependencies) {
+                Set<K> keys = keysByDependency.remove(dependency);
+                if (keys == null) {
+                    continue;
+                }
+                for (K key : keys) {
+                    if (removeEntry(key)) {
+                        invalidations++;
+                    }
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Vacía la caché.
+     */
+    public void clear() {
+        lock.lock();
+        try {
+            generation++;
+            invalidations += entries.size();
+            entries.clear();
+            keysByDependency.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public CacheStatistics statistics() {
+        lock.lock();
+        try {
+            return new CacheStatistics(entries.size(), maxEntries, hits, misses, evictions, expirations,
+                    invalidations);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean removeEntry(K key) {
+        CacheEntry<V> entry = entries.remove(key);
+        if (entry == null) {
+            return false;
+        }
+        unlink(key, entry);
+        return true;
+    }
+
+    private void unlink(K key, CacheEntry<V> entry) {
+        for (String dependency : entry.dependencies) {
+            Set<K> keys = keysByDependency.get(dependency);
+            if (keys != null) {
+                keys.remove(key);
+                if (keys.isEmpty()) {
+                    keysByDependency.remove(dependency);
+                }
+            }
+        }
+    }
+
+    private static final class CacheEntry<V> {
+        private final V value;
+        private final Set<String> dependencies;
+        private final long createdAt;
+
+        private CacheEntry(V value, Set<String> dependencies, long createdAt) {
+            this.value = value;
+            this.dependencies = dependencies;
+            this.createdAt = createdAt;
+        }
+    }
+}
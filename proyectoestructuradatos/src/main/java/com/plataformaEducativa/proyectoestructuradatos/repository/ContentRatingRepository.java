@@ -26,6 +26,12 @@ public interface ContentRatingRepository extends JpaRepository<ContentRatingEnti
     @Query("SELECT COUNT(r) FROM ContentRatingEntity r WHERE r.content.id = :contentId")
     Integer countRatingsByContentId(@Param("contentId") UUID contentId);
 
+    @Query("SELECT r.content.id, r.student.id, r.rating FROM ContentRatingEntity r")
+    List<Object[]> findAllRatingTriples();
+
+    @Query("SELECT r.content.id, r.rating FROM ContentRatingEntity r WHERE r.student.id = :studentId")
+    List<Object[]> findRatingPairsByStudentId(@Param("studentId") UUID studentId);
+
     @Query(value = "SELECT cr.* FROM content_ratings cr " +
             "JOIN contents c ON cr.content_id = c.id " +
             "WHERE c.author_id = :authorId " +
@@ -3,18 +3,55 @@ package com.plataformaEducativa.proyectoestructuradatos.repository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.plataformaEducativa.proyectoestructuradatos.entity.ContentEntity;
 import com.plataformaEducativa.proyectoestructuradatos.enums.ContentType;
+import com.plataformaEducativa.proyectoestructuradatos.repository.projection.ContentListingRow;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Repository
 public interface ContentRepository extends JpaRepository<ContentEntity, UUID> {
 
+    // Listados por proyección: contenido y autor en una sola consulta, sin N+1 sobre el autor
+    String LISTING_SELECT = "SELECT new com.plataformaEducativa.proyectoestructuradatos.repository.projection.ContentListingRow(" +
+            "c.id, c.title, c.description, c.contentUrl, c.contentType, a.id, a.username, " +
+            "c.averageRating, c.ratingCount, c.viewCount, c.createdAt, c.updatedAt) " +
+            "FROM ContentEntity c JOIN c.author a";
+
+    @Query(value = LISTING_SELECT,
+            countQuery = "SELECT COUNT(c) FROM ContentEntity c")
+    Page<ContentListingRow> findAllListings(Pageable pageable);
+
+    @Query(value = LISTING_SELECT + " WHERE a.id = :authorId",
+            countQuery = "SELECT COUNT(c) FROM ContentEntity c WHERE c.author.id = :authorId")
+    Page<ContentListingRow> findListingsByAuthorId(@Param("authorId") UUID authorId, Pageable pageable);
+
+    @Query(value = LISTING_SELECT + " WHERE :tag MEMBER OF c.tags",
+            countQuery = "SELECT COUNT(c) FROM ContentEntity c WHERE :tag MEMBER OF c.tags")
+    Page<ContentListingRow> findListingsByTag(@Param("tag") String tag, Pageable pageable);
+
+    @Query(value = LISTING_SELECT + " ORDER BY c.createdAt DESC",
+            countQuery = "SELECT COUNT(c) FROM ContentEntity c")
+    Page<ContentListingRow> findRecentListings(Pageable pageable);
+
+    /**
+     * Etiquetas de varios contenidos en una sola consulta (pares ID, etiqueta).
+     */
+    @Query("SELECT c.id, t FROM ContentEntity c JOIN c.tags t WHERE c.id IN :ids")
+    List<Object[]> findTagsByContentIds(@Param("ids") Collection<UUID> ids);
+
     Page<ContentEntity> findByAuthorId(UUID authorId, Pageable pageable);
 
     Page<ContentEntity> findByContentType(ContentType contentType, Pageable pageable);
@@ -22,11 +59,75 @@ public interface ContentRepository extends JpaRepository<ContentEntity, UUID> {
     @Query("SELECT c FROM ContentEntity c WHERE :tag MEMBER OF c.tags")
     Page<ContentEntity> findByTag(@Param("tag") String tag, Pageable pageable);
 
-    @Query("SELECT c FROM ContentEntity c WHERE " +
-            "LOWER(c.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-            "LOWER(c.description) LIKE LOWER(CONCAT('%', :keyword, '%'))")
+    /**
+     * Búsqueda por palabra clave en base de datos. ILIKE sobre las columnas sin
+     * envolver en LOWER() permite usar los índices pg_trgm de V1__search_trigram_indexes.
+     */
+    @Query(value = "SELECT c.* FROM contents c " +
+            "WHERE c.title ILIKE CONCAT('%', :keyword, '%') " +
+            "OR c.description ILIKE CONCAT('%', :keyword, '%') " +
+            "ORDER BY c.created_at DESC",
+            countQuery = "SELECT COUNT(*) FROM contents c " +
+                    "WHERE c.title ILIKE CONCAT('%', :keyword, '%') " +
+                    "OR c.description ILIKE CONCAT('%', :keyword, '%')",
+            nativeQuery = true)
     Page<ContentEntity> searchByKeyword(@Param("keyword") String keyword, Pageable pageable);
 
+    /**
+     * Aplica una variación a los agregados de valoración en una sola sentencia.
+     * La media se recalcula a partir de la suma y el número de votos, sin
+     * recorrer las valoraciones del contenido.
+     *
+     * @param contentId  ID del contenido
+     * @param sumDelta   Variación de la suma de valoraciones
+     * @param countDelta Variación del número de valoraciones (1 si es un voto nuevo, 0 si se edita)
+     * @return Número de filas actualizadas
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ContentEntity c SET " +
+            "c.ratingSum = COALESCE(c.ratingSum, 0) + :sumDelta, " +
+            "c.ratingCount = COALESCE(c.ratingCount, 0) + :countDelta, " +
+            "c.averageRating = (COALESCE(c.ratingSum, 0) + :sumDelta) * 1.0 / (COALESCE(c.ratingCount, 0) + :countDelta) " +
+            "WHERE c.id = :contentId")
+    int applyRatingDelta(@Param("contentId") UUID contentId,
+            @Param("sumDelta") long sumDelta,
+            @Param("countDelta") int countDelta);
+
+    @Query("SELECT c.id, c.title, c.description FROM ContentEntity c")
+    List<Object[]> findAllSearchableFields();
+
+    @Query("SELECT c.id, t FROM ContentEntity c JOIN c.tags t")
+    List<Object[]> findAllContentTags();
+
+    @Query("SELECT c.id, c.averageRating, c.ratingCount, c.viewCount FROM ContentEntity c")
+    List<Object[]> findAllRankingScores();
+
+    @Query("SELECT c.id, c.title FROM ContentEntity c")
+    List<Object[]> findAllTitles();
+
+    @Query("SELECT c.id, c.author.id FROM ContentEntity c")
+    List<Object[]> findAllContentAuthors();
+
+    @Query("SELECT c.id, c.title, c.author.username FROM ContentEntity c")
+    List<Object[]> findAllReviewFields();
+
+    /**
+     * Carga los contenidos indicados conservando el orden de la lista de IDs
+     * (relevancia, posición en una clasificación...). Los IDs que ya no
+     * existen se omiten.
+     */
+    default List<ContentEntity> findAllByIdInOrder(List<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<UUID, ContentEntity> entities = findAllById(ids).stream()
+                .collect(Collectors.toMap(ContentEntity::getId, Function.identity()));
+        return ids.stream()
+                .map(entities::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
     @Query("SELECT c FROM ContentEntity c ORDER BY c.averageRating DESC, c.ratingCount DESC")
     Page<ContentEntity> findTopRated(Pageable pageable);
 
@@ -36,6 +137,38 @@ public interface ContentRepository extends JpaRepository<ContentEntity, UUID> {
     @Query("SELECT c FROM ContentEntity c ORDER BY c.createdAt DESC")
     Page<ContentEntity> findRecentlyAdded(Pageable pageable);
 
+    // Paginación por clave (keyset): sin OFFSET ni COUNT, apoyada en los índices de V2__content_keyset_indexes
+
+    @Query(value = "SELECT c.* FROM contents c " +
+            "ORDER BY c.created_at DESC, c.id DESC LIMIT :limit", nativeQuery = true)
+    List<ContentEntity> findRecentlyAddedFirst(@Param("limit") int limit);
+
+    @Query(value = "SELECT c.* FROM contents c " +
+            "WHERE (c.created_at, c.id) < (:createdAt, :id) " +
+            "ORDER BY c.created_at DESC, c.id DESC LIMIT :limit", nativeQuery = true)
+    List<ContentEntity> findRecentlyAddedAfter(@Param("createdAt") LocalDateTime createdAt,
+            @Param("id") UUID id, @Param("limit") int limit);
+
+    @Query(value = "SELECT c.* FROM contents c " +
+            "ORDER BY c.average_rating DESC, c.rating_count DESC, c.id DESC LIMIT :limit", nativeQuery = true)
+    List<ContentEntity> findTopRatedFirst(@Param("limit") int limit);
+
+    @Query(value = "SELECT c.* FROM contents c " +
+            "WHERE (c.average_rating, c.rating_count, c.id) < (:averageRating, :ratingCount, :id) " +
+            "ORDER BY c.average_rating DESC, c.rating_count DESC, c.id DESC LIMIT :limit", nativeQuery = true)
+    List<ContentEntity> findTopRatedAfter(@Param("averageRating") double averageRating,
+            @Param("ratingCount") int ratingCount, @Param("id") UUID id, @Param("limit") int limit);
+
+    @Query(value = "SELECT c.* FROM contents c " +
+            "ORDER BY c.view_count DESC, c.id DESC LIMIT :limit", nativeQuery = true)
+    List<ContentEntity> findMostViewedFirst(@Param("limit") int limit);
+
+    @Query(value = "SELECT c.* FROM contents c " +
+            "WHERE (c.view_count, c.id) < (:viewCount, :id) " +
+            "ORDER BY c.view_count DESC, c.id DESC LIMIT :limit", nativeQuery = true)
+    List<ContentEntity> findMostViewedAfter(@Param("viewCount") int viewCount,
+            @Param("id") UUID id, @Param("limit") int limit);
+
     @Query(value = "SELECT c.* FROM contents c " +
             "JOIN student_study_groups ssg ON c.author_id = ssg.student_id " +
             "WHERE ssg.group_id IN (SELECT group_id FROM student_study_groups WHERE student_id = :studentId) " +
@@ -1,13 +1,16 @@
 package com.plataformaEducativa.proyectoestructuradatos.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.plataformaEducativa.proyectoestructuradatos.entity.HelpRequestEntity;
+import com.plataformaEducativa.proyectoestructuradatos.entity.StudentEntity;
 import com.plataformaEducativa.proyectoestructuradatos.enums.HelpRequestPriority;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -25,16 +28,48 @@ public interface HelpRequestRepository extends JpaRepository<HelpRequestEntity,
 
         List<HelpRequestEntity> findByHelperId(UUID helperId);
 
+        /**
+         * Asigna el ayudante solo si la solicitud sigue abierta. La condición
+         * sobre helper_id y resolved se evalúa en la propia sentencia, de modo
+         * que de dos asignaciones concurrentes solo una actualiza la fila. La
+         * versión se incrementa para que falle cualquier escritura posterior
+         * hecha sobre una copia leída antes de la asignación.
+         *
+         * @param id     ID de la solicitud
+         * @param helper Estudiante que ofrece ayuda
+         * @param now    Fecha de actualización
+         * @return 1 si se asignó, 0 si ya tenía ayudante, estaba resuelta o no existe
+         */
+        @Modifying(flushAutomatically = true, clearAutomatically = true)
+        @Query("UPDATE HelpRequestEntity h SET h.helper = :helper, h.updatedAt = :now, " +
+                        "h.version = h.version + 1 " +
+                        "WHERE h.id = :id AND h.helper IS NULL AND h.resolved = false")
+        int assignHelperIfOpen(@Param("id") UUID id, @Param("helper") StudentEntity helper,
+                        @Param("now") LocalDateTime now);
+
+        /**
+         * Número de solicitudes sin resolver asignadas a cada ayudante.
+         *
+         * @return Pares (ID del ayudante, número de solicitudes)
+         */
+        @Query("SELECT h.helper.id, COUNT(h) FROM HelpRequestEntity h " +
+                        "WHERE h.resolved = false AND h.helper IS NOT NULL GROUP BY h.helper.id")
+        List<Object[]> countActiveAssignmentsByHelper();
+
         List<HelpRequestEntity> findByResolvedFalseOrderByPriorityDescCreatedAtAsc();
 
-        List<HelpRequestEntity> findByTopicAndResolvedFalse(String topic);
+        List<HelpRequestEntity> findByTopicAndResolvedFalseAndHelperIsNull(String topic);
 
         List<HelpRequestEntity> findByPriorityAndResolvedFalse(HelpRequestPriority priority);
 
-        @Query("SELECT hr FROM HelpRequestEntity hr WHERE hr.resolved = false AND " +
-                        "(LOWER(hr.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-                        "LOWER(hr.description) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-                        "LOWER(hr.topic) LIKE LOWER(CONCAT('%', :keyword, '%')))")
+        /**
+         * Busca solicitudes abiertas por palabra clave. Usa ILIKE sobre las columnas
+         * para aprovechar los índices parciales pg_trgm (WHERE resolved = false).
+         */
+        @Query(value = "SELECT hr.* FROM help_requests hr WHERE hr.resolved = false AND " +
+                        "(hr.title ILIKE CONCAT('%', :keyword, '%') OR " +
+                        "hr.description ILIKE CONCAT('%', :keyword, '%') OR " +
+                        "hr.topic ILIKE CONCAT('%', :keyword, '%'))", nativeQuery = true)
         List<HelpRequestEntity> searchActiveRequestsByKeyword(@Param("keyword") String keyword);
 
         @Query(value = "SELECT hr.* FROM help_requests hr " +
@@ -28,6 +28,12 @@ public interface StudentConnectionRepository extends JpaRepository<StudentConnec
         @Query("SELECT sc FROM StudentConnectionEntity sc ORDER BY sc.connectionStrength DESC")
         List<StudentConnectionEntity> findStrongestConnections();
 
+        /**
+         * Triples (ID de A, ID de B, fuerza) de todas las conexiones, sin cargar las entidades.
+         */
+        @Query("SELECT sc.studentA.id, sc.studentB.id, sc.connectionStrength FROM StudentConnectionEntity sc")
+        List<Object[]> findAllConnectionStrengths();
+
         @Query(value = "SELECT u1.username AS student_a, u2.username AS student_b, " +
                         "sc.connection_strength FROM student_connections sc " +
                         "JOIN users u1 ON sc.student_a_id = u1.id " +
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -15,9 +16,20 @@ public interface StudentRepository extends JpaRepository<StudentEntity, UUID> {
 
     Optional<StudentEntity> findByUsername(String username);
 
+    List<StudentEntity> findByUsernameIn(Collection<String> usernames);
+
     @Query("SELECT s FROM StudentEntity s WHERE :interest MEMBER OF s.academicInterests")
     List<StudentEntity> findByAcademicInterest(@Param("interest") String interest);
 
+    @Query("SELECT s.id FROM StudentEntity s WHERE s.active = true")
+    List<UUID> findActiveStudentIds();
+
+    /**
+     * Pares (ID de estudiante, interés) de todos los estudiantes, sin cargar las entidades.
+     */
+    @Query("SELECT s.id, i FROM StudentEntity s JOIN s.academicInterests i")
+    List<Object[]> findAllStudentInterests();
+
     @Query("SELECT s FROM StudentEntity s WHERE s.fieldOfStudy = :field")
     List<StudentEntity> findByFieldOfStudy(@Param("field") String field);
 
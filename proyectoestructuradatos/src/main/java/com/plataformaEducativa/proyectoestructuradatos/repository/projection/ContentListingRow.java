@@ -0,0 +1,26 @@
+package com.plataformaEducativa.proyectoestructuradatos.repository.projection;
+
+import com.plataformaEducativa.proyectoestructuradatos.enums.ContentType;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Fila de un listado de contenidos: columnas del contenido y de su autor
+ * leídas en la misma consulta, sin cargar la entidad ni el proxy del autor.
+ * Las etiquetas se cargan aparte, en una sola consulta por página.
+ */
+public record ContentListingRow(
+        UUID id,
+        String title,
+        String description,
+        String contentUrl,
+        ContentType contentType,
+        UUID authorId,
+        String authorUsername,
+        Double averageRating,
+        Integer ratingCount,
+        Integer viewCount,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+}
@@ -20,6 +20,7 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.http.HttpMethod;
+import jakarta.servlet.DispatcherType;
 import java.util.Arrays;
 
 @Configuration
@@ -42,10 +43,14 @@ public class SecurityConfig {
                         .requestMatchers("/auth/**", "/auth/register", "/auth/login").permitAll()
                         .requestMatchers("/public/**").permitAll()
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**").permitAll()
+                        // Despachos asíncronos (SSE): la petición original ya se autorizó
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         // Permitir OPTIONS para CORS preflight
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                         // Rutas específicas por rol
                         .requestMatchers("/moderators/**").hasRole("MODERATOR")
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("MODERATOR")
                         // Rutas de API que requieren autenticación
                         .requestMatchers("/api/v1/**").authenticated()
                         // Todo lo demás requiere autenticación
@@ -0,0 +1,63 @@
+package com.plataformaEducativa.proyectoestructuradatos.service;
+
+import com.plataformaEducativa.proyectoestructuradatos.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.StringJoiner;
+
+/**
+ * Codifica y decodifica los cursores opacos de la paginación por clave
+ * (keyset). Un cursor guarda el tipo de listado y los valores de la clave de
+ * ordenación del último elemento devuelto.
+ */
+final class ContentCursorCodec {
+
+    static final String RECENT = "recent";
+    static final String TOP_RATED = "top-rated";
+    static final String MOST_VIEWED = "most-viewed";
+    static final String ALPHABETICAL = "alphabetical";
+
+    private static final String SEPARATOR = "|";
+
+    private ContentCursorCodec() {
+    }
+
+    static String encode(String kind, Object... values) {
+        StringJoiner joiner = new StringJoiner(SEPARATOR);
+        joiner.add(kind);
+        for (Object value : values) {
+            joiner.add(String.valueOf(value));
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(joiner.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica un cursor y comprueba que corresponde al listado pedido.
+     *
+     * @param cursor         Cursor recibido del cliente
+     * @param kind           Tipo de listado esperado
+     * @param expectedValues Número de valores de la clave
+     * @return Valores de la clave, sin el tipo
+     * @throws InvalidCursorException si el cursor está mal formado o es de otro listado
+     */
+    static String[] decode(String cursor, String kind, int expectedValues) {
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Malformed cursor");
+        }
+
+        // El último valor puede contener el separador (p. ej. un título)
+        String[] parts = decoded.split("\\|", expectedValues + 1);
+        if (parts.length != expectedValues + 1 || !parts[0].equals(kind)) {
+            throw new InvalidCursorException("Cursor does not belong to the " + kind + " listing");
+        }
+
+        String[] values = new String[expectedValues];
+        System.arraycopy(parts, 1, values, 0, expectedValues);
+        return values;
+    }
+}
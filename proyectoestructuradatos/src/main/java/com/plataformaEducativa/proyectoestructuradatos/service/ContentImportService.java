@@ -0,0 +1,316 @@
+package com.plataformaEducativa.proyectoestructuradatos.service;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.plataformaEducativa.proyectoestructuradatos.dto.ContentDto;
+import com.plataformaEducativa.proyectoestructuradatos.dto.ContentImportReportDto;
+import com.plataformaEducativa.proyectoestructuradatos.dto.ContentImportResultDto;
+import com.plataformaEducativa.proyectoestructuradatos.entity.ContentEntity;
+import com.plataformaEducativa.proyectoestructuradatos.entity.StudentEntity;
+import com.plataformaEducativa.proyectoestructuradatos.repository.StudentRepository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Importación masiva de contenidos. El cuerpo (NDJSON o un array JSON) se lee
+ * registro a registro con el parser en streaming de Jackson, de modo que nunca
+ * está entero en memoria. Los registros válidos se agrupan en bloques: por
+ * cada bloque se resuelven los autores con una consulta y se insertan
+ * contenidos y etiquetas con JDBC por lotes en una única transacción.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ContentImportService {
+
+    private static final int CHUNK_SIZE = 500;
+
+    private static final String INSERT_CONTENT_SQL = "INSERT INTO contents " +
+            "(id, title, description, content_url, content_type, author_id, " +
+            "average_rating, rating_count, rating_sum, view_count, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, 0, 0, 0, 0, ?, ?)";
+
+    private static final String INSERT_TAG_SQL = "INSERT INTO content_tags (content_id, tag) VALUES (?, ?)";
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final StudentRepository studentRepository;
+    private final ContentSearchService contentSearchService;
+    private final ContentLeaderboardService leaderboardService;
+    private final ContentRecommendationService recommendationService;
+    private final ContentTitleIndex contentTitleIndex;
+    private final ContentQueryCache queryCache;
+
+    /**
+     * Importa los contenidos del cuerpo de la petición. Los estudiantes solo
+     * pueden importar contenidos propios (se ignora authorId); los moderadores
+     * deben indicar el autor de cada registro (authorId o authorUsername).
+     *
+     * @param input Cuerpo de la petición
+     * @return Resultado por registro, en el orden del cuerpo
+     * @throws IOException si falla la lectura del cuerpo
+     */
+    public ContentImportReportDto importContents(InputStream input) throws IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String currentUsername = authentication.getName();
+        boolean isModerator = authentication.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_MODERATOR"));
+
+        List<ContentImportResultDto> results = new ArrayList<>();
+        List<ImportRecord> chunk = new ArrayList<>(CHUNK_SIZE);
+        int index = 0;
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(input)) {
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_ARRAY) {
+                token = parser.nextToken();
+            }
+
+            // NDJSON: Jackson lee valores raíz consecutivos separados por saltos de línea
+            while (token != null && token != JsonToken.END_ARRAY) {
+                int recordIndex = index++;
+                ContentDto record;
+
+                try {
+                    JsonNode node = parser.readValueAsTree();
+                    record = objectMapper.treeToValue(node, ContentDto.class);
+                } catch (JsonParseException e) {
+                    // A syntax error leaves the parser in an unknown position: stop reading
+                    results.add(failed(recordIndex, "Malformed JSON: " + e.getOriginalMessage()));
+                    break;
+                } catch (JsonProcessingException e) {
+                    results.add(failed(recordIndex, "Invalid record: " + e.getOriginalMessage()));
+                    token = parser.nextToken();
+                    continue;
+                }
+
+                if (record == null) {
+                    // A JSON null element has nothing to validate
+                    results.add(failed(recordIndex, "Invalid record"));
+                    token = parser.nextToken();
+                    continue;
+                }
+
+                String error = validate(record, currentUsername, isModerator);
+                if (error != null) {
+                    results.add(failed(recordIndex, error));
+                } else {
+                    // Moderators name the author; students always import as themselves
+                    UUID authorId = isModerator ? record.getAuthorId() : null;
+                    String authorUsername = !isModerator ? currentUsername
+                            : authorId == null ? record.getAuthorUsername() : null;
+                    chunk.add(new ImportRecord(recordIndex, record, authorId, authorUsername));
+                    if (chunk.size() == CHUNK_SIZE) {
+                        results.addAll(importChunk(chunk));
+                        chunk = new ArrayList<>(CHUNK_SIZE);
+                    }
+                }
+
+                token = parser.nextToken();
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            results.addAll(importChunk(chunk));
+        }
+
+        results.sort(Comparator.comparingInt(ContentImportResultDto::getIndex));
+        int imported = (int) results.stream().filter(ContentImportResultDto::isImported).count();
+
+        log.info("Bulk import by {}: {} records, {} imported", currentUsername, results.size(), imported);
+
+        return ContentImportReportDto.builder()
+                .total(results.size())
+                .imported(imported)
+                .failed(results.size() - imported)
+                .results(results)
+                .build();
+    }
+
+    private String validate(ContentDto record, String currentUsername, boolean isModerator) {
+        Set<ConstraintViolation<ContentDto>> violations = validator.validate(record);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+
+        if (isModerator) {
+            if (record.getAuthorId() == null && record.getAuthorUsername() == null) {
+                return "Author is required";
+            }
+        } else if (record.getAuthorUsername() != null && !record.getAuthorUsername().equals(currentUsername)) {
+            return "Students can only import their own content";
+        }
+        return null;
+    }
+
+    /**
+     * Inserta un bloque de registros válidos en una transacción. Si el bloque
+     * falla, todos sus registros se informan como fallidos.
+     */
+    private List<ContentImportResultDto> importChunk(List<ImportRecord> chunk) {
+        try {
+            return transactionTemplate.execute(status -> insertChunk(chunk));
+        } catch (DataAccessException e) {
+            log.warn("Bulk import chunk of {} records failed: {}", chunk.size(), e.getMessage());
+            return chunk.stream()
+                    .map(r -> failed(r.index(), "Could not store record: " + e.getMostSpecificCause().getMessage()))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private List<ContentImportResultDto> insertChunk(List<ImportRecord> chunk) {
+        // Resolve every author of the chunk with at most two queries
+        Set<UUID> authorIds = new HashSet<>();
+        Set<String> authorUsernames = new HashSet<>();
+        for (ImportRecord record : chunk) {
+            if (record.authorId() != null) {
+                authorIds.add(record.authorId());
+            } else {
+                authorUsernames.add(record.authorUsername());
+            }
+        }
+
+        Map<UUID, StudentEntity> authorsById = new HashMap<>();
+        Map<String, StudentEntity> authorsByUsername = new HashMap<>();
+        if (!authorIds.isEmpty()) {
+            studentRepository.findAllById(authorIds).forEach(s -> authorsById.put(s.getId(), s));
+        }
+        if (!authorUsernames.isEmpty()) {
+            studentRepository.findByUsernameIn(authorUsernames).forEach(s -> authorsByUsername.put(s.getUsername(), s));
+        }
+
+        List<ContentImportResultDto> results = new ArrayList<>(chunk.size());
+        List<ContentEntity> contents = new ArrayList<>(chunk.size());
+        LocalDateTime now = LocalDateTime.now();
+
+        for (ImportRecord record : chunk) {
+            StudentEntity author = record.authorId() != null
+                    ? authorsById.get(record.authorId())
+                    : authorsByUsername.get(record.authorUsername());
+            if (author == null) {
+                results.add(failed(record.index(), "Author not found"));
+                continue;
+            }
+
+            ContentDto dto = record.content();
+            ContentEntity content = ContentEntity.builder()
+                    .id(UUID.randomUUID())
+                    .title(dto.getTitle())
+                    .description(dto.getDescription())
+                    .contentUrl(dto.getContentUrl())
+                    .contentType(dto.getContentType())
+                    .tags(normalizeTags(dto.getTags()))
+                    .author(author)
+                    .averageRating(0.0)
+                    .ratingCount(0)
+                    .ratingSum(0L)
+                    .viewCount(0)
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build();
+            contents.add(content);
+            results.add(ContentImportResultDto.builder()
+                    .index(record.index())
+                    .imported(true)
+                    .contentId(content.getId())
+                    .build());
+        }
+
+        if (contents.isEmpty()) {
+            return results;
+        }
+
+        Timestamp timestamp = Timestamp.valueOf(now);
+        jdbcTemplate.batchUpdate(INSERT_CONTENT_SQL, contents, contents.size(), (ps, content) -> {
+            ps.setObject(1, content.getId());
+            ps.setString(2, content.getTitle());
+            ps.setString(3, content.getDescription());
+            ps.setString(4, content.getContentUrl());
+            ps.setString(5, content.getContentType().name());
+            ps.setObject(6, content.getAuthor().getId());
+            ps.setTimestamp(7, timestamp);
+            ps.setTimestamp(8, timestamp);
+        });
+
+        List<Object[]> tagRows = new ArrayList<>();
+        for (ContentEntity content : contents) {
+            for (String tag : content.getTags()) {
+                tagRows.add(new Object[] { content.getId(), tag });
+            }
+        }
+        if (!tagRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_TAG_SQL, tagRows);
+        }
+
+        for (ContentEntity content : contents) {
+            contentSearchService.indexContent(content);
+            leaderboardService.addContent(content);
+            contentTitleIndex.indexContent(content, null);
+        }
+        recommendationService.contentsSaved(contents);
+        queryCache.contentsCreated(contents);
+
+        return results;
+    }
+
+    private static Set<String> normalizeTags(Set<String> tags) {
+        Set<String> normalized = new HashSet<>();
+        if (tags != null) {
+            for (String tag : tags) {
+                if (tag != null && !tag.isBlank()) {
+                    normalized.add(tag.trim());
+                }
+            }
+        }
+        return normalized;
+    }
+
+    private static ContentImportResultDto failed(int index, String error) {
+        return ContentImportResultDto.builder()
+                .index(index)
+                .imported(false)
+                .error(error)
+                .build();
+    }
+
+    /**
+     * Registro válido pendiente de insertar, con el autor que hay que resolver
+     * (por ID o por nombre de usuario).
+     */
+    private record ImportRecord(int index, ContentDto content, UUID authorId, String authorUsername) {
+    }
+}
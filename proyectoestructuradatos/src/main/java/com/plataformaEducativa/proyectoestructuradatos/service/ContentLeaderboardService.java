@@ -0,0 +1,242 @@
+package com.plataformaEducativa.proyectoestructuradatos.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.plataformaEducativa.proyectoestructuradatos.entity.ContentEntity;
+import com.plataformaEducativa.proyectoestructuradatos.models.datastructure.Leaderboard.ContentLeaderboard;
+import com.plataformaEducativa.proyectoestructuradatos.repository.ContentRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Mantiene en memoria las clasificaciones de contenidos mejor valorados y más
+ * vistos. Solo se consulta la base de datos al arrancar; a partir de ahí las
+ * clasificaciones se actualizan con cada valoración y con cada volcado de
+ * visualizaciones, y cualquier página se resuelve en O(log n + tamaño).
+ *
+ * Altas, bajas y valoraciones se aplican al confirmarse la transacción que
+ * las hizo; si se deshace, las clasificaciones no cambian. Los cambios que
+ * llegan mientras se cargan las clasificaciones se repiten sobre las nuevas.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ContentLeaderboardService {
+
+    private final ContentRepository contentRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Un volcado de visualizaciones (escritura y suma) no se intercala con la lectura de la carga
+    private final ReentrantLock viewFlushLock = new ReentrantLock();
+
+    private ContentLeaderboard topRated = new ContentLeaderboard();
+    private ContentLeaderboard mostViewed = new ContentLeaderboard();
+    // Cambios recibidos durante una carga, para aplicarlos también a las clasificaciones nuevas
+    private List<Runnable> changesDuringLoad;
+    private volatile boolean loaded;
+
+    /**
+     * Carga ambas clasificaciones desde la base de datos al arrancar.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadLeaderboards() {
+        long start = System.currentTimeMillis();
+
+        ContentLeaderboard loadedTopRated = new ContentLeaderboard();
+        ContentLeaderboard loadedMostViewed = new ContentLeaderboard();
+        viewFlushLock.lock();
+        try {
+            // Desde aquí, lo que no vea la consulta se registra para repetirlo
+            lock.writeLock().lock();
+            try {
+                changesDuringLoad = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            for (Object[] row : contentRepository.findAllRankingScores()) {
+                UUID id = (UUID) row[0];
+                loadedTopRated.upsert(id, row[1] != null ? (Double) row[1] : 0.0,
+                        row[2] != null ? (Integer) row[2] : 0);
+                loadedMostViewed.upsert(id, row[3] != null ? (Integer) row[3] : 0, 0);
+            }
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                changesDuringLoad = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        } finally {
+            viewFlushLock.unlock();
+        }
+
+        lock.writeLock().lock();
+        try {
+            topRated = loadedTopRated;
+            mostViewed = loadedMostViewed;
+            // Los cambios leen los campos al ejecutarse: se repiten sobre las clasificaciones nuevas
+            changesDuringLoad.forEach(Runnable::run);
+            loaded = true;
+        } finally {
+            changesDuringLoad = null;
+            lock.writeLock().unlock();
+        }
+
+        log.info("Content leaderboards loaded with {} contents in {} ms",
+                loadedTopRated.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Indica si las clasificaciones ya están cargadas. Antes de eso las
+     * páginas se sirven desde la base de datos.
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Añade un contenido nuevo a ambas clasificaciones.
+     *
+     * @param content Entidad recién guardada
+     */
+    public void addContent(ContentEntity content) {
+        UUID id = content.getId();
+        double averageRating = content.getAverageRating() != null ? content.getAverageRating() : 0.0;
+        int ratingCount = content.getRatingCount() != null ? content.getRatingCount() : 0;
+        int viewCount = content.getViewCount() != null ? content.getViewCount() : 0;
+
+        afterCommit(() -> applyChange(() -> {
+            topRated.upsert(id, averageRating, ratingCount);
+            mostViewed.upsert(id, viewCount, 0);
+        }));
+    }
+
+    /**
+     * Elimina un contenido de ambas clasificaciones.
+     *
+     * @param contentId ID del contenido
+     */
+    public void removeContent(UUID contentId) {
+        afterCommit(() -> applyChange(() -> {
+            topRated.remove(contentId);
+            mostViewed.remove(contentId);
+        }));
+    }
+
+    /**
+     * Recoloca un contenido tras cambiar su valoración.
+     *
+     * @param contentId     ID del contenido
+     * @param averageRating Nueva valoración media
+     * @param ratingCount   Nuevo número de valoraciones
+     */
+    public void updateRating(UUID contentId, double averageRating, int ratingCount) {
+        afterCommit(() -> applyChange(() -> topRated.upsert(contentId, averageRating, ratingCount)));
+    }
+
+    /**
+     * Vuelca visualizaciones a la base de datos y las suma a la clasificación
+     * de más vistos. Ambos pasos quedan a un lado u otro de la lectura de una
+     * carga, de modo que un incremento no se pierde ni se cuenta dos veces.
+     *
+     * @param deltas  Incrementos por contenido
+     * @param persist Escritura de los incrementos en la base de datos
+     */
+    public void addViews(Map<UUID, Long> deltas, Runnable persist) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        viewFlushLock.lock();
+        try {
+            persist.run();
+            applyChange(() -> deltas.forEach(mostViewed::increment));
+        } finally {
+            viewFlushLock.unlock();
+        }
+    }
+
+    /**
+     * Visualizaciones ya volcadas de un contenido según la clasificación de
+     * más vistos (0 si no está). No incluye las pendientes de volcar.
+     *
+     * @param contentId ID del contenido
+     * @return Visualizaciones persistidas
+     */
+    public long getFlushedViews(UUID contentId) {
+        lock.readLock().lock();
+        try {
+            return (long) mostViewed.primaryOf(contentId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Page<ContentEntity> getTopRated(Pageable pageable) {
+        return loadPage(topRated, pageable);
+    }
+
+    public Page<ContentEntity> getMostViewed(Pageable pageable) {
+        return loadPage(mostViewed, pageable);
+    }
+
+    private Page<ContentEntity> loadPage(ContentLeaderboard leaderboard, Pageable pageable) {
+        List<UUID> pageIds;
+        int total;
+
+        lock.readLock().lock();
+        try {
+            pageIds = leaderboard.range((int) pageable.getOffset(), pageable.getPageSize());
+            total = leaderboard.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        // Mantener el orden de la clasificación
+        return new PageImpl<>(contentRepository.findAllByIdInOrder(pageIds), pageable, total);
+    }
+
+    private void applyChange(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            change.run();
+            if (changesDuringLoad != null) {
+                changesDuringLoad.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Aplica un cambio de las clasificaciones tras el commit de la
+     * transacción actual, o directamente si no hay transacción.
+     */
+    private void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,207 @@
+package com.plataformaEducativa.proyectoestructuradatos.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.plataformaEducativa.proyectoestructuradatos.config.ContentCacheProperties;
+import com.plataformaEducativa.proyectoestructuradatos.dto.ContentDto;
+import com.plataformaEducativa.proyectoestructuradatos.entity.ContentEntity;
+import com.plataformaEducativa.proyectoestructuradatos.models.datastructure.QueryCache.CacheStatistics;
+import com.plataformaEducativa.proyectoestructuradatos.models.datastructure.QueryCache.DependencyTrackingCache;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Caché de páginas de contenidos (por etiqueta, autor, búsqueda, clasificaciones
+ * y recientes) delante de {@link ContentService}. Cada página guardada depende
+ * de la consulta que decide qué contenidos entran (la etiqueta, el autor, la
+ * clasificación...) y de cada contenido que muestra, de modo que una escritura
+ * solo invalida las páginas que puede haber cambiado.
+ *
+ * Las invalidaciones se aplican al confirmar la transacción de la escritura,
+ * para que ninguna lectura vuelva a guardar los datos anteriores. Las
+ * visualizaciones no invalidan: las páginas pueden mostrar un recuento con
+ * un retraso de como mucho el TTL.
+ */
+@Slf4j
+@Component
+public class ContentQueryCache {
+
+    static final String SEARCH = "search";
+    static final String RECENT = "recent";
+    static final String TOP_RATED = "ranking:top-rated";
+    static final String MOST_VIEWED = "ranking:most-viewed";
+
+    private final ContentCacheProperties cacheProperties;
+    private final DependencyTrackingCache<String, Page<ContentDto>> cache;
+
+    public ContentQueryCache(ContentCacheProperties cacheProperties) {
+        this.cacheProperties = cacheProperties;
+        this.cache = new DependencyTrackingCache<>(cacheProperties.getMaxEntries(),
+                cacheProperties.getTtl().toNanos(), System::nanoTime);
+    }
+
+    static String tag(String tag) {
+        return "tag:" + tag;
+    }
+
+    static String author(UUID authorId) {
+        return "author:" + authorId;
+    }
+
+    static String content(UUID contentId) {
+        return "content:" + contentId;
+    }
+
+    /**
+     * Devuelve la página guardada o la calcula y la guarda.
+     *
+     * @param query        Nombre de la consulta
+     * @param argument     Argumento de la consulta (etiqueta, palabra clave...), o null
+     * @param pageable     Página solicitada
+     * @param membership   Dependencia que decide qué contenidos entran en la consulta
+     * @param loader       Cálculo de la página en caso de fallo
+     * @return Página de contenidos
+     */
+    public Page<ContentDto> getPage(String query, String argument, Pageable pageable, String membership,
+            Supplier<Page<ContentDto>> loader) {
+        if (!cacheProperties.isEnabled()) {
+            return loader.get();
+        }
+
+        String key = query + '|' + (argument != null ? argument : "") + '|' + pageable.getPageNumber()
+                + '|' + pageable.getPageSize() + '|' + pageable.getSort();
+        Page<ContentDto> cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        long generation = cache.generation();
+        Page<ContentDto> page = loader.get();
+
+        Set<String> dependencies = new HashSet<>();
+        dependencies.add(membership);
+        for (ContentDto dto : page.getContent()) {
+            dependencies.add(content(dto.getId()));
+        }
+        cache.put(key, page, dependencies, generation);
+        return page;
+    }
+
+    /**
+     * Un contenido nuevo puede entrar en cualquier listado de su autor, sus
+     * etiquetas, las búsquedas, los recientes y las clasificaciones.
+     */
+    public void contentCreated(ContentEntity content) {
+        contentsCreated(List.of(content));
+    }
+
+    public void contentsCreated(Collection<ContentEntity> contents) {
+        Set<String> dependencies = new HashSet<>();
+        dependencies.add(SEARCH);
+        dependencies.add(RECENT);
+        dependencies.add(TOP_RATED);
+        dependencies.add(MOST_VIEWED);
+        for (ContentEntity content : contents) {
+            addOwnership(dependencies, content.getAuthor().getId(), content.getTags());
+        }
+        invalidateAfterCommit(dependencies);
+    }
+
+    /**
+     * Una edición cambia cómo se muestra el contenido y puede cambiar en qué
+     * búsquedas y etiquetas aparece (las anteriores y las nuevas).
+     */
+    public void contentUpdated(ContentEntity content, UUID previousAuthorId, Collection<String> previousTags) {
+        Set<String> dependencies = new HashSet<>();
+        dependencies.add(content(content.getId()));
+        dependencies.add(SEARCH);
+        addOwnership(dependencies, previousAuthorId, previousTags);
+        addOwnership(dependencies, content.getAuthor().getId(), content.getTags());
+        invalidateAfterCommit(dependencies);
+    }
+
+    /**
+     * Al eliminar un contenido se desplazan las páginas de todos los listados
+     * en los que aparecía.
+     */
+    public void contentDeleted(ContentEntity content) {
+        Set<String> dependencies = new HashSet<>();
+        dependencies.add(content(content.getId()));
+        dependencies.add(SEARCH);
+        dependencies.add(RECENT);
+        dependencies.add(TOP_RATED);
+        dependencies.add(MOST_VIEWED);
+        addOwnership(dependencies, content.getAuthor().getId(), content.getTags());
+        invalidateAfterCommit(dependencies);
+    }
+
+    /**
+     * Una valoración cambia la clasificación de mejor valorados y el orden de
+     * los listados de su autor y etiquetas cuando se ordenan por valoración.
+     */
+    public void contentRated(ContentEntity content) {
+        Set<String> dependencies = new HashSet<>();
+        dependencies.add(content(content.getId()));
+        dependencies.add(TOP_RATED);
+        addOwnership(dependencies, content.getAuthor().getId(), content.getTags());
+        invalidateAfterCommit(dependencies);
+    }
+
+    /**
+     * Contadores de la caché para el panel de moderación.
+     */
+    public Map<String, Object> getStatistics() {
+        CacheStatistics statistics = cache.statistics();
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", cacheProperties.isEnabled());
+        result.put("size", statistics.getSize());
+        result.put("maxEntries", statistics.getMaxEntries());
+        result.put("ttlSeconds", cacheProperties.getTtl().toSeconds());
+        result.put("hits", statistics.getHits());
+        result.put("misses", statistics.getMisses());
+        result.put("hitRatio", statistics.getHitRatio());
+        result.put("evictions", statistics.getEvictions());
+        result.put("expirations", statistics.getExpirations());
+        result.put("invalidations", statistics.getInvalidations());
+        return result;
+    }
+
+    private static void addOwnership(Set<String> dependencies, UUID authorId, Collection<String> tags) {
+        if (authorId != null) {
+            dependencies.add(author(authorId));
+        }
+        if (tags != null) {
+            for (String tag : tags) {
+                dependencies.add(tag(tag));
+            }
+        }
+    }
+
+    private void invalidateAfterCommit(Set<String> dependencies) {
+        // Invalidate now so this transaction's own reads miss, and again once the write is visible
+        cache.invalidate(dependencies);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(dependencies);
+                }
+            });
+        }
+        log.debug("Content query cache invalidated: {}", dependencies);
+    }
+}
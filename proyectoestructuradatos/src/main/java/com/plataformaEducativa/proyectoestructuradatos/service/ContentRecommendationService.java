@@ -0,0 +1,267 @@
+package com.plataformaEducativa.proyectoestructuradatos.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.plataformaEducativa.proyectoestructuradatos.config.ContentRecommendationProperties;
+import com.plataformaEducativa.proyectoestructuradatos.entity.ContentEntity;
+import com.plataformaEducativa.proyectoestructuradatos.models.datastructure.ContentRecommendation.ContentNeighbour;
+import com.plataformaEducativa.proyectoestructuradatos.models.datastructure.ContentRecommendation.ContentSimilarityIndex;
+import com.plataformaEducativa.proyectoestructuradatos.repository.ContentRatingRepository;
+import com.plataformaEducativa.proyectoestructuradatos.repository.ContentRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Mantiene el índice de similitud item-item con el que se resuelven los
+ * contenidos relacionados y las recomendaciones por estudiante, sin consultas
+ * de agregación.
+ *
+ * Cada creación, edición, borrado o valoración se aplica al índice al
+ * confirmarse su transacción, y sus vecinos se recalculan de forma
+ * incremental en la siguiente ejecución programada (por defecto cada 10
+ * segundos). Además, el índice se reconstruye
+ * entero de vez en cuando si cambiaron etiquetas o contenidos, para corregir
+ * la deriva de los pesos IDF.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ContentRecommendationService {
+
+    private final ContentRepository contentRepository;
+    private final ContentRatingRepository ratingRepository;
+    private final ContentRecommendationProperties recommendationProperties;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicBoolean stale = new AtomicBoolean(true);
+
+    private ContentSimilarityIndex index = new ContentSimilarityIndex(0);
+    // Cambios recibidos durante una reconstrucción, para aplicarlos también al índice nuevo
+    private List<Consumer<ContentSimilarityIndex>> changesDuringRebuild;
+    private volatile boolean ready;
+
+    /**
+     * Reconstruye el índice desde la base de datos si cambiaron etiquetas o
+     * contenidos desde la última construcción. La primera ejecución ocurre al
+     * arrancar.
+     */
+    @Scheduled(fixedDelayString = "${content.recommendations.refresh-interval-ms:300000}")
+    public void refreshModel() {
+        if (!stale.getAndSet(false)) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try {
+            long start = System.currentTimeMillis();
+            ContentSimilarityIndex.Builder builder = ContentSimilarityIndex.builder();
+
+            for (Object[] row : contentRepository.findAllContentAuthors()) {
+                builder.addContent((UUID) row[0], (UUID) row[1]);
+            }
+            for (Object[] row : contentRepository.findAllContentTags()) {
+                builder.addTag((UUID) row[0], (String) row[1]);
+            }
+            for (Object[] row : ratingRepository.findAllRatingTriples()) {
+                builder.addRating((UUID) row[0], (UUID) row[1], (Integer) row[2]);
+            }
+            ContentSimilarityIndex rebuilt = builder.build(recommendationProperties.getNeighbours());
+
+            lock.writeLock().lock();
+            try {
+                changesDuringRebuild.forEach(change -> change.accept(rebuilt));
+                rebuilt.refreshPending();
+                index = rebuilt;
+                ready = true;
+            } finally {
+                changesDuringRebuild = null;
+                lock.writeLock().unlock();
+            }
+
+            log.info("Content similarity index built for {} contents in {} ms",
+                    rebuilt.size(), System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            stale.set(true);
+            lock.writeLock().lock();
+            try {
+                changesDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.warn("Could not rebuild content similarity index: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Recalcula los vecinos de los contenidos que cambiaron desde la última
+     * ejecución.
+     */
+    @Scheduled(fixedDelayString = "${content.recommendations.incremental-interval-ms:10000}")
+    public void applyPendingChanges() {
+        lock.writeLock().lock();
+        try {
+            if (!index.hasPendingChanges()) {
+                return;
+            }
+            long start = System.currentTimeMillis();
+            int refreshed = index.refreshPending();
+            log.debug("Content similarity index refreshed {} neighbour lists in {} ms",
+                    refreshed, System.currentTimeMillis() - start);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Registra un contenido creado o modificado (autor y etiquetas).
+     *
+     * @param content Entidad guardada
+     */
+    public void contentSaved(ContentEntity content) {
+        contentsSaved(List.of(content));
+    }
+
+    /**
+     * Registra varios contenidos creados o modificados.
+     *
+     * @param contents Entidades guardadas
+     */
+    public void contentsSaved(Collection<ContentEntity> contents) {
+        // Copy what the index needs now: the entities may not be usable outside the transaction
+        Map<UUID, UUID> authors = new HashMap<>();
+        Map<UUID, List<String>> tags = new HashMap<>();
+        for (ContentEntity content : contents) {
+            authors.put(content.getId(), content.getAuthor().getId());
+            tags.put(content.getId(), new ArrayList<>(content.getTags()));
+        }
+
+        applyChange(target -> authors.forEach((id, authorId) -> target.putContent(id, authorId, tags.get(id))));
+        stale.set(true);
+    }
+
+    /**
+     * Registra el borrado de un contenido.
+     *
+     * @param contentId ID del contenido
+     */
+    public void contentDeleted(UUID contentId) {
+        applyChange(target -> target.removeContent(contentId));
+        stale.set(true);
+    }
+
+    /**
+     * Registra una valoración nueva o modificada. No hace falta reconstruir:
+     * el refresco incremental la refleja de forma exacta.
+     *
+     * @param contentId ID del contenido
+     * @param studentId ID del estudiante
+     * @param rating    Valoración
+     */
+    public void ratingChanged(UUID contentId, UUID studentId, int rating) {
+        applyChange(target -> target.putRating(contentId, studentId, rating));
+    }
+
+    private void applyChange(Consumer<ContentSimilarityIndex> change) {
+        // A rolled-back write must not reach the index
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    applyNow(change);
+                }
+            });
+        } else {
+            applyNow(change);
+        }
+    }
+
+    private void applyNow(Consumer<ContentSimilarityIndex> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(index);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indica si hay un índice construido con el que recomendar.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Devuelve los contenidos más parecidos a uno dado.
+     *
+     * @param contentId ID del contenido
+     * @param limit     Número máximo de contenidos
+     * @return IDs relacionados, del más parecido al menos
+     */
+    public List<UUID> related(UUID contentId, int limit) {
+        lock.readLock().lock();
+        try {
+            return index.getNeighbours(contentId, limit).stream()
+                    .map(ContentNeighbour::getContentId)
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Recomienda contenidos a un estudiante a partir de los vecinos de los
+     * contenidos que ha valorado bien.
+     *
+     * @param studentId ID del estudiante
+     * @param pageable  Página solicitada (la ordenación se ignora: manda la similitud)
+     * @return Página de contenidos recomendados
+     */
+    public Page<ContentEntity> recommend(UUID studentId, Pageable pageable) {
+        Map<UUID, Integer> studentRatings = new HashMap<>();
+        for (Object[] row : ratingRepository.findRatingPairsByStudentId(studentId)) {
+            studentRatings.put((UUID) row[0], (Integer) row[1]);
+        }
+
+        List<UUID> recommended;
+        lock.readLock().lock();
+        try {
+            recommended = index.recommend(studentId, studentRatings);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        int from = (int) Math.min(pageable.getOffset(), recommended.size());
+        int to = Math.min(recommended.size(), from + pageable.getPageSize());
+
+        return new PageImpl<>(contentRepository.findAllByIdInOrder(recommended.subList(from, to)),
+                pageable, recommended.size());
+    }
+}
@@ -0,0 +1,205 @@
+package com.plataformaEducativa.proyectoestructuradatos.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.plataformaEducativa.proyectoestructuradatos.config.ContentSearchProperties;
+import com.plataformaEducativa.proyectoestructuradatos.entity.ContentEntity;
+import com.plataformaEducativa.proyectoestructuradatos.enums.ContentSearchMode;
+import com.plataformaEducativa.proyectoestructuradatos.models.datastructure.ContentSearchIndex.ContentSearchHit;
+import com.plataformaEducativa.proyectoestructuradatos.models.datastructure.ContentSearchIndex.ContentSearchIndex;
+import com.plataformaEducativa.proyectoestructuradatos.repository.ContentRepository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * Mantiene el índice BM25 de contenidos en memoria y resuelve las búsquedas
+ * por palabra clave sin recorrer la tabla de contenidos.
+ *
+ * Los cambios hechos dentro de una transacción se aplican al índice cuando
+ * esta se confirma, para que un rollback no deje entradas huérfanas.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ContentSearchService {
+
+    private final ContentRepository contentRepository;
+    private final ContentSearchProperties searchProperties;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private ContentSearchIndex index = new ContentSearchIndex();
+    // Cambios recibidos durante una reconstrucción, para aplicarlos también al índice nuevo
+    private List<Runnable> changesDuringRebuild;
+
+    /**
+     * Construye el índice completo al arrancar la aplicación. En modo
+     * {@code database} el índice no se construye ni se mantiene. Los cambios
+     * que llegan mientras se lee la base de datos se repiten sobre el índice
+     * nuevo antes de publicarlo.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIndex() {
+        if (!isEnabled()) {
+            log.info("Content search mode is {}, in-memory index disabled", searchProperties.getMode());
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        ContentSearchIndex rebuilt = new ContentSearchIndex();
+        try {
+            Map<UUID, List<String>> tagsByContent = new HashMap<>();
+            for (Object[] row : contentRepository.findAllContentTags()) {
+                tagsByContent.computeIfAbsent((UUID) row[0], id -> new ArrayList<>()).add((String) row[1]);
+            }
+
+            for (Object[] row : contentRepository.findAllSearchableFields()) {
+                UUID id = (UUID) row[0];
+                rebuilt.index(id, (String) row[1], (String) row[2], tagsByContent.getOrDefault(id, List.of()));
+            }
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                changesDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            index = rebuilt;
+            // Los cambios leen el campo al ejecutarse: se repiten sobre el índice nuevo
+            changesDuringRebuild.forEach(Runnable::run);
+        } finally {
+            changesDuringRebuild = null;
+            lock.writeLock().unlock();
+        }
+
+        log.info("Content search index built with {} contents in {} ms",
+                rebuilt.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Indexa o reindexa un contenido recién guardado, al confirmarse la
+     * transacción en curso.
+     *
+     * @param content Entidad guardada (con sus etiquetas cargadas)
+     */
+    public void indexContent(ContentEntity content) {
+        if (!isEnabled()) {
+            return;
+        }
+        // Copy the fields now: the entity may not be usable once the transaction ends
+        UUID id = content.getId();
+        String title = content.getTitle();
+        String description = content.getDescription();
+        Set<String> tags = content.getTags() != null ? Set.copyOf(content.getTags()) : Set.of();
+
+        afterCommit(() -> applyChange(() -> index.index(id, title, description, tags)));
+    }
+
+    /**
+     * Elimina un contenido del índice al confirmarse la transacción en curso.
+     *
+     * @param contentId ID del contenido
+     */
+    public void removeContent(UUID contentId) {
+        if (!isEnabled()) {
+            return;
+        }
+        afterCommit(() -> applyChange(() -> index.remove(contentId)));
+    }
+
+    /**
+     * Busca contenidos por relevancia BM25. Se recuperan los resultados hasta
+     * el final de la página más uno, de modo que la página sabe si hay una
+     * siguiente; el total informado es por tanto una cota inferior.
+     *
+     * @param keyword  Texto de búsqueda
+     * @param pageable Página solicitada (la ordenación se ignora: manda la relevancia)
+     * @return Página de contenidos ordenados por relevancia
+     */
+    public Page<ContentEntity> search(String keyword, Pageable pageable) {
+        int offset = (int) pageable.getOffset();
+        int limit = offset + pageable.getPageSize() + 1;
+
+        List<ContentSearchHit> hits;
+        lock.readLock().lock();
+        try {
+            hits = index.search(keyword, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        if (hits.size() <= offset) {
+            return new PageImpl<>(List.of(), pageable, hits.size());
+        }
+
+        List<UUID> pageIds = hits.subList(offset, Math.min(hits.size(), offset + pageable.getPageSize()))
+                .stream()
+                .map(ContentSearchHit::getContentId)
+                .collect(Collectors.toList());
+
+        // Mantener el orden de relevancia del índice
+        return new PageImpl<>(contentRepository.findAllByIdInOrder(pageIds), pageable, hits.size());
+    }
+
+    private boolean isEnabled() {
+        return searchProperties.getMode() == ContentSearchMode.INDEX;
+    }
+
+    private void applyChange(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            change.run();
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ejecuta el cambio al confirmarse la transacción en curso, o en el
+     * momento si no hay ninguna.
+     */
+    private void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+}
@@ -2,6 +2,7 @@ package com.plataformaEducativa.proyectoestructuradatos.service;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -9,43 +10,71 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.plataformaEducativa.proyectoestructuradatos.models.Content;
+import com.plataformaEducativa.proyectoestructuradatos.models.Student;
+import com.plataformaEducativa.proyectoestructuradatos.config.ContentSearchProperties;
+import com.plataformaEducativa.proyectoestructuradatos.dto.ContentCursorPageDto;
 import com.plataformaEducativa.proyectoestructuradatos.dto.ContentDto;
 import com.plataformaEducativa.proyectoestructuradatos.entity.ContentEntity;
 import com.plataformaEducativa.proyectoestructuradatos.entity.ContentRatingEntity;
 import com.plataformaEducativa.proyectoestructuradatos.entity.StudentEntity;
+import com.plataformaEducativa.proyectoestructuradatos.enums.ContentSearchMode;
+import com.plataformaEducativa.proyectoestructuradatos.exception.InvalidCursorException;
 import com.plataformaEducativa.proyectoestructuradatos.exception.ResourceNotFoundException;
 import com.plataformaEducativa.proyectoestructuradatos.mapper.ContentMapper;
 import com.plataformaEducativa.proyectoestructuradatos.models.datastructure.BinarySearchTree.ContentBinarySearchTree;
+import com.plataformaEducativa.proyectoestructuradatos.models.datastructure.BinarySearchTree.ContentTreeFilterResult;
+import com.plataformaEducativa.proyectoestructuradatos.models.datastructure.BinarySearchTree.PersistentContentTree;
 import com.plataformaEducativa.proyectoestructuradatos.repository.ContentRatingRepository;
 import com.plataformaEducativa.proyectoestructuradatos.repository.ContentRepository;
 import com.plataformaEducativa.proyectoestructuradatos.repository.StudentRepository;
-
+import com.plataformaEducativa.proyectoestructuradatos.repository.projection.ContentListingRow;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ContentService {
 
+    private static final int MAX_SCROLL_SIZE = 100;
+    private static final int MAX_FUZZY_DISTANCE = 3;
+
     private final ContentRepository contentRepository;
     private final ContentRatingRepository ratingRepository;
     private final StudentRepository studentRepository;
     private final ContentMapper contentMapper;
+    private final ContentSearchService contentSearchService;
+    private final ContentSearchProperties searchProperties;
+    private final ContentViewCounter viewCounter;
+    private final ContentLeaderboardService leaderboardService;
+    private final ContentRecommendationService recommendationService;
+    private final ContentTitleIndex contentTitleIndex;
+    private final ContentQueryCache queryCache;
 
     public Page<ContentDto> getAllContents(Pageable pageable) {
-        return contentRepository.findAll(pageable)
-                .map(contentMapper::entityToDto);
+        return toListingPage(contentRepository.findAllListings(pageable));
     }
 
+    @Transactional(readOnly = true)
     public ContentDto getContentById(UUID id) {
         ContentEntity content = contentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Content not found with id: " + id));
 
-        // Increment view count
-        content.setViewCount(content.getViewCount() + 1);
-        contentRepository.save(content);
+        // Count the view in memory; ContentViewCounter flushes it in batches
+        viewCounter.recordView(id);
 
-        return contentMapper.entityToDto(content);
+        return toDto(content);
     }
 
     @Transactional
@@ -65,8 +94,13 @@ public class ContentService {
 
         ContentEntity content = contentMapper.dtoToEntity(contentDto);
         ContentEntity savedContent = contentRepository.save(content);
+        contentSearchService.indexContent(savedContent);
+        leaderboardService.addContent(savedContent);
+        recommendationService.contentSaved(savedContent);
+        contentTitleIndex.indexContent(savedContent, null);
+        queryCache.contentCreated(savedContent);
 
-        return contentMapper.entityToDto(savedContent);
+        return toDto(savedContent);
     }
 
     @Transactional
@@ -84,10 +118,17 @@ public class ContentService {
             throw new AccessDeniedException("You are not authorized to update this content");
         }
 
+        String previousTitle = content.getTitle();
+        UUID previousAuthorId = content.getAuthor().getId();
+        Set<String> previousTags = new HashSet<>(content.getTags());
         contentMapper.updateEntityFromDto(contentDto, content);
         ContentEntity updatedContent = contentRepository.save(content);
+        contentSearchService.indexContent(updatedContent);
+        recommendationService.contentSaved(updatedContent);
+        contentTitleIndex.indexContent(updatedContent, previousTitle);
+        queryCache.contentUpdated(updatedContent, previousAuthorId, previousTags);
 
-        return contentMapper.entityToDto(updatedContent);
+        return toDto(updatedContent);
     }
 
     @Transactional
@@ -105,7 +146,14 @@ public class ContentService {
             throw new AccessDeniedException("You are not authorized to delete this content");
         }
 
+        // Read the tags and author before the entity is removed from the session
+        queryCache.contentDeleted(content);
         contentRepository.delete(content);
+        contentSearchService.removeContent(id);
+        viewCounter.forget(id);
+        leaderboardService.removeContent(id);
+        recommendationService.contentDeleted(id);
+        contentTitleIndex.removeContent(id, content.getTitle());
     }
 
     @Transactional
@@ -127,11 +175,16 @@ public class ContentService {
                 .findByContentIdAndStudentId(contentId, student.getId())
                 .orElse(null);
 
-        // Update or create rating
+        // Update or create rating, then apply the delta to the running aggregates
         if (existingRating != null) {
+            int previousRating = existingRating.getRating();
             existingRating.setRating(rating);
             existingRating.setComment(comment);
             ratingRepository.save(existingRating);
+
+            if (previousRating != rating) {
+                contentRepository.applyRatingDelta(contentId, rating - previousRating, 0);
+            }
         } else {
             ContentRatingEntity newRating = ContentRatingEntity.builder()
                     .content(content)
@@ -140,57 +193,268 @@ public class ContentService {
                     .comment(comment)
                     .build();
             ratingRepository.save(newRating);
+            contentRepository.applyRatingDelta(contentId, rating, 1);
         }
 
-        // Update content average rating
-        Double averageRating = ratingRepository.calculateAverageRating(contentId);
-        Integer ratingCount = ratingRepository.countRatingsByContentId(contentId);
-
-        content.setAverageRating(averageRating != null ? averageRating : 0.0);
-        content.setRatingCount(ratingCount != null ? ratingCount : 0);
-        ContentEntity updatedContent = contentRepository.save(content);
+        ContentEntity updatedContent = contentRepository.findById(contentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Content not found with id: " + contentId));
+        leaderboardService.updateRating(contentId, updatedContent.getAverageRating(), updatedContent.getRatingCount());
+        recommendationService.ratingChanged(contentId, student.getId(), rating);
+        queryCache.contentRated(updatedContent);
 
-        return contentMapper.entityToDto(updatedContent);
+        return toDto(updatedContent);
     }
 
     public Page<ContentDto> getContentsByAuthor(UUID authorId, Pageable pageable) {
-        return contentRepository.findByAuthorId(authorId, pageable)
-                .map(contentMapper::entityToDto);
+        return queryCache.getPage("author", authorId.toString(), pageable, ContentQueryCache.author(authorId),
+                () -> toListingPage(contentRepository.findListingsByAuthorId(authorId, pageable)));
     }
 
     public Page<ContentDto> searchContentsByKeyword(String keyword, Pageable pageable) {
-        return contentRepository.searchByKeyword(keyword, pageable)
-                .map(contentMapper::entityToDto);
+        return queryCache.getPage("search", keyword, pageable, ContentQueryCache.SEARCH,
+                () -> loadKeywordSearch(keyword, pageable));
+    }
+
+    private Page<ContentDto> loadKeywordSearch(String keyword, Pageable pageable) {
+        if (searchProperties.getMode() == ContentSearchMode.DATABASE) {
+            // La consulta nativa ya ordena por fecha; la ordenación del Pageable no aplica
+            Pageable unsorted = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+            return contentRepository.searchByKeyword(keyword, unsorted)
+                    .map(this::toDto);
+        }
+
+        return contentSearchService.search(keyword, pageable)
+                .map(this::toDto);
     }
 
     public Page<ContentDto> getContentsByTag(String tag, Pageable pageable) {
-        return contentRepository.findByTag(tag, pageable)
-                .map(contentMapper::entityToDto);
+        return queryCache.getPage("tag", tag, pageable, ContentQueryCache.tag(tag),
+                () -> toListingPage(contentRepository.findListingsByTag(tag, pageable)));
     }
 
     public Page<ContentDto> getTopRatedContents(Pageable pageable) {
+        return queryCache.getPage("top-rated", null, pageable, ContentQueryCache.TOP_RATED,
+                () -> loadTopRated(pageable));
+    }
+
+    private Page<ContentDto> loadTopRated(Pageable pageable) {
+        // Served from memory once the leaderboards are loaded; the query is only a warm-up fallback
+        if (leaderboardService.isLoaded()) {
+            return leaderboardService.getTopRated(pageable)
+                    .map(this::toDto);
+        }
         return contentRepository.findTopRated(pageable)
-                .map(contentMapper::entityToDto);
+                .map(this::toDto);
     }
 
     public Page<ContentDto> getMostViewedContents(Pageable pageable) {
+        return queryCache.getPage("most-viewed", null, pageable, ContentQueryCache.MOST_VIEWED,
+                () -> loadMostViewed(pageable));
+    }
+
+    private Page<ContentDto> loadMostViewed(Pageable pageable) {
+        if (leaderboardService.isLoaded()) {
+            return leaderboardService.getMostViewed(pageable)
+                    .map(this::toDto);
+        }
         return contentRepository.findMostViewed(pageable)
-                .map(contentMapper::entityToDto);
+                .map(this::toDto);
     }
 
     public Page<ContentDto> getRecentContents(Pageable pageable) {
-        return contentRepository.findRecentlyAdded(pageable)
-                .map(contentMapper::entityToDto);
+        return queryCache.getPage("recent", null, pageable, ContentQueryCache.RECENT,
+                () -> toListingPage(contentRepository.findRecentListings(pageable)));
+    }
+
+    public ContentCursorPageDto scrollRecentContents(String cursor, int size) {
+        int limit = validateScrollSize(size) + 1;
+        List<ContentEntity> rows;
+
+        if (cursor == null || cursor.isBlank()) {
+            rows = contentRepository.findRecentlyAddedFirst(limit);
+        } else {
+            String[] key = ContentCursorCodec.decode(cursor, ContentCursorCodec.RECENT, 2);
+            try {
+                rows = contentRepository.findRecentlyAddedAfter(
+                        LocalDateTime.parse(key[0]), UUID.fromString(key[1]), limit);
+            } catch (DateTimeParseException | IllegalArgumentException e) {
+                throw new InvalidCursorException("Malformed cursor");
+            }
+        }
+
+        return toCursorPage(rows, size,
+                last -> ContentCursorCodec.encode(ContentCursorCodec.RECENT, last.getCreatedAt(), last.getId()));
+    }
+
+    public ContentCursorPageDto scrollTopRatedContents(String cursor, int size) {
+        int limit = validateScrollSize(size) + 1;
+        List<ContentEntity> rows;
+
+        if (cursor == null || cursor.isBlank()) {
+            rows = contentRepository.findTopRatedFirst(limit);
+        } else {
+            String[] key = ContentCursorCodec.decode(cursor, ContentCursorCodec.TOP_RATED, 3);
+            try {
+                rows = contentRepository.findTopRatedAfter(
+                        Double.parseDouble(key[0]), Integer.parseInt(key[1]), UUID.fromString(key[2]), limit);
+            } catch (IllegalArgumentException e) {
+                throw new InvalidCursorException("Malformed cursor");
+            }
+        }
+
+        return toCursorPage(rows, size,
+                last -> ContentCursorCodec.encode(ContentCursorCodec.TOP_RATED,
+                        last.getAverageRating(), last.getRatingCount(), last.getId()));
+    }
+
+    public ContentCursorPageDto scrollMostViewedContents(String cursor, int size) {
+        int limit = validateScrollSize(size) + 1;
+        List<ContentEntity> rows;
+
+        if (cursor == null || cursor.isBlank()) {
+            rows = contentRepository.findMostViewedFirst(limit);
+        } else {
+            String[] key = ContentCursorCodec.decode(cursor, ContentCursorCodec.MOST_VIEWED, 2);
+            try {
+                rows = contentRepository.findMostViewedAfter(
+                        Integer.parseInt(key[0]), UUID.fromString(key[1]), limit);
+            } catch (IllegalArgumentException e) {
+                throw new InvalidCursorException("Malformed cursor");
+            }
+        }
+
+        return toCursorPage(rows, size,
+                last -> ContentCursorCodec.encode(ContentCursorCodec.MOST_VIEWED, last.getViewCount(), last.getId()));
+    }
+
+    /**
+     * Alphabetical browsing over the shared title index: seeks to the start
+     * title and walks only the requested page, O(log n + size). The index
+     * only holds ids and titles; the page rows are loaded in index order.
+     * Titles repeat, so the cursor holds the (title, id) key of the last row
+     * and the next page starts strictly after it.
+     */
+    public ContentCursorPageDto browseContentsAlphabetically(String from, String to, String cursor, int size) {
+        validateScrollSize(size);
+        PersistentContentTree snapshot = contentTitleIndex.snapshot();
+
+        Iterator<Content> iterator;
+        if (cursor == null || cursor.isBlank()) {
+            iterator = snapshot.iterator(from, to);
+        } else {
+            // The id goes first: the title may contain the separator
+            String[] key = ContentCursorCodec.decode(cursor, ContentCursorCodec.ALPHABETICAL, 2);
+            try {
+                iterator = snapshot.iteratorAfter(key[1], UUID.fromString(key[0]), to);
+            } catch (IllegalArgumentException e) {
+                throw new InvalidCursorException("Malformed cursor");
+            }
+        }
+
+        List<UUID> pageIds = new ArrayList<>(size);
+        Content last = null;
+        while (pageIds.size() < size && iterator.hasNext()) {
+            last = iterator.next();
+            pageIds.add(last.getId());
+        }
+
+        boolean hasNext = iterator.hasNext();
+        return ContentCursorPageDto.builder()
+                .contents(loadInOrder(pageIds))
+                .nextCursor(hasNext
+                        ? ContentCursorCodec.encode(ContentCursorCodec.ALPHABETICAL, last.getId(), last.getTitle())
+                        : null)
+                .hasNext(hasNext)
+                .build();
+    }
+
+    /**
+     * Convierte las filas leídas (tamaño de página + 1) en una página con
+     * cursor: la fila extra solo indica que existe una página siguiente.
+     */
+    private ContentCursorPageDto toCursorPage(List<ContentEntity> rows, int size,
+            Function<ContentEntity, String> cursorOf) {
+        boolean hasNext = rows.size() > size;
+        List<ContentEntity> page = hasNext ? rows.subList(0, size) : rows;
+
+        return ContentCursorPageDto.builder()
+                .contents(page.stream().map(this::toDto).collect(Collectors.toList()))
+                .nextCursor(hasNext ? cursorOf.apply(page.get(page.size() - 1)) : null)
+                .hasNext(hasNext)
+                .build();
+    }
+
+    /**
+     * Convierte una página de filas proyectadas en DTOs cargando las etiquetas
+     * de toda la página con una sola consulta.
+     */
+    private Page<ContentDto> toListingPage(Page<ContentListingRow> rows) {
+        if (rows.isEmpty()) {
+            return rows.map(contentMapper::listingToDto);
+        }
+
+        List<UUID> ids = rows.map(ContentListingRow::id).getContent();
+        Map<UUID, Set<String>> tagsByContent = new HashMap<>();
+        for (Object[] row : contentRepository.findTagsByContentIds(ids)) {
+            tagsByContent.computeIfAbsent((UUID) row[0], id -> new HashSet<>()).add((String) row[1]);
+        }
+
+        return rows.map(row -> {
+            ContentDto dto = contentMapper.listingToDto(row);
+            dto.setTags(tagsByContent.getOrDefault(row.id(), new HashSet<>()));
+            dto.setViewCount(viewCounter.withPendingViews(row.id(), dto.getViewCount()));
+            return dto;
+        });
+    }
+
+    /**
+     * Mapea a DTO sumando las visualizaciones que aún no se han volcado.
+     */
+    private ContentDto toDto(ContentEntity entity) {
+        ContentDto dto = contentMapper.entityToDto(entity);
+        dto.setViewCount(viewCounter.withPendingViews(entity.getId(), dto.getViewCount()));
+        return dto;
+    }
+
+    private int validateScrollSize(int size) {
+        if (size <= 0 || size > MAX_SCROLL_SIZE) {
+            throw new IllegalArgumentException("Size must be between 1 and " + MAX_SCROLL_SIZE);
+        }
+        return size;
     }
 
     public Page<ContentDto> getContentsByStudyGroupMembers(UUID studentId, Pageable pageable) {
         return contentRepository.findContentsByStudyGroupMembers(studentId, pageable)
-                .map(contentMapper::entityToDto);
+                .map(this::toDto);
     }
 
     public Page<ContentDto> recommendContentsByPreferences(UUID studentId, Pageable pageable) {
+        // Use the precomputed item-item model; the aggregate query is only used until it is built
+        if (recommendationService.isReady()) {
+            return recommendationService.recommend(studentId, pageable)
+                    .map(this::toDto);
+        }
         return contentRepository.recommendContentsByUserPreferences(studentId, pageable)
-                .map(contentMapper::entityToDto);
+                .map(this::toDto);
+    }
+
+    /**
+     * Contenidos parecidos a uno dado (etiquetas y co-valoraciones), servidos
+     * desde el índice de similitud precalculado.
+     *
+     * @param id    ID del contenido
+     * @param limit Número máximo de contenidos
+     * @return Contenidos relacionados, del más parecido al menos
+     */
+    public List<ContentDto> getRelatedContents(UUID id, int limit) {
+        if (limit <= 0 || limit > MAX_SCROLL_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_SCROLL_SIZE);
+        }
+        if (!contentRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Content not found with id: " + id);
+        }
+
+        return loadInOrder(recommendationService.related(id, limit));
     }
 
     public ContentBinarySearchTree buildContentSearchTree() {
@@ -205,24 +469,101 @@ public class ContentService {
         return tree;
     }
 
+    /**
+     * Filtro de moderación sobre todo el catálogo: monta un árbol balanceado
+     * con los campos que miran los filtros (título, etiquetas y autor, leídos
+     * con dos proyecciones) y lo recorre con
+     * {@link ContentBinarySearchTree#filterParallel}, que reparte los
+     * catálogos grandes entre hilos. Las filas completas solo se cargan, por
+     * ID, para las coincidencias, en el mismo orden que el filtro secuencial.
+     *
+     * @param tag            Texto que debe contener alguna etiqueta (opcional)
+     * @param authorUsername Nombre de usuario del autor (opcional)
+     * @return Contenidos que cumplen todos los criterios y tiempos del recorrido
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> reviewContents(String tag, String authorUsername) {
+        Predicate<Content> predicate = null;
+        if (tag != null && !tag.isBlank()) {
+            predicate = ContentBinarySearchTree.taggedWith(tag);
+        }
+        if (authorUsername != null && !authorUsername.isBlank()) {
+            Predicate<Content> byAuthor = ContentBinarySearchTree.byAuthor(authorUsername);
+            predicate = predicate == null ? byAuthor : predicate.and(byAuthor);
+        }
+        if (predicate == null) {
+            throw new IllegalArgumentException("A tag or an author username is required");
+        }
+
+        // El predicado se evalúa en otros hilos: los modelos no tienen asociaciones perezosas
+        Map<UUID, Set<String>> tagsByContent = new HashMap<>();
+        for (Object[] row : contentRepository.findAllContentTags()) {
+            tagsByContent.computeIfAbsent((UUID) row[0], id -> new HashSet<>()).add((String) row[1]);
+        }
+        List<Content> contents = new ArrayList<>();
+        for (Object[] row : contentRepository.findAllReviewFields()) {
+            UUID id = (UUID) row[0];
+            contents.add(Content.builder()
+                    .id(id)
+                    .title((String) row[1])
+                    .tags(tagsByContent.getOrDefault(id, new HashSet<>()))
+                    .author(Student.builder().username((String) row[2]).build())
+                    .build());
+        }
+
+        ContentTreeFilterResult result = ContentBinarySearchTree.of(contents).filterParallel(predicate);
+
+        List<UUID> ids = result.getContents().stream()
+                .map(Content::getId)
+                .collect(Collectors.toList());
+
+        Map<String, Object> review = new HashMap<>();
+        review.put("contents", ids.isEmpty() ? List.of() : loadInOrder(ids));
+        review.put("visitedNodes", result.getVisitedNodes());
+        review.put("parallel", result.isParallel());
+        review.put("taskCount", result.getTaskCount());
+        review.put("elapsedMillis", result.getElapsedMillis());
+        return review;
+    }
+
     public List<ContentDto> searchContentsByTitle(String title) {
-        ContentBinarySearchTree tree = buildContentSearchTree();
-        Content content = tree.search(title);
-
-        return content != null ? List.of(ContentDto.builder()
-                .id(content.getId())
-                .title(content.getTitle())
-                .description(content.getDescription())
-                .contentUrl(content.getContentUrl())
-                .contentType(content.getContentType())
-                .tags(content.getTags())
-                .authorUsername(content.getAuthor().getUsername())
-                .averageRating(content.getAverageRating())
-                .ratingCount(content.getRatingCount())
-                .viewCount(content.getViewCount())
-                .createdAt(content.getCreatedAt())
-                .updatedAt(content.getUpdatedAt())
-                .build())
-                : List.of();
+        // Lock-free lookup on the shared persistent tree; several contents may share the title
+        List<UUID> ids = contentTitleIndex.search(title).stream()
+                .map(Content::getId)
+                .collect(Collectors.toList());
+
+        return ids.isEmpty() ? List.of() : loadInOrder(ids);
+    }
+
+    /**
+     * Búsqueda de títulos tolerante a erratas sobre el índice de títulos.
+     *
+     * @param title       Título buscado
+     * @param maxDistance Número máximo de ediciones (0 a 3)
+     * @param limit       Número máximo de resultados
+     * @return Contenidos más cercanos, y a igual distancia los más vistos
+     */
+    public List<ContentDto> searchContentsByTitleFuzzy(String title, int maxDistance, int limit) {
+        if (maxDistance < 0 || maxDistance > MAX_FUZZY_DISTANCE) {
+            throw new IllegalArgumentException("Max distance must be between 0 and " + MAX_FUZZY_DISTANCE);
+        }
+        if (limit <= 0 || limit > MAX_SCROLL_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_SCROLL_SIZE);
+        }
+
+        List<UUID> ids = contentTitleIndex.searchFuzzy(title, maxDistance, limit).stream()
+                .map(Content::getId)
+                .collect(Collectors.toList());
+        return loadInOrder(ids);
+    }
+
+    /**
+     * Carga las filas actuales de los contenidos en el orden dado. Los que se
+     * eliminaron entretanto se omiten.
+     */
+    private List<ContentDto> loadInOrder(List<UUID> ids) {
+        return contentRepository.findAllByIdInOrder(ids).stream()
+                .map(this::toDto)
+                .collect(Collectors.toList());
     }
 }
\ No newline at end of file
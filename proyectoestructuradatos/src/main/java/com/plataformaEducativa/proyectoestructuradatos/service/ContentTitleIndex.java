@@ -0,0 +1,229 @@
+package com.plataformaEducativa.proyectoestructuradatos.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.plataformaEducativa.proyectoestructuradatos.entity.ContentEntity;
+import com.plataformaEducativa.proyectoestructuradatos.models.Content;
+import com.plataformaEducativa.proyectoestructuradatos.models.datastructure.BinarySearchTree.PersistentContentTree;
+import com.plataformaEducativa.proyectoestructuradatos.models.datastructure.FuzzyTitleSearch.FuzzyTitleDictionary;
+import com.plataformaEducativa.proyectoestructuradatos.models.datastructure.FuzzyTitleSearch.FuzzyTitleMatch;
+import com.plataformaEducativa.proyectoestructuradatos.repository.ContentRepository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+/**
+ * Índice compartido de contenidos por título. Guarda la versión actual de un
+ * {@link PersistentContentTree}: los lectores toman la instantánea y la
+ * recorren sin bloqueos, y los escritores calculan la versión siguiente y la
+ * publican con compare-and-set, reintentando si otro escritor se adelantó.
+ *
+ * Junto al árbol se publica el diccionario de títulos para la búsqueda
+ * aproximada, de modo que ambos se construyen, actualizan y leen siempre en
+ * la misma versión.
+ *
+ * Los cambios se publican al confirmarse la transacción de quien los hace
+ * (o en el momento si no hay ninguna), de modo que un rollback no deja
+ * títulos de contenidos que no existen.
+ *
+ * Los nodos se ordenan por (título, ID): varios contenidos pueden compartir
+ * título y cada uno tiene su entrada. El diccionario guarda el título
+ * mientras quede alguna.
+ *
+ * Los nodos solo guardan el ID y el título: valoraciones y visualizaciones
+ * cambian sin pasar por aquí, así que quien sirve los resultados carga las
+ * filas por ID ({@code findAllByIdInOrder}) en el orden del índice.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ContentTitleIndex {
+
+    private final ContentRepository contentRepository;
+    private final ContentViewCounter viewCounter;
+
+    // Más cercanos primero; a igual distancia, más vistos y después por título
+    private static final Comparator<RankedContent> FUZZY_RANKING = Comparator
+            .comparingInt(RankedContent::distance)
+            .thenComparing(Comparator.comparingLong(RankedContent::views).reversed())
+            .thenComparing(ranked -> ranked.content().getTitle(), String.CASE_INSENSITIVE_ORDER);
+
+    private final AtomicReference<TitleIndexVersion> version = new AtomicReference<>(
+            new TitleIndexVersion(PersistentContentTree.empty(), FuzzyTitleDictionary.empty()));
+
+    /**
+     * Carga todos los contenidos al arrancar la aplicación. La versión
+     * cargada se publica con compare-and-set contra la que había al empezar:
+     * si entretanto se publicó un cambio, puede que la lectura no lo viera y
+     * se vuelve a cargar.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+
+        TitleIndexVersion previous;
+        TitleIndexVersion rebuilt;
+        int attempts = 0;
+        do {
+            previous = version.get();
+            rebuilt = load();
+            attempts++;
+        } while (!version.compareAndSet(previous, rebuilt));
+
+        log.info("Content title index built with {} contents in {} ms ({} attempts)",
+                rebuilt.tree().size(), System.currentTimeMillis() - start, attempts);
+    }
+
+    private TitleIndexVersion load() {
+        PersistentContentTree tree = PersistentContentTree.empty();
+        List<String> titles = new ArrayList<>();
+        for (Object[] row : contentRepository.findAllTitles()) {
+            String title = (String) row[1];
+            tree = tree.insert(titleKey((UUID) row[0], title));
+            titles.add(title);
+        }
+        return new TitleIndexVersion(tree, FuzzyTitleDictionary.of(titles));
+    }
+
+    /**
+     * Devuelve la versión actual del árbol. La instantánea no cambia aunque
+     * se publiquen versiones nuevas mientras se recorre.
+     */
+    public PersistentContentTree snapshot() {
+        return version.get().tree();
+    }
+
+    /**
+     * Busca los contenidos con ese título en la versión actual. El título no
+     * es único: se devuelven todos, en orden de ID.
+     *
+     * @param title Título a buscar
+     * @return ID y título de los contenidos, vacío si no hay ninguno
+     */
+    public List<Content> search(String title) {
+        return version.get().tree().searchAll(title);
+    }
+
+    /**
+     * Búsqueda tolerante a erratas: devuelve los contenidos cuyo título está a
+     * distancia de edición menor o igual que {@code maxDistance}, primero los
+     * más cercanos y, a igual distancia, los más vistos. Las visualizaciones
+     * son las actuales (volcadas y pendientes), no las del momento de indexar.
+     *
+     * @param title       Título buscado
+     * @param maxDistance Número máximo de ediciones
+     * @param limit       Número máximo de resultados
+     * @return ID y título de los contenidos encontrados, ordenados
+     */
+    public List<Content> searchFuzzy(String title, int maxDistance, int limit) {
+        TitleIndexVersion current = version.get();
+
+        List<RankedContent> ranked = new ArrayList<>();
+        for (FuzzyTitleMatch match : current.dictionary().search(title, maxDistance)) {
+            // Diccionario y árbol son de la misma versión: cada título tiene al menos un contenido
+            for (Content content : current.tree().searchAll(match.getTitle())) {
+                ranked.add(new RankedContent(content, match.getDistance(), viewCounter.currentViews(content.getId())));
+            }
+        }
+
+        return ranked.stream()
+                .sorted(FUZZY_RANKING)
+                .limit(limit)
+                .map(RankedContent::content)
+                .toList();
+    }
+
+    /**
+     * Indexa un contenido recién creado o modificado. Si cambió de título se
+     * retira la entrada anterior en la misma publicación.
+     *
+     * @param content       Entidad guardada
+     * @param previousTitle Título antes de la modificación (null al crear)
+     */
+    public void indexContent(ContentEntity content, String previousTitle) {
+        Content model = titleKey(content.getId(), content.getTitle());
+        publish(current -> {
+            PersistentContentTree next = current.tree();
+            FuzzyTitleDictionary dictionary = current.dictionary();
+            if (previousTitle != null && !previousTitle.equalsIgnoreCase(model.getTitle())) {
+                next = next.remove(previousTitle, model.getId());
+                dictionary = syncTitle(next, dictionary, previousTitle);
+            }
+            next = next.insert(model);
+            return new TitleIndexVersion(next, dictionary.with(model.getTitle()));
+        });
+    }
+
+    /**
+     * Retira un contenido eliminado. Solo se quita su entrada (título e ID);
+     * los demás contenidos con el mismo título siguen indexados.
+     *
+     * @param contentId ID del contenido
+     * @param title     Título del contenido
+     */
+    public void removeContent(UUID contentId, String title) {
+        publish(current -> {
+            PersistentContentTree next = current.tree().remove(title, contentId);
+            if (next == current.tree()) {
+                return current;
+            }
+            return new TitleIndexVersion(next, syncTitle(next, current.dictionary(), title));
+        });
+    }
+
+    /**
+     * El título sigue en el diccionario mientras algún contenido del árbol lo use.
+     */
+    private static FuzzyTitleDictionary syncTitle(PersistentContentTree tree, FuzzyTitleDictionary dictionary,
+            String title) {
+        return tree.search(title) != null ? dictionary : dictionary.without(title);
+    }
+
+    private static Content titleKey(UUID id, String title) {
+        return Content.builder()
+                .id(id)
+                .title(title)
+                .build();
+    }
+
+    private void publish(UnaryOperator<TitleIndexVersion> update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publishNow(update);
+                }
+            });
+        } else {
+            publishNow(update);
+        }
+    }
+
+    private void publishNow(UnaryOperator<TitleIndexVersion> update) {
+        TitleIndexVersion current;
+        TitleIndexVersion next;
+        do {
+            current = version.get();
+            next = update.apply(current);
+        } while (current != next && !version.compareAndSet(current, next));
+    }
+
+    private record TitleIndexVersion(PersistentContentTree tree, FuzzyTitleDictionary dictionary) {
+    }
+
+    private record RankedContent(Content content, int distance, long views) {
+    }
+}
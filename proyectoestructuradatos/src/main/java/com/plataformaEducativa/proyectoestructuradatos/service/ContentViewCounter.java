@@ -0,0 +1,129 @@
+package com.plataformaEducativa.proyectoestructuradatos.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contador de visualizaciones con escritura diferida. Cada visualización solo
+ * incrementa un {@link LongAdder} en memoria; periódicamente los incrementos
+ * acumulados se vuelcan con un único UPDATE por lotes que suma sobre el valor
+ * de la base de datos, de modo que no se pierden incrementos concurrentes.
+ * Tras cada volcado se actualiza la clasificación de contenidos más vistos.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ContentViewCounter {
+
+    private static final String FLUSH_SQL = "UPDATE contents SET view_count = view_count + ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ContentLeaderboardService leaderboardService;
+    private final Map<UUID, LongAdder> pendingViews = new ConcurrentHashMap<>();
+    private final Object flushLock = new Object();
+
+    /**
+     * Registra una visualización de un contenido.
+     *
+     * @param contentId ID del contenido
+     */
+    public void recordView(UUID contentId) {
+        pendingViews.computeIfAbsent(contentId, id -> new LongAdder()).increment();
+    }
+
+    /**
+     * Suma al contador persistido las visualizaciones aún no volcadas.
+     *
+     * @param contentId      ID del contenido
+     * @param persistedViews Contador leído de la base de datos (puede ser null)
+     * @return Contador actualizado
+     */
+    public int withPendingViews(UUID contentId, Integer persistedViews) {
+        int persisted = persistedViews != null ? persistedViews : 0;
+        LongAdder pending = pendingViews.get(contentId);
+        return pending != null ? (int) (persisted + pending.sum()) : persisted;
+    }
+
+    /**
+     * Visualizaciones actuales de un contenido sin leer la base de datos: las
+     * ya volcadas según la clasificación de más vistos más las pendientes.
+     *
+     * @param contentId ID del contenido
+     * @return Contador actualizado
+     */
+    public long currentViews(UUID contentId) {
+        LongAdder pending = pendingViews.get(contentId);
+        return leaderboardService.getFlushedViews(contentId) + (pending != null ? pending.sum() : 0);
+    }
+
+    /**
+     * Descarta las visualizaciones pendientes de un contenido eliminado.
+     *
+     * @param contentId ID del contenido
+     */
+    public void forget(UUID contentId) {
+        pendingViews.remove(contentId);
+    }
+
+    /**
+     * Vuelca los incrementos pendientes en la base de datos. Si el volcado
+     * falla, los incrementos se devuelven a sus contadores para el siguiente
+     * intento.
+     *
+     * @return Incrementos volcados por contenido
+     */
+    @Scheduled(fixedDelayString = "${content.views.flush-interval-ms:5000}")
+    public Map<UUID, Long> flush() {
+        synchronized (flushLock) {
+            Map<UUID, Long> deltas = new HashMap<>();
+            for (Map.Entry<UUID, LongAdder> entry : pendingViews.entrySet()) {
+                long delta = entry.getValue().sumThenReset();
+                if (delta > 0) {
+                    deltas.put(entry.getKey(), delta);
+                }
+            }
+
+            if (deltas.isEmpty()) {
+                return deltas;
+            }
+
+            List<Object[]> batchArgs = new ArrayList<>(deltas.size());
+            deltas.forEach((contentId, delta) -> batchArgs.add(new Object[] { delta, contentId }));
+
+            try {
+                leaderboardService.addViews(deltas, () -> jdbcTemplate.batchUpdate(FLUSH_SQL, batchArgs));
+                log.debug("Flushed view counts for {} contents", deltas.size());
+            } catch (DataAccessException e) {
+                log.warn("Could not flush view counts, will retry: {}", e.getMessage());
+                deltas.forEach((contentId, delta) -> pendingViews
+                        .computeIfAbsent(contentId, id -> new LongAdder()).add(delta));
+                return Map.of();
+            }
+
+            return deltas;
+        }
+    }
+
+    /**
+     * Volcado final al detener la aplicación.
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        Map<UUID, Long> flushed = flush();
+        log.info("Final view count flush for {} contents", flushed.size());
+    }
+}
@@ -0,0 +1,217 @@
+package com.plataformaEducativa.proyectoestructuradatos.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.plataformaEducativa.proyectoestructuradatos.config.HelpRequestMatchingProperties;
+import com.plataformaEducativa.proyectoestructuradatos.dto.HelpMatchDto;
+import com.plataformaEducativa.proyectoestructuradatos.dto.HelpMatchingReportDto;
+import com.plataformaEducativa.proyectoestructuradatos.enums.HelpRequestQueueEventType;
+import com.plataformaEducativa.proyectoestructuradatos.models.HelpRequest;
+import com.plataformaEducativa.proyectoestructuradatos.models.datastructure.HelpMatching.HelpMatch;
+import com.plataformaEducativa.proyectoestructuradatos.models.datastructure.HelpMatching.HelpRequestMatcher;
+import com.plataformaEducativa.proyectoestructuradatos.repository.HelpRequestRepository;
+import com.plataformaEducativa.proyectoestructuradatos.repository.StudentConnectionRepository;
+import com.plataformaEducativa.proyectoestructuradatos.repository.StudentRepository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Empareja por lotes las solicitudes de ayuda abiertas con estudiantes
+ * disponibles ({@link HelpRequestMatcher}). Un estudiante está disponible si
+ * está activo y tiene menos de {@code max-active-per-helper} solicitudes sin
+ * resolver asignadas.
+ *
+ * Las solicitudes salen de las colas residentes y los intereses, conexiones
+ * y asignaciones actuales se leen con consultas de proyección, sin cargar
+ * entidades. Al aplicar, todas las asignaciones se escriben en un único
+ * batch dentro de una transacción; cada fila lleva la misma condición que
+ * offer-help, de modo que las solicitudes que otro ayudante se llevó
+ * mientras tanto se omiten en lugar de sobrescribirse.
+ *
+ * Con {@code help-requests.matching.enabled=true} se ejecuta periódicamente;
+ * con {@code apply=false} solo registra las propuestas.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class HelpRequestMatchingService {
+
+    private static final String ASSIGN_HELPER_SQL = "UPDATE help_requests SET helper_id = ?, updated_at = ?, "
+            + "version = version + 1 WHERE id = ? AND helper_id IS NULL AND resolved = false";
+
+    private final HelpRequestRepository helpRequestRepository;
+    private final StudentRepository studentRepository;
+    private final StudentConnectionRepository connectionRepository;
+    private final HelpRequestQueueService helpRequestQueue;
+    private final HelpRequestSlaService helpRequestSla;
+    private final HelpRequestMatchingProperties matchingProperties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    // Una ejecución programada y una manual no deben repartir los mismos ayudantes a la vez
+    private final Object runLock = new Object();
+
+    @Scheduled(fixedDelayString = "${help-requests.matching.interval-ms:60000}")
+    public void scheduledRun() {
+        if (!matchingProperties.isEnabled()) {
+            return;
+        }
+
+        HelpMatchingReportDto report = run(matchingProperties.isApply());
+        if (report.getProposed() > 0) {
+            log.info("Help matching: {} open requests, {} helpers, {} proposed, {} applied, {} skipped in {} ms",
+                    report.getOpenRequests(), report.getHelpers(), report.getProposed(), report.getApplied(),
+                    report.getSkipped(), report.getElapsedMillis());
+        }
+    }
+
+    /**
+     * Calcula las asignaciones sin aplicarlas.
+     *
+     * @return Informe con las parejas propuestas
+     */
+    public HelpMatchingReportDto propose() {
+        return run(false);
+    }
+
+    /**
+     * Calcula las asignaciones y las aplica en una sola transacción.
+     *
+     * @return Informe con las parejas aplicadas y omitidas
+     */
+    public HelpMatchingReportDto apply() {
+        return run(true);
+    }
+
+    private HelpMatchingReportDto run(boolean apply) {
+        synchronized (runLock) {
+            long start = System.currentTimeMillis();
+
+            if (!helpRequestQueue.isLoaded()) {
+                // Las colas se cargan al arrancar; hasta entonces no hay nada que repartir
+                return HelpMatchingReportDto.builder()
+                        .applyMode(apply)
+                        .matches(List.of())
+                        .build();
+            }
+
+            List<HelpRequest> openRequests = helpRequestQueue.allOpenRequests();
+            HelpRequestMatcher matcher = buildMatcher(openRequests);
+            List<HelpMatch> matches = matcher.match();
+
+            Map<UUID, HelpRequest> requestsById = new HashMap<>();
+            for (HelpRequest request : openRequests) {
+                requestsById.put(request.getId(), request);
+            }
+
+            boolean[] applied = apply ? applyMatches(matches, requestsById) : new boolean[matches.size()];
+
+            List<HelpMatchDto> matchDtos = new ArrayList<>(matches.size());
+            int appliedCount = 0;
+            for (int i = 0; i < matches.size(); i++) {
+                HelpMatch match = matches.get(i);
+                HelpRequest request = requestsById.get(match.getRequestId());
+                if (applied[i]) {
+                    appliedCount++;
+                }
+                matchDtos.add(HelpMatchDto.builder()
+                        .requestId(match.getRequestId())
+                        .topic(request.getTopic())
+                        .priority(request.getPriority())
+                        .helperId(match.getHelperId())
+                        .score(match.getScore())
+                        .applied(applied[i])
+                        .build());
+            }
+
+            return HelpMatchingReportDto.builder()
+                    .openRequests(matcher.getRequestCount())
+                    .helpers(matcher.getHelperCount())
+                    .proposed(matches.size())
+                    .applied(appliedCount)
+                    .skipped(apply ? matches.size() - appliedCount : 0)
+                    .elapsedMillis(System.currentTimeMillis() - start)
+                    .applyMode(apply)
+                    .matches(matchDtos)
+                    .build();
+        }
+    }
+
+    private HelpRequestMatcher buildMatcher(List<HelpRequest> openRequests) {
+        HelpRequestMatcher.Builder builder = HelpRequestMatcher.builder();
+
+        // En orden de atención: a igual puntuación elige antes la más prioritaria
+        for (HelpRequest request : openRequests) {
+            builder.addRequest(request.getId(), request.getTopic(), request.getPriority(),
+                    request.getRequester().getId());
+        }
+
+        Map<UUID, Long> activeAssignments = new HashMap<>();
+        for (Object[] row : helpRequestRepository.countActiveAssignmentsByHelper()) {
+            activeAssignments.put((UUID) row[0], (Long) row[1]);
+        }
+        int maxActive = matchingProperties.getMaxActivePerHelper();
+        for (UUID studentId : studentRepository.findActiveStudentIds()) {
+            long capacity = maxActive - activeAssignments.getOrDefault(studentId, 0L);
+            builder.addHelper(studentId, (int) Math.max(0, capacity));
+        }
+
+        for (Object[] row : studentRepository.findAllStudentInterests()) {
+            builder.addInterest((UUID) row[0], (String) row[1]);
+        }
+        for (Object[] row : connectionRepository.findAllConnectionStrengths()) {
+            if (row[2] != null) {
+                builder.addConnection((UUID) row[0], (UUID) row[1], (Integer) row[2]);
+            }
+        }
+
+        return builder.build(matchingProperties.getCandidatesPerRequest());
+    }
+
+    /**
+     * Escribe las asignaciones en un único batch, saca de las colas las que
+     * se aplicaron y registra su tiempo hasta tener ayudante.
+     *
+     * @return Para cada pareja, si se aplicó
+     */
+    private boolean[] applyMatches(List<HelpMatch> matches, Map<UUID, HelpRequest> requestsById) {
+        boolean[] applied = new boolean[matches.size()];
+        if (matches.isEmpty()) {
+            return applied;
+        }
+
+        LocalDateTime assignedAt = LocalDateTime.now();
+        Timestamp now = Timestamp.valueOf(assignedAt);
+        int[][] counts = transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(ASSIGN_HELPER_SQL, matches,
+                matches.size(), (ps, match) -> {
+                    ps.setObject(1, match.getHelperId());
+                    ps.setTimestamp(2, now);
+                    ps.setObject(3, match.getRequestId());
+                }));
+
+        // Un solo lote de tamaño matches.size(); 0 filas = la solicitud ya no estaba abierta
+        int[] rowCounts = counts != null && counts.length > 0 ? counts[0] : new int[0];
+        for (int i = 0; i < rowCounts.length; i++) {
+            applied[i] = rowCounts[i] > 0;
+            if (applied[i]) {
+                HelpRequest request = requestsById.get(matches.get(i).getRequestId());
+                helpRequestQueue.remove(request.getId(), HelpRequestQueueEventType.CLAIMED);
+                helpRequestSla.recordFirstHelper(request.getPriority(), request.getTopic(), request.getCreatedAt(),
+                        assignedAt);
+            }
+        }
+        return applied;
+    }
+}
@@ -0,0 +1,578 @@
+package com.plataformaEducativa.proyectoestructuradatos.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.plataformaEducativa.proyectoestructuradatos.config.HelpRequestQueueProperties;
+import com.plataformaEducativa.proyectoestructuradatos.entity.HelpRequestEntity;
+import com.plataformaEducativa.proyectoestructuradatos.enums.HelpRequestPriority;
+import com.plataformaEducativa.proyectoestructuradatos.enums.HelpRequestQueueEventType;
+import com.plataformaEducativa.proyectoestructuradatos.mapper.HelpRequestMapper;
+import com.plataformaEducativa.proyectoestructuradatos.models.HelpRequest;
+import com.plataformaEducativa.proyectoestructuradatos.models.HelpRequestQueueEvent;
+import com.plataformaEducativa.proyectoestructuradatos.models.datastructure.HelpRequestPriorityQueue.AgingHelpRequestComparator;
+import com.plataformaEducativa.proyectoestructuradatos.models.datastructure.HelpRequestPriorityQueue.HelpRequestPriorityQueue;
+import com.plataformaEducativa.proyectoestructuradatos.repository.HelpRequestRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Mantiene en memoria las solicitudes de ayuda abiertas (sin resolver y sin
+ * ayudante), repartidas en una cola de prioridad por tema. Solo se consulta
+ * la base de datos al arrancar; a partir de ahí cada alta, edición, oferta
+ * de ayuda, resolución o borrado actualiza la cola de su tema.
+ *
+ * Una vez cargadas, las colas son la fuente de las solicitudes abiertas, así
+ * que esos cambios se aplican al confirmarse la transacción que los hace: un
+ * cambio que se revierte nunca llega a las colas, y una solicitud recién
+ * creada no se puede reclamar antes de que su fila sea visible.
+ *
+ * Cada tema tiene su propio cerrojo, así que un tema con mucha actividad no
+ * bloquea a los demás. La vista global (la siguiente solicitud de cualquier
+ * tema) y las listas de varios temas se obtienen mezclando las colas de los
+ * temas (k-way merge) en lugar de mantener una cola global aparte.
+ *
+ * Con {@code help-requests.queue.aging=true} las colas se ordenan por plazo
+ * virtual ({@link AgingHelpRequestComparator}) para que las prioridades bajas
+ * no esperen indefinidamente detrás de un flujo constante de otras más altas.
+ *
+ * Cada cambio de una cola se publica como {@link HelpRequestQueueEvent}
+ * (lo consume el stream SSE de solicitudes) cuando se confirma la
+ * transacción que lo produjo. Los eventos de una misma solicitud se publican
+ * en el orden en que se aplicaron.
+ */
+@Slf4j
+@Service
+public class HelpRequestQueueService {
+
+    private final HelpRequestRepository helpRequestRepository;
+    private final HelpRequestMapper helpRequestMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Comparator<HelpRequest> order;
+
+    private final ConcurrentMap<String, TopicQueue> topics = new ConcurrentHashMap<>();
+    // Tema en el que está encolada cada solicitud, para encontrar su cola al editarla o quitarla
+    private final ConcurrentMap<UUID, String> topicsById = new ConcurrentHashMap<>();
+
+    // Las escrituras comparten este cerrojo; la carga inicial lo toma en exclusiva
+    private final ReentrantReadWriteLock loadLock = new ReentrantReadWriteLock();
+    private volatile boolean loaded;
+
+    public HelpRequestQueueService(HelpRequestRepository helpRequestRepository, HelpRequestMapper helpRequestMapper,
+            HelpRequestQueueProperties properties, ApplicationEventPublisher eventPublisher) {
+        this.helpRequestRepository = helpRequestRepository;
+        this.helpRequestMapper = helpRequestMapper;
+        this.eventPublisher = eventPublisher;
+        this.order = properties.isAging()
+                ? new AgingHelpRequestComparator(Map.of(
+                        HelpRequestPriority.URGENT, properties.getUrgentDelay(),
+                        HelpRequestPriority.HIGH, properties.getHighDelay(),
+                        HelpRequestPriority.MEDIUM, properties.getMediumDelay(),
+                        HelpRequestPriority.LOW, properties.getLowDelay()))
+                : Comparator.naturalOrder();
+    }
+
+    /**
+     * Orden de atención de las colas (natural o con envejecimiento).
+     */
+    public Comparator<HelpRequest> getOrder() {
+        return order;
+    }
+
+    /**
+     * Carga las solicitudes abiertas al arrancar. Las escrituras que lleguen
+     * mientras tanto esperan y se aplican sobre las colas cargadas.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void loadQueue() {
+        long start = System.currentTimeMillis();
+        int count = 0;
+
+        loadLock.writeLock().lock();
+        try {
+            topics.clear();
+            topicsById.clear();
+            for (HelpRequestEntity entity : helpRequestRepository.findByResolvedFalseOrderByPriorityDescCreatedAtAsc()) {
+                if (entity.getHelper() == null) {
+                    HelpRequest model = helpRequestMapper.entityToModel(entity);
+                    topicQueue(model.getTopic()).queue.enqueue(model);
+                    topicsById.put(model.getId(), model.getTopic());
+                    count++;
+                }
+            }
+            loaded = true;
+        } finally {
+            loadLock.writeLock().unlock();
+        }
+        publish(HelpRequestQueueEventType.RELOADED, null, null, null);
+
+        log.info("Help request queues loaded with {} open requests in {} topics in {} ms",
+                count, topics.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Indica si las colas ya están cargadas. Antes de eso las consultas se
+     * resuelven desde la base de datos.
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Refleja el estado de una solicitud guardada: entra (o se recoloca) en la
+     * cola de su tema si sigue abierta y sin ayudante, y sale en otro caso. Si
+     * cambió de tema se mueve de cola. Dentro de una transacción el cambio se
+     * aplica al confirmarla.
+     *
+     * @param request Entidad guardada
+     */
+    public void sync(HelpRequestEntity request) {
+        boolean open = !request.isResolved() && request.getHelper() == null;
+        // Se mapea ahora, mientras la sesión puede cargar el solicitante
+        HelpRequest model = open ? helpRequestMapper.entityToModel(request) : null;
+        UUID requestId = request.getId();
+        boolean resolved = request.isResolved();
+
+        afterCommit(() -> applySync(requestId, model, resolved));
+    }
+
+    /**
+     * Saca una solicitud de su cola (asignada, resuelta o eliminada). Dentro
+     * de una transacción el cambio se aplica al confirmarla.
+     *
+     * @param requestId ID de la solicitud
+     * @param reason    Motivo: {@code CLAIMED}, {@code RESOLVED} o {@code REMOVED}
+     */
+    public void remove(UUID requestId, HelpRequestQueueEventType reason) {
+        afterCommit(() -> applyRemove(requestId, reason));
+    }
+
+    private void applySync(UUID requestId, HelpRequest model, boolean resolved) {
+        loadLock.readLock().lock();
+        try {
+            if (!loaded) {
+                // La carga aún no ha leído la base de datos y verá este cambio ya confirmado
+                return;
+            }
+            // compute serializa los cambios de una misma solicitud
+            topicsById.compute(requestId, (id, currentTopic) -> {
+                if (currentTopic != null && (model == null || !currentTopic.equals(model.getTopic()))) {
+                    withWriteLock(currentTopic, queue -> queue.remove(id));
+                    HelpRequestQueueEventType reason = model != null ? HelpRequestQueueEventType.REMOVED
+                            : resolved ? HelpRequestQueueEventType.RESOLVED
+                                    : HelpRequestQueueEventType.CLAIMED;
+                    publish(reason, id, currentTopic, null);
+                }
+                if (model == null) {
+                    return null;
+                }
+                withWriteLock(model.getTopic(), queue -> {
+                    // enqueue recoloca la solicitud si ya estaba en la cola
+                    queue.enqueue(model);
+                    return true;
+                });
+                publish(HelpRequestQueueEventType.ENQUEUED, id, model.getTopic(), model);
+                return model.getTopic();
+            });
+        } finally {
+            loadLock.readLock().unlock();
+        }
+    }
+
+    private void applyRemove(UUID requestId, HelpRequestQueueEventType reason) {
+        loadLock.readLock().lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            topicsById.computeIfPresent(requestId, (id, topic) -> {
+                withWriteLock(topic, queue -> queue.remove(id));
+                publish(reason, id, topic, null);
+                return null;
+            });
+        } finally {
+            loadLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Saca de la cola la solicitud abierta de mayor prioridad para un
+     * ayudante, de un tema o de cualquiera. Se omiten las solicitudes del
+     * propio ayudante. Al salir de la cola bajo su cerrojo, dos ayudantes
+     * concurrentes nunca reciben la misma solicitud. El evento {@code CLAIMED}
+     * se publica al confirmarse la transacción que la reclama; si se revierte,
+     * la solicitud vuelve a la cola.
+     *
+     * @param topic    Tema (null para cualquiera)
+     * @param helperId ID del estudiante que reclama
+     * @return Solicitud reservada o null si no hay ninguna disponible
+     */
+    public HelpRequest poll(String topic, UUID helperId) {
+        Predicate<HelpRequest> notOwn = candidate -> !Objects.equals(candidate.getRequester().getId(), helperId);
+        HelpRequest request = null;
+
+        loadLock.readLock().lock();
+        try {
+            if (topic != null) {
+                request = pollTopic(topic, notOwn);
+            } else {
+                // Cabeza global: la mejor de las cabezas de cada tema. Si otro
+                // ayudante vacía ese tema entre la consulta y la extracción, se repite
+                String bestTopic;
+                while (request == null && (bestTopic = bestTopic(notOwn)) != null) {
+                    request = pollTopic(bestTopic, notOwn);
+                }
+            }
+        } finally {
+            loadLock.readLock().unlock();
+        }
+
+        if (request != null) {
+            completeClaim(request);
+        }
+        return request;
+    }
+
+    /**
+     * Devuelve la solicitud abierta de mayor prioridad de cualquier tema sin
+     * sacarla de la cola: O(k) sobre las cabezas de los k temas.
+     *
+     * @return Solicitud o null si no hay ninguna abierta
+     */
+    public HelpRequest peek() {
+        HelpRequest best = null;
+        for (String topic : topics.keySet()) {
+            HelpRequest head = withReadLock(topic, queue -> queue.isEmpty() ? null : queue.peek());
+            if (head != null && (best == null || order.compare(head, best) < 0)) {
+                best = head;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Solicitudes abiertas de un tema, ordenadas por prioridad.
+     *
+     * @param topic Tema
+     * @return Solicitudes en orden de atención
+     */
+    public List<HelpRequest> openRequests(String topic) {
+        List<HelpRequest> requests = orderedSnapshot(topic, Integer.MAX_VALUE);
+        return requests != null ? requests : List.of();
+    }
+
+    /**
+     * Página de solicitudes abiertas en orden de atención, de un tema o de
+     * todos. Solo se recorren las {@code offset + limit} primeras de cada
+     * tema; el resto de cada cola no se visita ni se copia.
+     *
+     * @param topic  Tema (null para todos)
+     * @param offset Solicitudes a saltar
+     * @param limit  Tamaño máximo de la página
+     * @return Solicitudes de la página en orden de atención
+     */
+    public List<HelpRequest> openRequestsPage(String topic, long offset, int limit) {
+        if (topic != null) {
+            List<HelpRequest> page = withReadLock(topic, queue -> queue.page(offset, limit));
+            return page != null ? page : List.of();
+        }
+
+        int needed = (int) Math.min(Integer.MAX_VALUE, offset + limit);
+        List<List<HelpRequest>> runs = new ArrayList<>();
+        for (String queueTopic : topics.keySet()) {
+            List<HelpRequest> run = orderedSnapshot(queueTopic, needed);
+            if (run != null && !run.isEmpty()) {
+                runs.add(run);
+            }
+        }
+
+        List<HelpRequest> merged = merge(runs, needed);
+        if (offset >= merged.size()) {
+            return List.of();
+        }
+        return merged.subList((int) offset, merged.size());
+    }
+
+    /**
+     * Solicitudes abiertas de varios temas mezcladas en orden de prioridad,
+     * omitiendo las de un solicitante (normalmente el propio estudiante).
+     *
+     * @param topicNames          Temas a mezclar
+     * @param excludedRequesterId Solicitante a omitir (null para ninguno)
+     * @return Solicitudes en orden de atención
+     */
+    public List<HelpRequest> openRequests(Collection<String> topicNames, UUID excludedRequesterId) {
+        List<List<HelpRequest>> runs = new ArrayList<>();
+        for (String topic : topicNames) {
+            List<HelpRequest> run = orderedSnapshot(topic, Integer.MAX_VALUE);
+            if (run != null && !run.isEmpty()) {
+                runs.add(run);
+            }
+        }
+
+        List<HelpRequest> merged = new ArrayList<>();
+        for (HelpRequest request : merge(runs, Integer.MAX_VALUE)) {
+            if (excludedRequesterId == null || !excludedRequesterId.equals(request.getRequester().getId())) {
+                merged.add(request);
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Solicitudes abiertas de todos los temas en orden de atención.
+     *
+     * @return Solicitudes en orden de atención
+     */
+    public List<HelpRequest> allOpenRequests() {
+        return openRequests(List.copyOf(topics.keySet()), null);
+    }
+
+    public int size() {
+        return topicsById.size();
+    }
+
+    /**
+     * @param topic Tema (null para todos)
+     * @return Número de solicitudes abiertas del tema
+     */
+    public int size(String topic) {
+        if (topic == null) {
+            return size();
+        }
+        Integer size = withReadLock(topic, HelpRequestPriorityQueue::size);
+        return size != null ? size : 0;
+    }
+
+    /**
+     * Saca la primera solicitud de un tema que cumple el filtro. La extracción
+     * se hace dentro de {@code topicsById.compute} de esa solicitud, igual que
+     * en sync y remove, para que un cambio concurrente de la misma solicitud
+     * no quede a medias entre la cola y el índice por ID.
+     */
+    private HelpRequest pollTopic(String topic, Predicate<HelpRequest> filter) {
+        if (!topics.containsKey(topic)) {
+            // No se crean colas para temas sin solicitudes
+            return null;
+        }
+
+        HelpRequest head;
+        while ((head = withReadLock(topic, queue -> queue.peek(filter))) != null) {
+            HelpRequest[] polled = new HelpRequest[1];
+            topicsById.compute(head.getId(), (id, currentTopic) -> {
+                HelpRequest current = withWriteLock(topic, queue -> {
+                    HelpRequest found = queue.findById(id);
+                    if (found != null) {
+                        queue.remove(id);
+                    }
+                    return found;
+                });
+                if (!topic.equals(currentTopic)) {
+                    // El índice no la sitúa en este tema: la entrada de esta cola
+                    // estaba obsoleta, se retira sin entregarla
+                    return currentTopic;
+                }
+                polled[0] = current;
+                return null;
+            });
+            if (polled[0] != null) {
+                return polled[0];
+            }
+            // Otro ayudante u otra operación se adelantó con esa solicitud: se prueba la siguiente
+        }
+        return null;
+    }
+
+    private String bestTopic(Predicate<HelpRequest> filter) {
+        String bestTopic = null;
+        HelpRequest best = null;
+        for (String topic : topics.keySet()) {
+            HelpRequest head = withReadLock(topic, queue -> queue.peek(filter));
+            if (head != null && (best == null || order.compare(head, best) < 0)) {
+                best = head;
+                bestTopic = topic;
+            }
+        }
+        return bestTopic;
+    }
+
+    /**
+     * Las {@code limit} primeras solicitudes de un tema en orden, leídas del
+     * montículo sin copiarlo ni ordenarlo entero.
+     *
+     * @return Solicitudes en orden de atención, o null si el tema no tiene cola
+     */
+    private List<HelpRequest> orderedSnapshot(String topic, int limit) {
+        return withReadLock(topic, queue -> queue.topN(Math.min(limit, queue.size())));
+    }
+
+    /**
+     * Mezcla listas ya ordenadas con un montículo de cursores hasta reunir
+     * {@code limit} solicitudes: O(limit log k).
+     */
+    private List<HelpRequest> merge(List<List<HelpRequest>> runs, int limit) {
+        if (runs.size() == 1) {
+            List<HelpRequest> run = runs.get(0);
+            return run.size() > limit ? run.subList(0, limit) : run;
+        }
+
+        PriorityQueue<RunCursor> heads = new PriorityQueue<>(Math.max(1, runs.size()),
+                (first, second) -> order.compare(first.current(), second.current()));
+        int total = 0;
+        for (List<HelpRequest> run : runs) {
+            heads.add(new RunCursor(run));
+            total += run.size();
+        }
+
+        List<HelpRequest> merged = new ArrayList<>(Math.min(total, limit));
+        while (!heads.isEmpty() && merged.size() < limit) {
+            RunCursor cursor = heads.poll();
+            merged.add(cursor.current());
+            if (cursor.advance()) {
+                heads.add(cursor);
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Ejecuta un cambio de las colas al confirmarse la transacción actual, o
+     * en el momento si no hay ninguna.
+     */
+    private void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+
+    /**
+     * Cierra la reserva de una solicitud extraída por {@link #poll}: al
+     * confirmarse se anuncia como reclamada y, si se revierte, vuelve a su cola.
+     */
+    private void completeClaim(HelpRequest request) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(HelpRequestQueueEventType.CLAIMED, request.getId(), request.getTopic(), null);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    publish(HelpRequestQueueEventType.CLAIMED, request.getId(), request.getTopic(), null);
+                    return;
+                }
+                if (status != STATUS_ROLLED_BACK) {
+                    return;
+                }
+                // Los suscriptores que tomaron su instantánea durante la reserva no la
+                // tienen; si ya no está abierta, el siguiente intento de reclamarla la descarta
+                loadLock.readLock().lock();
+                try {
+                    topicsById.computeIfAbsent(request.getId(), id -> {
+                        withWriteLock(request.getTopic(), queue -> {
+                            queue.enqueue(request);
+                            return true;
+                        });
+                        publish(HelpRequestQueueEventType.ENQUEUED, id, request.getTopic(), request);
+                        return request.getTopic();
+                    });
+                } finally {
+                    loadLock.readLock().unlock();
+                }
+            }
+        });
+    }
+
+    private void publish(HelpRequestQueueEventType type, UUID requestId, String topic, HelpRequest request) {
+        eventPublisher.publishEvent(new HelpRequestQueueEvent(type, requestId, topic, request));
+    }
+
+    private TopicQueue topicQueue(String topic) {
+        return topics.computeIfAbsent(topic, t -> new TopicQueue(order));
+    }
+
+    private <T> T withWriteLock(String topic, Function<HelpRequestPriorityQueue, T> action) {
+        TopicQueue topicQueue = topicQueue(topic);
+        topicQueue.lock.writeLock().lock();
+        try {
+            return action.apply(topicQueue.queue);
+        } finally {
+            topicQueue.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return Resultado de la acción, o null si el tema no tiene cola
+     */
+    private <T> T withReadLock(String topic, Function<HelpRequestPriorityQueue, T> action) {
+        TopicQueue topicQueue = topics.get(topic);
+        if (topicQueue == null) {
+            return null;
+        }
+        topicQueue.lock.readLock().lock();
+        try {
+            return action.apply(topicQueue.queue);
+        } finally {
+            topicQueue.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Cola de un tema con su propio cerrojo.
+     */
+    private static final class TopicQueue {
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final HelpRequestPriorityQueue queue;
+
+        TopicQueue(Comparator<HelpRequest> order) {
+            this.queue = new HelpRequestPriorityQueue(order);
+        }
+    }
+
+    /**
+     * Posición de lectura dentro de una lista ordenada durante la mezcla.
+     */
+    private static final class RunCursor {
+        private final List<HelpRequest> run;
+        private int position;
+
+        RunCursor(List<HelpRequest> run) {
+            this.run = run;
+        }
+
+        HelpRequest current() {
+            return run.get(position);
+        }
+
+        boolean advance() {
+            return ++position < run.size();
+        }
+    }
+}
@@ -1,6 +1,10 @@
 package com.plataformaEducativa.proyectoestructuradatos.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -9,6 +13,8 @@ import org.springframework.transaction.annotation.Transactional;
 import com.plataformaEducativa.proyectoestructuradatos.dto.HelpRequestDto;
 import com.plataformaEducativa.proyectoestructuradatos.entity.StudentEntity;
 import com.plataformaEducativa.proyectoestructuradatos.entity.HelpRequestEntity;
+import com.plataformaEducativa.proyectoestructuradatos.enums.HelpRequestQueueEventType;
+import com.plataformaEducativa.proyectoestructuradatos.exception.ConcurrentUpdateException;
 import com.plataformaEducativa.proyectoestructuradatos.exception.ResourceNotFoundException;
 import com.plataformaEducativa.proyectoestructuradatos.mapper.HelpRequestMapper;
 import com.plataformaEducativa.proyectoestructuradatos.models.HelpRequest;
@@ -17,6 +23,8 @@ import com.plataformaEducativa.proyectoestructuradatos.repository.HelpRequestRep
 import com.plataformaEducativa.proyectoestructuradatos.repository.StudentRepository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -28,6 +36,8 @@ public class HelpRequestService {
     private final HelpRequestRepository helpRequestRepository;
     private final StudentRepository studentRepository;
     private final HelpRequestMapper helpRequestMapper;
+    private final HelpRequestQueueService helpRequestQueue;
+    private final HelpRequestSlaService helpRequestSla;
 
     public List<HelpRequestDto> getAllHelpRequests() {
         return helpRequestRepository.findAll().stream()
@@ -57,6 +67,7 @@ public class HelpRequestService {
 
         HelpRequestEntity helpRequest = helpRequestMapper.dtoToEntity(helpRequestDto);
         HelpRequestEntity savedHelpRequest = helpRequestRepository.save(helpRequest);
+        helpRequestQueue.sync(savedHelpRequest);
 
         return helpRequestMapper.entityToDto(savedHelpRequest);
     }
@@ -80,8 +91,22 @@ public class HelpRequestService {
             throw new AccessDeniedException("You are not authorized to update this help request");
         }
 
+        // Assigning and resolving go through offer-help / resolve, which record the SLA samples
+        UUID currentHelperId = helpRequest.getHelper() != null ? helpRequest.getHelper().getId() : null;
+        if (helpRequestDto.getHelperId() != null && !helpRequestDto.getHelperId().equals(currentHelperId)) {
+            throw new IllegalStateException("Use offer-help to assign a helper to this help request");
+        }
+        if (helpRequestDto.isResolved() && !helpRequest.isResolved()) {
+            throw new IllegalStateException("Use resolve to mark this help request as resolved");
+        }
+
         helpRequestMapper.updateEntityFromDto(helpRequestDto, helpRequest);
-        HelpRequestEntity updatedHelpRequest = helpRequestRepository.save(helpRequest);
+        if (!helpRequest.isResolved()) {
+            helpRequest.setResolvedAt(null);
+        }
+        HelpRequestEntity updatedHelpRequest = saveChecked(helpRequest);
+        // Priority may have changed, or the request released or reopened
+        helpRequestQueue.sync(updatedHelpRequest);
 
         return helpRequestMapper.entityToDto(updatedHelpRequest);
     }
@@ -104,6 +129,7 @@ public class HelpRequestService {
         }
 
         helpRequestRepository.delete(helpRequest);
+        helpRequestQueue.remove(id, HelpRequestQueueEventType.REMOVED);
     }
 
     @Transactional
@@ -130,11 +156,86 @@ public class HelpRequestService {
             throw new IllegalStateException("You cannot offer help on your own request");
         }
 
-        // Set helper
-        helpRequest.setHelper(helper);
-        HelpRequestEntity updatedHelpRequest = helpRequestRepository.save(helpRequest);
+        // Conditional update: a concurrent offer or claim must not be overwritten
+        LocalDateTime assignedAt = LocalDateTime.now();
+        if (helpRequestRepository.assignHelperIfOpen(helpRequestId, helper, assignedAt) == 0) {
+            throw new IllegalStateException("This help request already has a helper");
+        }
+        helpRequestQueue.remove(helpRequestId, HelpRequestQueueEventType.CLAIMED);
+        helpRequestSla.recordFirstHelper(helpRequest.getPriority(), helpRequest.getTopic(),
+                helpRequest.getCreatedAt(), assignedAt);
+
+        return helpRequestMapper.entityToDto(findHelpRequest(helpRequestId));
+    }
 
-        return helpRequestMapper.entityToDto(updatedHelpRequest);
+    /**
+     * Reclama para el estudiante actual la solicitud abierta de mayor
+     * prioridad, opcionalmente de un tema, en una sola operación. La solicitud
+     * sale de la cola residente bajo su cerrojo y se asigna con una
+     * actualización condicional; si otro ayudante se adelantó por
+     * offer-help, la entrada se descarta y se prueba con la siguiente.
+     *
+     * @param topic Tema (null o vacío para cualquiera)
+     * @return Solicitud asignada o null si no hay ninguna disponible
+     */
+    @Transactional
+    public HelpRequestDto claimNextHelpRequest(String topic) {
+        String currentUsername = SecurityContextHolder.getContext().getAuthentication().getName();
+        StudentEntity helper = studentRepository.findByUsername(currentUsername)
+                .orElseThrow(() -> new AccessDeniedException("Only students can offer help"));
+        String topicFilter = topic == null || topic.isBlank() ? null : topic.trim();
+
+        if (!helpRequestQueue.isLoaded()) {
+            return claimNextFromDatabase(helper, topicFilter);
+        }
+
+        HelpRequest candidate;
+        while ((candidate = helpRequestQueue.poll(topicFilter, helper.getId())) != null) {
+            LocalDateTime assignedAt = LocalDateTime.now();
+            if (helpRequestRepository.assignHelperIfOpen(candidate.getId(), helper, assignedAt) == 1) {
+                helpRequestSla.recordFirstHelper(candidate.getPriority(), candidate.getTopic(),
+                        candidate.getCreatedAt(), assignedAt);
+                return helpRequestMapper.entityToDto(findHelpRequest(candidate.getId()));
+            }
+            // Stale entry (assigned, resolved or deleted meanwhile): already out of the queue
+        }
+        return null;
+    }
+
+    private HelpRequestDto claimNextFromDatabase(StudentEntity helper, String topic) {
+        for (HelpRequestEntity candidate : helpRequestRepository.findByResolvedFalseOrderByPriorityDescCreatedAtAsc()) {
+            if (candidate.getHelper() != null
+                    || (topic != null && !topic.equals(candidate.getTopic()))
+                    || candidate.getRequester().getId().equals(helper.getId())) {
+                continue;
+            }
+            LocalDateTime assignedAt = LocalDateTime.now();
+            if (helpRequestRepository.assignHelperIfOpen(candidate.getId(), helper, assignedAt) == 1) {
+                helpRequestSla.recordFirstHelper(candidate.getPriority(), candidate.getTopic(),
+                        candidate.getCreatedAt(), assignedAt);
+                return helpRequestMapper.entityToDto(findHelpRequest(candidate.getId()));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Guarda y escribe ya la solicitud, para que un conflicto de versión (otra
+     * transacción la asignó o modificó después de leerla) se informe como tal
+     * en lugar de pisar sus cambios.
+     */
+    private HelpRequestEntity saveChecked(HelpRequestEntity helpRequest) {
+        try {
+            return helpRequestRepository.saveAndFlush(helpRequest);
+        } catch (OptimisticLockingFailureException e) {
+            throw new ConcurrentUpdateException(
+                    "Help request " + helpRequest.getId() + " was modified concurrently, please retry");
+        }
+    }
+
+    private HelpRequestEntity findHelpRequest(UUID id) {
+        return helpRequestRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Help request not found with id: " + id));
     }
 
     @Transactional
@@ -156,10 +257,16 @@ public class HelpRequestService {
             throw new AccessDeniedException("You are not authorized to resolve this help request");
         }
 
-        // Set as resolved
+        // Set as resolved (resolving twice must not count twice in the SLA metrics)
+        boolean wasResolved = helpRequest.isResolved();
         helpRequest.setResolved(true);
         helpRequest.setResolvedAt(LocalDateTime.now());
-        HelpRequestEntity updatedHelpRequest = helpRequestRepository.save(helpRequest);
+        HelpRequestEntity updatedHelpRequest = saveChecked(helpRequest);
+        helpRequestQueue.remove(helpRequestId, HelpRequestQueueEventType.RESOLVED);
+        if (!wasResolved) {
+            helpRequestSla.recordResolution(updatedHelpRequest.getPriority(), updatedHelpRequest.getTopic(),
+                    updatedHelpRequest.getCreatedAt(), updatedHelpRequest.getResolvedAt());
+        }
 
         return helpRequestMapper.entityToDto(updatedHelpRequest);
     }
@@ -170,12 +277,69 @@ public class HelpRequestService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Solicitudes abiertas (sin resolver y sin ayudante) de un tema, en orden
+     * de prioridad. Se sirven desde la cola del tema una vez cargada; antes,
+     * se leen de la base de datos y se ordenan con el mismo criterio.
+     */
+    @Transactional(readOnly = true)
     public List<HelpRequestDto> getHelpRequestsByTopic(String topic) {
-        return helpRequestRepository.findByTopicAndResolvedFalse(topic).stream()
-                .map(helpRequestMapper::entityToDto)
+        List<HelpRequest> requests;
+        if (helpRequestQueue.isLoaded()) {
+            requests = helpRequestQueue.openRequests(topic);
+        } else {
+            requests = helpRequestRepository.findByTopicAndResolvedFalseAndHelperIsNull(topic).stream()
+                    .map(helpRequestMapper::entityToModel)
+                    .sorted(helpRequestQueue.getOrder())
+                    .collect(Collectors.toList());
+        }
+        return requests.stream()
+                .map(helpRequestMapper::modelToDto)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Página de la cola de solicitudes abiertas en orden de atención, de un
+     * tema o de todos, para la vista de moderación. Se lee de las colas sin
+     * ordenar ni copiar las solicitudes que quedan fuera de la página.
+     *
+     * @param topic    Tema (null o vacío para todos)
+     * @param pageable Página solicitada (se ignora el orden: siempre es el de atención)
+     * @return Página de solicitudes
+     */
+    @Transactional(readOnly = true)
+    public Page<HelpRequestDto> getOpenHelpRequestsPage(String topic, Pageable pageable) {
+        String topicFilter = topic == null || topic.isBlank() ? null : topic;
+        long offset = pageable.getOffset();
+        int limit = pageable.getPageSize();
+
+        List<HelpRequest> page;
+        long total;
+        if (helpRequestQueue.isLoaded()) {
+            page = helpRequestQueue.openRequestsPage(topicFilter, offset, limit);
+            total = helpRequestQueue.size(topicFilter);
+        } else {
+            page = new ArrayList<>();
+            total = 0;
+            Iterator<HelpRequest> ordered = buildHelpRequestPriorityQueue().orderedIterator();
+            while (ordered.hasNext()) {
+                HelpRequest request = ordered.next();
+                if (topicFilter != null && !topicFilter.equals(request.getTopic())) {
+                    continue;
+                }
+                if (total >= offset && page.size() < limit) {
+                    page.add(request);
+                }
+                total++;
+            }
+        }
+
+        List<HelpRequestDto> content = page.stream()
+                .map(helpRequestMapper::modelToDto)
+                .collect(Collectors.toList());
+        return new PageImpl<>(content, pageable, total);
+    }
+
     public List<HelpRequestDto> searchActiveHelpRequestsByKeyword(String keyword) {
         return helpRequestRepository.searchActiveRequestsByKeyword(keyword).stream()
                 .map(helpRequestMapper::entityToDto)
@@ -201,15 +365,27 @@ public class HelpRequestService {
 
     /**
      * Obtiene solicitudes de ayuda que coinciden con los intereses académicos del
-     * estudiante
+     * estudiante, en orden de prioridad. Una vez cargadas las colas se mezclan
+     * las de los temas de interés del estudiante en lugar de consultar la base
+     * de datos.
      * 
      * @param studentId UUID del estudiante
      * @return Lista de DTOs de solicitudes recomendadas
      * @throws IllegalArgumentException si el studentId es nulo
      */
+    @Transactional(readOnly = true)
     public List<HelpRequestDto> getRecommendedHelpRequestsForStudent(UUID studentId) {
         validateStudentId(studentId);
 
+        if (helpRequestQueue.isLoaded()) {
+            return studentRepository.findById(studentId)
+                    .map(student -> helpRequestQueue.openRequests(student.getAcademicInterests(), studentId))
+                    .orElse(List.of())
+                    .stream()
+                    .map(helpRequestMapper::modelToDto)
+                    .collect(Collectors.toList());
+        }
+
         List<HelpRequestEntity> recommendedRequests = helpRequestRepository
                 .findRequestsMatchingStudentInterests(studentId);
 
@@ -233,9 +409,13 @@ public class HelpRequestService {
     public HelpRequestPriorityQueue buildHelpRequestPriorityQueue() {
         List<HelpRequestEntity> activeRequests = helpRequestRepository
                 .findByResolvedFalseOrderByPriorityDescCreatedAtAsc();
-        HelpRequestPriorityQueue priorityQueue = new HelpRequestPriorityQueue();
+        HelpRequestPriorityQueue priorityQueue = new HelpRequestPriorityQueue(helpRequestQueue.getOrder());
 
         for (HelpRequestEntity entity : activeRequests) {
+            // Requests that already have a helper are not waiting for one
+            if (entity.getHelper() != null) {
+                continue;
+            }
             HelpRequest model = helpRequestMapper.entityToModel(entity);
             priorityQueue.enqueue(model);
         }
@@ -243,28 +423,26 @@ public class HelpRequestService {
         return priorityQueue;
     }
 
+    /**
+     * Devuelve la solicitud abierta (sin resolver y sin ayudante) de mayor
+     * prioridad de cualquier tema, comparando las cabezas de las colas por
+     * tema; antes de cargarlas se calcula desde la base de datos.
+     *
+     * @return Solicitud o null si no hay ninguna abierta
+     */
     public HelpRequestDto getNextHighestPriorityRequest() {
-        HelpRequestPriorityQueue priorityQueue = buildHelpRequestPriorityQueue();
+        HelpRequest nextRequest;
+        if (helpRequestQueue.isLoaded()) {
+            nextRequest = helpRequestQueue.peek();
+        } else {
+            HelpRequestPriorityQueue priorityQueue = buildHelpRequestPriorityQueue();
+            nextRequest = priorityQueue.isEmpty() ? null : priorityQueue.peek();
+        }
 
-        if (priorityQueue.isEmpty()) {
+        if (nextRequest == null) {
             return null;
         }
 
-        HelpRequest nextRequest = priorityQueue.peek();
-        return HelpRequestDto.builder()
-                .id(nextRequest.getId())
-                .title(nextRequest.getTitle())
-                .description(nextRequest.getDescription())
-                .topic(nextRequest.getTopic())
-                .priority(nextRequest.getPriority())
-                .requesterId(nextRequest.getRequester().getId())
-                .requesterUsername(nextRequest.getRequester().getUsername())
-                .helperId(nextRequest.getHelper() != null ? nextRequest.getHelper().getId() : null)
-                .helperUsername(nextRequest.getHelper() != null ? nextRequest.getHelper().getUsername() : null)
-                .resolved(nextRequest.isResolved())
-                .resolvedAt(nextRequest.getResolvedAt())
-                .createdAt(nextRequest.getCreatedAt())
-                .updatedAt(nextRequest.getUpdatedAt())
-                .build();
+        return helpRequestMapper.modelToDto(nextRequest);
     }
 }
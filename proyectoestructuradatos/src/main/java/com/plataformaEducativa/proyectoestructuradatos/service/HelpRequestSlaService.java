@@ -0,0 +1,165 @@
+package com.plataformaEducativa.proyectoestructuradatos.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.extern.slf4j.Slf4j;
+
+import org.HdrHistogram.Histogram;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.plataformaEducativa.proyectoestructuradatos.config.HelpRequestSlaProperties;
+import com.plataformaEducativa.proyectoestructuradatos.dto.HelpRequestSlaStatsDto;
+import com.plataformaEducativa.proyectoestructuradatos.enums.HelpRequestPriority;
+import com.plataformaEducativa.proyectoestructuradatos.enums.HelpRequestSlaMetric;
+import com.plataformaEducativa.proyectoestructuradatos.models.datastructure.HelpRequestSla.HelpRequestSlaHistograms;
+import com.plataformaEducativa.proyectoestructuradatos.models.datastructure.HelpRequestSla.HelpRequestSlaHistograms.LatencySeries;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tiempos de servicio de las solicitudes de ayuda: desde que se crean hasta
+ * que un ayudante las toma y hasta que se resuelven, por prioridad y tema.
+ *
+ * Las latencias se guardan en {@link HelpRequestSlaHistograms} y se registran
+ * al confirmarse la transacción que asigna o resuelve, para no contar
+ * cambios que luego se deshacen. Cada serie se publica en Micrometer como
+ * percentiles (0.5, 0.9, 0.99), máximo y número de muestras; el resumen para
+ * moderadores se calcula de los mismos histogramas.
+ *
+ * Los histogramas viven en memoria: tras reiniciar empiezan vacíos.
+ */
+@Slf4j
+@Service
+public class HelpRequestSlaService {
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99};
+
+    private final MeterRegistry meterRegistry;
+    private final HelpRequestSlaHistograms histograms;
+
+    // Series ya publicadas en el registro de métricas
+    private final Set<LatencySeries> registered = ConcurrentHashMap.newKeySet();
+
+    public HelpRequestSlaService(MeterRegistry meterRegistry, HelpRequestSlaProperties slaProperties) {
+        this.meterRegistry = meterRegistry;
+        this.histograms = new HelpRequestSlaHistograms(slaProperties.getMaxTopics());
+    }
+
+    /**
+     * Registra el tiempo hasta que la solicitud tuvo ayudante.
+     */
+    public void recordFirstHelper(HelpRequestPriority priority, String topic, LocalDateTime createdAt,
+            LocalDateTime assignedAt) {
+        recordAfterCommit(HelpRequestSlaMetric.TIME_TO_FIRST_HELPER, priority, topic, createdAt, assignedAt);
+    }
+
+    /**
+     * Registra el tiempo hasta que la solicitud se resolvió.
+     */
+    public void recordResolution(HelpRequestPriority priority, String topic, LocalDateTime createdAt,
+            LocalDateTime resolvedAt) {
+        recordAfterCommit(HelpRequestSlaMetric.TIME_TO_RESOLVE, priority, topic, createdAt, resolvedAt);
+    }
+
+    /**
+     * Resumen de latencias por métrica y prioridad, con una fila para todos
+     * los temas y, si se pide, una por tema.
+     *
+     * @param byTopic Si se desglosa por tema
+     * @return Estadísticas (solo de las combinaciones con muestras)
+     */
+    public List<HelpRequestSlaStatsDto> getStatistics(boolean byTopic) {
+        List<HelpRequestSlaStatsDto> statistics = new ArrayList<>();
+        for (HelpRequestSlaMetric metric : HelpRequestSlaMetric.values()) {
+            for (HelpRequestPriority priority : HelpRequestPriority.values()) {
+                Histogram all = histograms.snapshot(metric, priority);
+                if (all.getTotalCount() == 0) {
+                    continue;
+                }
+                statistics.add(toDto(metric, priority, null, all));
+
+                if (byTopic) {
+                    for (Map.Entry<String, Histogram> entry : histograms.snapshotByTopic(metric, priority).entrySet()) {
+                        statistics.add(toDto(metric, priority, entry.getKey(), entry.getValue()));
+                    }
+                }
+            }
+        }
+        return statistics;
+    }
+
+    private void recordAfterCommit(HelpRequestSlaMetric metric, HelpRequestPriority priority, String topic,
+            LocalDateTime from, LocalDateTime to) {
+        if (priority == null || from == null || to == null) {
+            return;
+        }
+        long millis = Duration.between(from, to).toMillis();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    record(metric, priority, topic, millis);
+                }
+            });
+        } else {
+            record(metric, priority, topic, millis);
+        }
+    }
+
+    private void record(HelpRequestSlaMetric metric, HelpRequestPriority priority, String topic, long millis) {
+        LatencySeries series = histograms.record(metric, priority, topic, millis);
+        if (registered.add(series)) {
+            register(metric, priority, histograms.bucketTopic(topic), series);
+        }
+    }
+
+    private void register(HelpRequestSlaMetric metric, HelpRequestPriority priority, String topic,
+            LatencySeries series) {
+        String name = "help.requests." + metric.name().toLowerCase(Locale.ROOT).replace('_', '.');
+        Tags tags = Tags.of("priority", priority.name(), "topic", topic);
+
+        for (double quantile : QUANTILES) {
+            TimeGauge.builder(name + ".percentile", series, TimeUnit.MILLISECONDS,
+                            s -> s.getValueAtPercentile(quantile * 100))
+                    .tags(tags)
+                    .tag("quantile", String.valueOf(quantile))
+                    .register(meterRegistry);
+        }
+        TimeGauge.builder(name + ".max", series, TimeUnit.MILLISECONDS, LatencySeries::getMax)
+                .tags(tags)
+                .register(meterRegistry);
+        FunctionCounter.builder(name + ".count", series, LatencySeries::getCount)
+                .tags(tags)
+                .register(meterRegistry);
+
+        log.debug("Registered help request SLA meters {} {}", name, tags);
+    }
+
+    private HelpRequestSlaStatsDto toDto(HelpRequestSlaMetric metric, HelpRequestPriority priority, String topic,
+            Histogram histogram) {
+        return HelpRequestSlaStatsDto.builder()
+                .metric(metric)
+                .priority(priority)
+                .topic(topic)
+                .count(histogram.getTotalCount())
+                .meanMillis(histogram.getMean())
+                .p50Millis(histogram.getValueAtPercentile(50))
+                .p90Millis(histogram.getValueAtPercentile(90))
+                .p99Millis(histogram.getValueAtPercentile(99))
+                .maxMillis(histogram.getMaxValue())
+                .build();
+    }
+}
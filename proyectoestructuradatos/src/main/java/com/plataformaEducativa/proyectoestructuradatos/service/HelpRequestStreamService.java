@@ -0,0 +1,433 @@
+package com.plataformaEducativa.proyectoestructuradatos.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.plataformaEducativa.proyectoestructuradatos.config.HelpRequestStreamProperties;
+import com.plataformaEducativa.proyectoestructuradatos.dto.HelpRequestDto;
+import com.plataformaEducativa.proyectoestructuradatos.dto.HelpRequestEventDto;
+import com.plataformaEducativa.proyectoestructuradatos.enums.HelpRequestQueueEventType;
+import com.plataformaEducativa.proyectoestructuradatos.mapper.HelpRequestMapper;
+import com.plataformaEducativa.proyectoestructuradatos.models.HelpRequest;
+import com.plataformaEducativa.proyectoestructuradatos.models.HelpRequestQueueEvent;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Difunde por SSE los cambios de las colas residentes de solicitudes de
+ * ayuda, para que los paneles de los ayudantes no tengan que consultar
+ * {@code /help-requests/active} periódicamente.
+ *
+ * Al suscribirse, el cliente recibe un evento {@code snapshot} con las
+ * solicitudes abiertas (de un tema o de todos) y después los cambios
+ * ({@code enqueued}, {@code claimed}, {@code resolved}, {@code removed}).
+ * Los cambios son idempotentes: {@code enqueued} trae la solicitud completa
+ * y sustituye a la anterior, y el resto la quita. Por eso un cambio que ya
+ * esté reflejado en la instantánea se puede recibir sin problema.
+ *
+ * Cada cliente tiene un búfer acotado. Publicar solo encola en los búferes y
+ * nunca bloquea a quien modifica la cola; el envío lo hace un grupo pequeño
+ * de hilos propio. Si el búfer de un cliente lento se llena, se descartan
+ * sus cambios pendientes, se le envía {@code resync} y se cierra la
+ * conexión. Al reconectar recibe una instantánea nueva.
+ *
+ * Escribir en el socket de un cliente que no lee bloquea al hilo que envía
+ * hasta que el servidor agota su propio plazo de escritura. Para que unos
+ * pocos clientes atascados no dejen sin hilos al resto, un envío que supera
+ * {@code send-timeout} da por cerrado a su cliente y el grupo de envío recibe
+ * un hilo extra mientras el atascado sigue bloqueado.
+ *
+ * Los latidos y la comprobación de envíos bloqueados corren en un hilo
+ * programado propio y no en el planificador compartido de Spring: la
+ * comprobación se repite cada segundo y no debe esperar detrás de un
+ * emparejamiento o de una reconstrucción de recomendaciones.
+ */
+@Slf4j
+@Service
+public class HelpRequestStreamService {
+
+    private static final String SNAPSHOT_EVENT = "snapshot";
+    private static final String RESYNC_EVENT = "resync";
+
+    private final HelpRequestQueueService helpRequestQueue;
+    private final HelpRequestMapper helpRequestMapper;
+    private final HelpRequestStreamProperties streamProperties;
+    private final ThreadPoolExecutor sender;
+    private final ScheduledExecutorService maintenance;
+    // Hilos extra en uso en lugar de los bloqueados por clientes atascados
+    private int compensatingThreads;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequence = new AtomicLong();
+
+    public HelpRequestStreamService(HelpRequestQueueService helpRequestQueue, HelpRequestMapper helpRequestMapper,
+            HelpRequestStreamProperties streamProperties) {
+        this.helpRequestQueue = helpRequestQueue;
+        this.helpRequestMapper = helpRequestMapper;
+        this.streamProperties = streamProperties;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        int senderThreads = streamProperties.getSenderThreads();
+        this.sender = new ThreadPoolExecutor(senderThreads, senderThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "help-request-stream-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.maintenance = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "help-request-stream-maintenance");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Programa los latidos y la comprobación de envíos bloqueados en el hilo
+     * propio del servicio.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void startMaintenance() {
+        long heartbeatMillis = streamProperties.getHeartbeatInterval().toMillis();
+        long stallCheckMillis = streamProperties.getStallCheckInterval().toMillis();
+        maintenance.scheduleWithFixedDelay(() -> runMaintenance(this::sendHeartbeats),
+                heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+        maintenance.scheduleWithFixedDelay(() -> runMaintenance(this::closeStalledSubscribers),
+                stallCheckMillis, stallCheckMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void runMaintenance(Runnable task) {
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            // Una excepción cancelaría las siguientes ejecuciones de la tarea
+            log.warn("Help request stream maintenance failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Abre una suscripción a los cambios de las colas.
+     *
+     * @param topicFilter Tema (null o vacío para todos)
+     * @return Emisor SSE de la suscripción
+     */
+    public SseEmitter subscribe(String topicFilter) {
+        String topic = topicFilter == null || topicFilter.isBlank() ? null : topicFilter;
+        SseEmitter emitter = new SseEmitter(streamProperties.getTimeout().toMillis());
+        Subscriber subscriber = new Subscriber(topic, emitter, streamProperties.getBufferSize());
+        emitter.onCompletion(() -> close(subscriber));
+        emitter.onTimeout(() -> {
+            close(subscriber);
+            emitter.complete();
+        });
+        emitter.onError(error -> close(subscriber));
+
+        // Se registra antes de leer la instantánea para no perder cambios
+        // intermedios; los que ya estén en ella se repiten sin efecto
+        subscribers.add(subscriber);
+
+        long snapshotSequence = sequence.get();
+        List<HelpRequest> openRequests = topic != null
+                ? helpRequestQueue.openRequests(topic)
+                : helpRequestQueue.allOpenRequests();
+        List<HelpRequestDto> snapshot = openRequests.stream()
+                .map(helpRequestMapper::modelToDto)
+                .toList();
+
+        subscriber.snapshot = new OutgoingEvent(String.valueOf(snapshotSequence), SNAPSHOT_EVENT, snapshot);
+        subscriber.ready = true;
+        schedule(subscriber);
+
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Reparte un cambio de las colas entre los suscriptores de su tema.
+     */
+    @EventListener
+    public void onQueueEvent(HelpRequestQueueEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+
+        if (event.type() == HelpRequestQueueEventType.RELOADED) {
+            // Las colas se reconstruyeron: todas las instantáneas quedan obsoletas
+            for (Subscriber subscriber : subscribers) {
+                requestResync(subscriber);
+            }
+            return;
+        }
+
+        OutgoingEvent outgoing = null;
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.topic != null && !subscriber.topic.equals(event.topic())) {
+                continue;
+            }
+            if (outgoing == null) {
+                // Se mapea una vez por cambio, no una por suscriptor
+                outgoing = toOutgoingEvent(event);
+            }
+            offer(subscriber, outgoing);
+        }
+    }
+
+    /**
+     * Comentario periódico para mantener abiertas las conexiones a través de
+     * proxies y detectar clientes desconectados.
+     */
+    public void sendHeartbeats() {
+        for (Subscriber subscriber : subscribers) {
+            offer(subscriber, OutgoingEvent.HEARTBEAT);
+        }
+    }
+
+    /**
+     * Cierra los clientes cuyo envío en curso lleva bloqueado más de
+     * {@code send-timeout} y compensa el hilo que queda retenido.
+     */
+    public void closeStalledSubscribers() {
+        long timeoutNanos = streamProperties.getSendTimeout().toNanos();
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            long started = subscriber.sendStartedNanos;
+            if (started == 0 || now - started <= timeoutNanos) {
+                continue;
+            }
+            // El emisor no se puede completar mientras el envío lo retiene: lo hará drain al volver
+            close(subscriber);
+            if (addSenderThread()) {
+                subscriber.compensated.set(true);
+                if (!subscriber.draining.get()) {
+                    // El envío terminó mientras tanto y drain ya no retirará el hilo extra
+                    releaseSenderThread(subscriber);
+                }
+            }
+            log.debug("Closing stalled help request stream subscriber after {} ms",
+                    TimeUnit.NANOSECONDS.toMillis(now - started));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        maintenance.shutdownNow();
+        sender.shutdownNow();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+        subscribers.clear();
+    }
+
+    private OutgoingEvent toOutgoingEvent(HelpRequestQueueEvent event) {
+        long eventSequence = sequence.incrementAndGet();
+        HelpRequestEventDto dto = HelpRequestEventDto.builder()
+                .sequence(eventSequence)
+                .type(event.type())
+                .requestId(event.requestId())
+                .topic(event.topic())
+                .request(event.request() != null ? helpRequestMapper.modelToDto(event.request()) : null)
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        return new OutgoingEvent(String.valueOf(eventSequence), event.type().name().toLowerCase(Locale.ROOT), dto);
+    }
+
+    private void offer(Subscriber subscriber, OutgoingEvent event) {
+        if (subscriber.resync || subscriber.closed) {
+            // Ya va a resincronizar o se cerró: lo pendiente no se enviará
+            return;
+        }
+        if (!subscriber.buffer.offer(event)) {
+            requestResync(subscriber);
+            return;
+        }
+        schedule(subscriber);
+    }
+
+    private void requestResync(Subscriber subscriber) {
+        subscriber.resync = true;
+        subscriber.buffer.clear();
+        schedule(subscriber);
+    }
+
+    /**
+     * Programa el envío de lo pendiente de un suscriptor. Como mucho hay una
+     * tarea de envío por suscriptor, así que sus eventos salen en orden.
+     */
+    private void schedule(Subscriber subscriber) {
+        if (!subscriber.ready || subscriber.closed || !subscriber.draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            sender.execute(() -> drain(subscriber));
+        } catch (RejectedExecutionException e) {
+            // Apagando
+            subscriber.draining.set(false);
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            if (subscriber.snapshot != null) {
+                send(subscriber, subscriber.snapshot.toSse(reconnectMillis()));
+                subscriber.snapshot = null;
+            }
+
+            OutgoingEvent event;
+            while (!subscriber.resync && !subscriber.closed && (event = subscriber.buffer.poll()) != null) {
+                send(subscriber, event.toSse(reconnectMillis()));
+            }
+
+            if (subscriber.closed) {
+                // Se cerró mientras se enviaba (p. ej. por atasco): se termina la respuesta
+                subscriber.emitter.complete();
+                return;
+            }
+
+            if (subscriber.resync) {
+                send(subscriber, SseEmitter.event()
+                        .name(RESYNC_EVENT)
+                        .reconnectTime(reconnectMillis())
+                        .data("Client fell behind; reconnect to receive a new snapshot"));
+                subscriber.emitter.complete();
+                close(subscriber);
+                return;
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Cliente desconectado o emisor ya completado
+            log.debug("Closing help request stream subscriber: {}", e.getMessage());
+            subscriber.emitter.completeWithError(e);
+            close(subscriber);
+            return;
+        } finally {
+            subscriber.draining.set(false);
+            // Si se atascó, el hilo vuelve a estar libre y sobra el extra
+            releaseSenderThread(subscriber);
+        }
+
+        // Algo pudo encolarse entre el último poll y liberar la tarea
+        if (!subscriber.buffer.isEmpty() || subscriber.resync) {
+            schedule(subscriber);
+        }
+    }
+
+    private void send(Subscriber subscriber, SseEmitter.SseEventBuilder event) throws IOException {
+        subscriber.sendStartedNanos = System.nanoTime();
+        try {
+            subscriber.emitter.send(event);
+        } finally {
+            subscriber.sendStartedNanos = 0;
+        }
+    }
+
+    /**
+     * Añade un hilo al grupo de envío, como mucho tantos extra como hilos
+     * base tiene el grupo.
+     *
+     * @return true si se añadió
+     */
+    private boolean addSenderThread() {
+        synchronized (sender) {
+            if (compensatingThreads >= streamProperties.getSenderThreads()) {
+                return false;
+            }
+            compensatingThreads++;
+            sender.setMaximumPoolSize(sender.getMaximumPoolSize() + 1);
+            sender.setCorePoolSize(sender.getCorePoolSize() + 1);
+            return true;
+        }
+    }
+
+    private void releaseSenderThread(Subscriber subscriber) {
+        if (!subscriber.compensated.compareAndSet(true, false)) {
+            return;
+        }
+        synchronized (sender) {
+            compensatingThreads--;
+            sender.setCorePoolSize(sender.getCorePoolSize() - 1);
+            sender.setMaximumPoolSize(sender.getMaximumPoolSize() - 1);
+        }
+    }
+
+    private long reconnectMillis() {
+        return streamProperties.getReconnectDelay().toMillis();
+    }
+
+    private void close(Subscriber subscriber) {
+        subscriber.closed = true;
+        subscribers.remove(subscriber);
+        subscriber.buffer.clear();
+    }
+
+    /**
+     * Suscripción de un cliente con su búfer acotado de eventos pendientes.
+     */
+    private static final class Subscriber {
+        private final String topic;
+        private final SseEmitter emitter;
+        private final BlockingQueue<OutgoingEvent> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        // Se envía antes que cualquier cambio del búfer
+        private volatile OutgoingEvent snapshot;
+        // Hasta tener la instantánea los cambios se acumulan sin enviarse
+        private volatile boolean ready;
+        private volatile boolean resync;
+        private volatile boolean closed;
+        // Inicio del envío en curso (0 si no hay ninguno)
+        private volatile long sendStartedNanos;
+        // Se le asignó un hilo extra al atascarse; se retira cuando su envío termina
+        private final AtomicBoolean compensated = new AtomicBoolean();
+
+        Subscriber(String topic, SseEmitter emitter, int bufferSize) {
+            this.topic = topic;
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+
+    /**
+     * Evento pendiente de envío. Se guarda el contenido y no el
+     * {@link SseEmitter.SseEventBuilder}, que no se puede reutilizar entre
+     * clientes: construirlo lo consume.
+     */
+    private record OutgoingEvent(String id, String name, Object data) {
+
+        static final OutgoingEvent HEARTBEAT = new OutgoingEvent(null, null, null);
+
+        SseEmitter.SseEventBuilder toSse(long reconnectMillis) {
+            if (data == null) {
+                return SseEmitter.event().comment("heartbeat");
+            }
+            return SseEmitter.event()
+                    .id(id)
+                    .name(name)
+                    .reconnectTime(reconnectMillis)
+                    .data(data, MediaType.APPLICATION_JSON);
+        }
+    }
+}
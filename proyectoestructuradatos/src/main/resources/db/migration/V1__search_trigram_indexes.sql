@@ -0,0 +1,19 @@
+-- Índices de trigramas para las búsquedas por palabra clave (ILIKE '%kw%').
+-- Sin ellos PostgreSQL recorre secuencialmente contents y help_requests.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_contents_title_trgm
+    ON contents USING gin (title gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_contents_description_trgm
+    ON contents USING gin (description gin_trgm_ops);
+
+-- Solo las solicitudes abiertas participan en la búsqueda
+CREATE INDEX IF NOT EXISTS idx_help_requests_title_trgm
+    ON help_requests USING gin (title gin_trgm_ops) WHERE resolved = false;
+
+CREATE INDEX IF NOT EXISTS idx_help_requests_description_trgm
+    ON help_requests USING gin (description gin_trgm_ops) WHERE resolved = false;
+
+CREATE INDEX IF NOT EXISTS idx_help_requests_topic_trgm
+    ON help_requests USING gin (topic gin_trgm_ops) WHERE resolved = false;
@@ -0,0 +1,17 @@
+-- Índices compuestos para la paginación por clave de los listados de contenidos.
+-- Cada índice coincide con la clave de ordenación (y de comparación por fila)
+-- del listado, de modo que cada página es un recorrido de índice acotado.
+
+-- Las comparaciones por fila no admiten NULL en la clave
+UPDATE contents SET average_rating = 0 WHERE average_rating IS NULL;
+UPDATE contents SET rating_count = 0 WHERE rating_count IS NULL;
+UPDATE contents SET view_count = 0 WHERE view_count IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_contents_recent
+    ON contents (created_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_contents_top_rated
+    ON contents (average_rating DESC, rating_count DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_contents_most_viewed
+    ON contents (view_count DESC, id DESC);
@@ -0,0 +1,17 @@
+-- Agregados de valoración incrementales: rating_sum + rating_count.
+-- ContentRepository.applyRatingDelta los actualiza en una sola sentencia por voto.
+ALTER TABLE contents ADD COLUMN IF NOT EXISTS rating_sum BIGINT;
+ALTER TABLE contents ALTER COLUMN rating_sum SET DEFAULT 0;
+
+-- Recalcular una única vez a partir de las valoraciones existentes
+UPDATE contents c
+SET rating_sum = COALESCE(r.total, 0),
+    rating_count = COALESCE(r.votes, 0),
+    average_rating = CASE WHEN COALESCE(r.votes, 0) > 0 THEN r.total::double precision / r.votes ELSE 0 END
+FROM contents c2
+LEFT JOIN (
+    SELECT content_id, SUM(rating) AS total, COUNT(*) AS votes
+    FROM content_ratings
+    GROUP BY content_id
+) r ON r.content_id = c2.id
+WHERE c.id = c2.id;
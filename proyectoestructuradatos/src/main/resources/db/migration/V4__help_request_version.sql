@@ -0,0 +1,6 @@
+-- Bloqueo optimista de help_requests: HelpRequestEntity.version (@Version).
+-- Hibernate añade la columna sin valor; las filas existentes empiezan en 0.
+ALTER TABLE help_requests ADD COLUMN IF NOT EXISTS version BIGINT;
+UPDATE help_requests SET version = 0 WHERE version IS NULL;
+ALTER TABLE help_requests ALTER COLUMN version SET DEFAULT 0;
+ALTER TABLE help_requests ALTER COLUMN version SET NOT NULL;
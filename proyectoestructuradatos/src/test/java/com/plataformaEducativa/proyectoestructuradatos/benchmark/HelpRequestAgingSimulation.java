@@ -0,0 +1,154 @@
+package com.plataformaEducativa.proyectoestructuradatos.benchmark;
+
+import com.plataformaEducativa.proyectoestructuradatos.enums.HelpRequestPriority;
+import com.plataformaEducativa.proyectoestructuradatos.models.HelpRequest;
+import com.plataformaEducativa.proyectoestructuradatos.models.datastructure.HelpRequestPriorityQueue.AgingHelpRequestComparator;
+import com.plataformaEducativa.proyectoestructuradatos.models.datastructure.HelpRequestPriorityQueue.HelpRequestPriorityQueue;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Simulación de eventos discretos de la cola de solicitudes de ayuda: llegadas
+ * de Poisson atendidas por varios ayudantes con tiempos de servicio
+ * exponenciales, con una carga cercana a la saturación. Compara los
+ * percentiles de espera por prioridad entre el orden estricto y el orden con
+ * envejecimiento ({@link AgingHelpRequestComparator}).
+ *
+ * No es un test: se ejecuta a mano con
+ * {@code java ... HelpRequestAgingSimulation [solicitudes] [utilización]}.
+ */
+public final class HelpRequestAgingSimulation {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    private static final int HELPERS = 4;
+    private static final double MEAN_SERVICE_MINUTES = 20;
+
+    // Reparto de las llegadas: sobre todo MEDIUM, que es lo que deja sin atender a LOW
+    private static final HelpRequestPriority[] PRIORITIES = HelpRequestPriority.values();
+    private static final double[] ARRIVAL_SHARE = { 0.25, 0.55, 0.15, 0.05 };
+
+    private HelpRequestAgingSimulation() {
+    }
+
+    public static void main(String[] args) {
+        int requests = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        double utilization = args.length > 1 ? Double.parseDouble(args[1]) : 0.97;
+
+        Map<HelpRequestPriority, Duration> delays = new EnumMap<>(HelpRequestPriority.class);
+        delays.put(HelpRequestPriority.URGENT, Duration.ZERO);
+        delays.put(HelpRequestPriority.HIGH, Duration.ofMinutes(15));
+        delays.put(HelpRequestPriority.MEDIUM, Duration.ofHours(1));
+        delays.put(HelpRequestPriority.LOW, Duration.ofHours(4));
+
+        System.out.printf("%d requests, %d helpers, mean service %.0f min, utilization %.2f%n%n",
+                requests, HELPERS, MEAN_SERVICE_MINUTES, utilization);
+
+        run("strict", Comparator.naturalOrder(), requests, utilization);
+        run("aging", new AgingHelpRequestComparator(delays), requests, utilization);
+    }
+
+    private static void run(String name, Comparator<HelpRequest> order, int requests, double utilization) {
+        // Misma semilla en ambos modos: mismas llegadas y mismos tiempos de servicio
+        Random random = new Random(42);
+        double arrivalsPerMinute = utilization * HELPERS / MEAN_SERVICE_MINUTES;
+
+        HelpRequestPriorityQueue queue = new HelpRequestPriorityQueue(order);
+        PriorityQueue<Double> helpersFreeAt = new PriorityQueue<>();
+        for (int i = 0; i < HELPERS; i++) {
+            helpersFreeAt.add(0.0);
+        }
+
+        Map<HelpRequestPriority, List<Double>> waits = new EnumMap<>(HelpRequestPriority.class);
+        for (HelpRequestPriority priority : PRIORITIES) {
+            waits.put(priority, new ArrayList<>());
+        }
+
+        double nextArrival = exponential(random, 1 / arrivalsPerMinute);
+        int arrived = 0;
+        long queueNanos = 0;
+
+        while (arrived < requests || !queue.isEmpty()) {
+            double helperFree = helpersFreeAt.peek();
+
+            if (arrived < requests && (queue.isEmpty() || nextArrival <= helperFree)) {
+                HelpRequest request = newRequest(random, nextArrival);
+                long start = System.nanoTime();
+                queue.enqueue(request);
+                queueNanos += System.nanoTime() - start;
+                arrived++;
+                nextArrival += exponential(random, 1 / arrivalsPerMinute);
+                continue;
+            }
+
+            long start = System.nanoTime();
+            HelpRequest next = queue.dequeue();
+            queueNanos += System.nanoTime() - start;
+
+            double arrivedAt = minutesSinceStart(next.getCreatedAt());
+            double serviceStart = Math.max(helpersFreeAt.poll(), arrivedAt);
+            waits.get(next.getPriority()).add(serviceStart - arrivedAt);
+            helpersFreeAt.add(serviceStart + exponential(random, MEAN_SERVICE_MINUTES));
+        }
+
+        System.out.printf("%s (queue time %.1f ms)%n", name, queueNanos / 1e6);
+        System.out.printf("  %-8s %8s %10s %10s %10s %10s%n", "priority", "count", "p50 min", "p90 min",
+                "p99 min", "max min");
+        for (int i = PRIORITIES.length - 1; i >= 0; i--) {
+            double[] sorted = waits.get(PRIORITIES[i]).stream().mapToDouble(Double::doubleValue).sorted().toArray();
+            System.out.printf("  %-8s %8d %10.1f %10.1f %10.1f %10.1f%n", PRIORITIES[i], sorted.length,
+                    percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+                    sorted.length == 0 ? 0 : sorted[sorted.length - 1]);
+        }
+        System.out.println();
+    }
+
+    private static HelpRequest newRequest(Random random, double arrivalMinute) {
+        double draw = random.nextDouble();
+        int index = 0;
+        while (index < ARRIVAL_SHARE.length - 1 && draw >= ARRIVAL_SHARE[index]) {
+            draw -= ARRIVAL_SHARE[index];
+            index++;
+        }
+
+        HelpRequest request = new HelpRequest();
+        request.setId(UUID.randomUUID());
+        request.setPriority(PRIORITIES[index]);
+        request.setCreatedAt(START.plusNanos(Math.round(arrivalMinute * 60e9)));
+        return request;
+    }
+
+    private static double minutesSinceStart(LocalDateTime time) {
+        return Duration.between(START, time).toNanos() / 60e9;
+    }
+
+    private static double exponential(Random random, double mean) {
+        return -mean * Math.log(1 - random.nextDouble());
+    }
+
+    private static double percentile(double[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    static {
+        // El reparto debe sumar 1 y estar en el orden de HelpRequestPriority
+        if (ARRIVAL_SHARE.length != PRIORITIES.length
+                || Math.abs(Arrays.stream(ARRIVAL_SHARE).sum() - 1) > 1e-9) {
+            throw new IllegalStateException("ARRIVAL_SHARE must have one share per priority and sum to 1");
+        }
+    }
+}
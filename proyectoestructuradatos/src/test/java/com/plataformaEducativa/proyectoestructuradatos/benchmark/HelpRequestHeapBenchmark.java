@@ -0,0 +1,148 @@
+package com.plataformaEducativa.proyectoestructuradatos.benchmark;
+
+import com.plataformaEducativa.proyectoestructuradatos.enums.HelpRequestPriority;
+import com.plataformaEducativa.proyectoestructuradatos.models.HelpRequest;
+import com.plataformaEducativa.proyectoestructuradatos.models.datastructure.HelpRequestPriorityQueue.HelpRequestPriorityQueue;
+import com.plataformaEducativa.proyectoestructuradatos.models.datastructure.HelpRequestPriorityQueue.PackedHelpRequestHeap;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara {@link HelpRequestPriorityQueue} (montículo binario de nodos que
+ * compara {@link HelpRequest}) con {@link PackedHelpRequestHeap} (montículo
+ * 4-ario con claves {@code long} empaquetadas).
+ *
+ * No es un test: se ejecuta a mano desde el IDE o con
+ * {@code mvn test-compile} y {@code java -cp target/test-classes:<classpath de test> ...HelpRequestHeapBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HelpRequestHeapBenchmark {
+
+    @Param({ "1000", "100000" })
+    private int size;
+
+    private HelpRequest[] requests;
+
+    private HelpRequestPriorityQueue nodeQueue;
+    private PackedHelpRequestHeap packedHeap;
+    private Random random;
+
+    @Setup(Level.Trial)
+    public void createRequests() {
+        Random generator = new Random(42);
+        HelpRequestPriority[] priorities = HelpRequestPriority.values();
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+        requests = new HelpRequest[size];
+        for (int i = 0; i < size; i++) {
+            HelpRequest request = new HelpRequest();
+            request.setId(UUID.randomUUID());
+            request.setPriority(priorities[generator.nextInt(priorities.length)]);
+            request.setCreatedAt(start.plusSeconds(generator.nextInt(30 * 24 * 3600)));
+            requests[i] = request;
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void fillQueues() {
+        nodeQueue = new HelpRequestPriorityQueue();
+        packedHeap = new PackedHelpRequestHeap();
+        for (HelpRequest request : requests) {
+            nodeQueue.enqueue(request);
+            packedHeap.enqueue(request);
+        }
+        random = new Random(7);
+    }
+
+    /**
+     * Encola todas las solicitudes y vacía la cola: coste dominado por los sifts.
+     */
+    @Benchmark
+    public void nodeHeapFillAndDrain(Blackhole blackhole) {
+        HelpRequestPriorityQueue queue = new HelpRequestPriorityQueue();
+        for (HelpRequest request : requests) {
+            queue.enqueue(request);
+        }
+        while (!queue.isEmpty()) {
+            blackhole.consume(queue.dequeue());
+        }
+    }
+
+    @Benchmark
+    public void packedHeapFillAndDrain(Blackhole blackhole) {
+        PackedHelpRequestHeap heap = new PackedHelpRequestHeap();
+        for (HelpRequest request : requests) {
+            heap.enqueue(request);
+        }
+        while (!heap.isEmpty()) {
+            blackhole.consume(heap.dequeue());
+        }
+    }
+
+    /**
+     * Régimen estable: atender la cabeza y volver a encolarla (tamaño constante).
+     */
+    @Benchmark
+    public HelpRequest nodeHeapDequeueEnqueue() {
+        HelpRequest head = nodeQueue.dequeue();
+        nodeQueue.enqueue(head);
+        return head;
+    }
+
+    @Benchmark
+    public HelpRequest packedHeapDequeueEnqueue() {
+        HelpRequest head = packedHeap.dequeue();
+        packedHeap.enqueue(head);
+        return head;
+    }
+
+    /**
+     * Quitar por ID una solicitud cualquiera (resolución o asignación) y volver a encolarla.
+     */
+    @Benchmark
+    public boolean nodeHeapRemoveById() {
+        HelpRequest request = requests[random.nextInt(size)];
+        boolean removed = nodeQueue.remove(request.getId());
+        nodeQueue.enqueue(request);
+        return removed;
+    }
+
+    @Benchmark
+    public boolean packedHeapRemoveById() {
+        HelpRequest request = requests[random.nextInt(size)];
+        boolean removed = packedHeap.remove(request.getId());
+        packedHeap.enqueue(request);
+        return removed;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(HelpRequestHeapBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,469 @@
+package com.plataformaEducativa.proyectoestructuradatos.models.datastructure.BinarySearchTree;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.plataformaEducativa.proyectoestructuradatos.models.Content;
+import com.plataformaEducativa.proyectoestructuradatos.models.Student;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Comprueba el árbol de contenidos: el filtrado en paralelo devuelve lo mismo
+ * y en el mismo orden que el secuencial, cada nodo conoce el tamaño de su
+ * subárbol tras insertar y eliminar, y los recorridos por rango devuelven lo
+ * mismo que filtrar una lista ordenada. Ambos árboles guardan un nodo por
+ * contenido aunque varios compartan título; los rangos se comprueban también
+ * en {@link PersistentContentTree}, que comparte el iterador, y la
+ * construcción balanceada con entradas ya ordenadas.
+ */
+class ContentBinarySearchTreeTest {
+
+    private static final String[] TAGS = { "Java", "SQL", "grafos", "arboles", "hash" };
+    private static final String[] AUTHORS = { "ana", "Luis", "marta", "pablo" };
+
+    private final Random random = new Random(3);
+
+    @Test
+    void filterParallelMatchesSequentialOrder() {
+        ContentBinarySearchTree tree = randomTree(3000);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            List<Predicate<Content>> predicates = List.of(
+                    content -> true,
+                    content -> false,
+                    ContentBinarySearchTree.taggedWith("java"),
+                    ContentBinarySearchTree.byAuthor("LUIS"),
+                    ContentBinarySearchTree.taggedWith("gra").and(ContentBinarySearchTree.byAuthor("ana")));
+
+            for (Predicate<Content> predicate : predicates) {
+                for (int threshold : new int[] { 1, 16, 500 }) {
+                    ContentTreeFilterResult result = tree.filterParallel(predicate, pool, threshold);
+
+                    assertEquals(tree.filter(predicate), result.getContents());
+                    assertTrue(result.isParallel());
+                    assertTrue(result.getTaskCount() > 1);
+                    assertEquals(3000, result.getVisitedNodes());
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void filterParallelHandlesDegenerateTree() {
+        // Insertar en orden deja una cadena: las tareas deben bajar sin recursión
+        List<String> titles = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            titles.add(String.format("Title %05d", i));
+        }
+        ContentBinarySearchTree tree = new ContentBinarySearchTree();
+        for (String title : titles) {
+            tree.insert(content(title));
+        }
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Predicate<Content> predicate = ContentBinarySearchTree.taggedWith("java");
+            assertEquals(tree.filter(predicate), tree.filterParallel(predicate, pool, 64).getContents());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void smallTreeKeepsSequentialPath() {
+        ContentBinarySearchTree tree = randomTree(200);
+        Predicate<Content> predicate = ContentBinarySearchTree.byAuthor("marta");
+
+        ContentTreeFilterResult result = tree.filterParallel(predicate);
+
+        assertFalse(result.isParallel());
+        assertEquals(0, result.getTaskCount());
+        assertEquals(tree.filter(predicate), result.getContents());
+    }
+
+    @Test
+    void predicatesMatchSequentialSearches() {
+        ContentBinarySearchTree tree = randomTree(500);
+
+        assertEquals(tree.searchByTag("SQL"), tree.filter(ContentBinarySearchTree.taggedWith("SQL")));
+        assertEquals(tree.searchByTag("o"), tree.filter(ContentBinarySearchTree.taggedWith("o")));
+        assertEquals(tree.searchByAuthor("pablo"), tree.filter(ContentBinarySearchTree.byAuthor("Pablo")));
+    }
+
+    @Test
+    void subtreeSizesFollowInsertAndRemove() {
+        ContentBinarySearchTree tree = new ContentBinarySearchTree();
+        List<Content> contents = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            Content content = content("Title " + random.nextInt(1000));
+            contents.add(content);
+            tree.insert(content);
+            assertSizesConsistent(tree.getRoot());
+        }
+        // Los títulos repetidos ocupan su propio nodo
+        assertEquals(400, tree.size());
+
+        // Contenidos ya eliminados incluidos: no deben cambiar el tamaño
+        List<Content> remaining = new ArrayList<>(contents);
+        Collections.shuffle(contents, random);
+        for (Content content : contents.subList(0, 250)) {
+            tree.remove(content.getTitle(), content.getId());
+            tree.remove(content.getTitle(), content.getId());
+            remaining.remove(content);
+            assertSizesConsistent(tree.getRoot());
+            assertEquals(remaining.size(), tree.size());
+        }
+        assertEquals(inKeyOrder(remaining), tree.inOrderTraversal());
+    }
+
+    @Test
+    void bstKeepsContentsSharingTitle() {
+        List<Content> contents = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            String title = "Tema " + random.nextInt(20);
+            contents.add(content(random.nextBoolean() ? title : title.toUpperCase()));
+        }
+
+        for (ContentBinarySearchTree tree : List.of(bst(contents), ContentBinarySearchTree.of(contents))) {
+            assertEquals(300, tree.size());
+            assertEquals(inKeyOrder(contents), tree.inOrderTraversal());
+
+            Predicate<Content> predicate = ContentBinarySearchTree.taggedWith("java");
+            assertEquals(tree.filter(predicate), tree.filterParallel(predicate, ForkJoinPool.commonPool(), 8)
+                    .getContents());
+
+            // search devuelve el primero del grupo y remove(title) quita justo ese
+            List<Content> group = tree.searchAll("tema 7");
+            assertFalse(group.isEmpty());
+            assertSame(group.get(0), tree.search("TEMA 7"));
+            tree.remove("Tema 7");
+            assertEquals(group.subList(1, group.size()), tree.searchAll("Tema 7"));
+            assertEquals(299, tree.size());
+        }
+    }
+
+    @Test
+    void ofBuildsBalancedTreeFromSortedInput() {
+        // Insertar esto uno a uno daría una cadena de 100.000 nodos
+        List<Content> contents = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            contents.add(content(String.format("Title %03d", i / 1000)));
+        }
+        contents = inKeyOrder(contents);
+
+        ContentBinarySearchTree tree = ContentBinarySearchTree.of(contents);
+
+        assertEquals(100_000, tree.size());
+        assertEquals(17, height(tree.getRoot()));
+        assertSizesConsistent(tree.getRoot());
+        assertEquals(contents, tree.inOrderTraversal());
+
+        // Repetir un contenido conserva la última versión, como insert
+        Content first = contents.get(0);
+        Content renamed = new Content();
+        renamed.setId(first.getId());
+        renamed.setTitle(first.getTitle().toUpperCase());
+        List<Content> withRepeated = new ArrayList<>(contents);
+        withRepeated.add(renamed);
+        ContentBinarySearchTree replaced = ContentBinarySearchTree.of(withRepeated);
+        assertEquals(100_000, replaced.size());
+        assertSame(renamed, replaced.search(first.getTitle()));
+    }
+
+    @Test
+    void iteratorWalksAllTitlesInOrder() {
+        List<Content> contents = shuffledContents(300);
+        ContentBinarySearchTree tree = bst(contents);
+        PersistentContentTree persistent = persistent(contents);
+        List<String> expected = titlesInRange(contents, null, true, null);
+
+        assertEquals(expected, titles(tree.iterator()));
+        assertEquals(expected, titles(persistent.iterator()));
+        assertEquals(expected, titles(tree.inOrderTraversal().iterator()));
+
+        Iterator<Content> iterator = tree.iterator("Tema 298", null);
+        iterator.next();
+        iterator.next();
+        assertFalse(iterator.hasNext());
+        assertThrows(NoSuchElementException.class, iterator::next);
+        assertFalse(new ContentBinarySearchTree().iterator().hasNext());
+    }
+
+    @Test
+    void rangeIncludesFromAndExcludesTo() {
+        List<Content> contents = shuffledContents(300);
+        ContentBinarySearchTree tree = bst(contents);
+        PersistentContentTree persistent = persistent(contents);
+
+        // Extremos presentes, ausentes (entre dos títulos), en otra capitalización y vacíos
+        String[][] ranges = {
+                { "Tema 010", "Tema 020" },
+                { "Tema 010x", "Tema 020x" },
+                { "tema 010", "TEMA 020" },
+                { null, "Tema 005" },
+                { "Tema 295", null },
+                { "A", "Tema 003" },
+                { "Tema 150", "Tema 150" },
+                { "Tema 200", "Tema 100" },
+                { "Zeta", null },
+        };
+        for (String[] range : ranges) {
+            List<String> expected = titlesInRange(contents, range[0], true, range[1]);
+            assertEquals(expected, titles(tree.iterator(range[0], range[1])), range[0] + ".." + range[1]);
+            assertEquals(expected, titles(persistent.iterator(range[0], range[1])), range[0] + ".." + range[1]);
+            assertEquals(expected, titles(tree.stream(range[0], range[1]).iterator()));
+        }
+        assertEquals(List.of("Tema 010", "Tema 011"), titles(tree.iterator("Tema 010", "Tema 012")));
+    }
+
+    @Test
+    void iteratorAfterExcludesLastSeenTitle() {
+        List<Content> contents = shuffledContents(300);
+        ContentBinarySearchTree tree = bst(contents);
+        PersistentContentTree persistent = persistent(contents);
+
+        for (String after : new String[] { "Tema 010", "tema 010", "Tema 010x", "A", "Tema 299", "Zeta" }) {
+            List<String> expected = titlesInRange(contents, after, false, "Tema 050");
+            assertEquals(expected, titles(tree.iteratorAfter(after, "Tema 050")), after);
+            assertEquals(expected, titles(persistent.iteratorAfter(after, "Tema 050")), after);
+        }
+
+        // Encadenar páginas desde el último título visto recorre todo una sola vez
+        List<String> paged = new ArrayList<>();
+        Iterator<Content> iterator = tree.iterator(null, null);
+        while (iterator.hasNext()) {
+            String last = null;
+            for (int i = 0; i < 7 && iterator.hasNext(); i++) {
+                last = iterator.next().getTitle();
+                paged.add(last);
+            }
+            iterator = tree.iteratorAfter(last, null);
+        }
+        assertEquals(titlesInRange(contents, null, true, null), paged);
+    }
+
+    @Test
+    void pagingAfterTitleAndIdVisitsDuplicateTitlesOnce() {
+        List<Content> contents = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            String title = "Tema " + random.nextInt(15);
+            contents.add(content(random.nextBoolean() ? title : title.toLowerCase()));
+        }
+        PersistentContentTree tree = persistent(contents);
+
+        // Páginas de 7: los cortes caen a mitad de grupos con el mismo título
+        for (String to : new String[] { null, "Tema 5" }) {
+            List<Content> paged = new ArrayList<>();
+            Iterator<Content> iterator = tree.iterator(null, to);
+            while (iterator.hasNext()) {
+                Content last = null;
+                for (int i = 0; i < 7 && iterator.hasNext(); i++) {
+                    last = iterator.next();
+                    paged.add(last);
+                }
+                iterator = tree.iteratorAfter(last.getTitle().toUpperCase(), last.getId(), to);
+            }
+
+            List<Content> expected = inKeyOrder(contents).stream()
+                    .filter(content -> to == null || content.getTitle().compareToIgnoreCase(to) < 0)
+                    .collect(Collectors.toList());
+            assertEquals(expected, paged);
+        }
+
+        // Sin ID se salta el grupo entero del título
+        Content first = inKeyOrder(contents).get(0);
+        Iterator<Content> afterGroup = tree.iteratorAfter(first.getTitle(), null);
+        assertFalse(afterGroup.next().getTitle().equalsIgnoreCase(first.getTitle()));
+    }
+
+    @Test
+    void rangeAndFilterStopAtLimit() {
+        List<Content> contents = shuffledContents(300);
+        ContentBinarySearchTree tree = bst(contents);
+        PersistentContentTree persistent = persistent(contents);
+
+        List<String> expected = titlesInRange(contents, "Tema 100", true, "Tema 200").subList(0, 15);
+        assertEquals(expected, titles(tree.range("Tema 100", "Tema 200", 15).iterator()));
+        assertEquals(expected, titles(persistent.range("Tema 100", "Tema 200", 15).iterator()));
+        assertEquals(5, tree.range("Tema 295", null, 15).size());
+        assertTrue(tree.range(null, null, 0).isEmpty());
+
+        Predicate<Content> predicate = ContentBinarySearchTree.taggedWith("sql");
+        List<String> matches = titlesInRange(contents, null, true, null).stream()
+                .filter(title -> predicate.test(tree.search(title)))
+                .collect(Collectors.toList());
+        assertEquals(matches.subList(0, 10), titles(tree.filter(predicate, 10).iterator()));
+        assertEquals(matches.subList(0, 10), titles(persistent.filter(predicate, 10).iterator()));
+        assertEquals(matches, titles(tree.filter(predicate, Integer.MAX_VALUE).iterator()));
+    }
+
+    @Test
+    void persistentTreeKeepsContentsSharingTitle() {
+        // Pocos títulos distintos: casi todos se repiten, con distintas mayúsculas
+        List<Content> contents = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            String title = "Tema " + random.nextInt(20);
+            contents.add(content(random.nextBoolean() ? title : title.toUpperCase()));
+        }
+        PersistentContentTree tree = persistent(contents);
+        assertEquals(300, tree.size());
+        assertEquals(inKeyOrder(contents), tree.inOrderTraversal());
+
+        List<Content> remaining = new ArrayList<>(contents);
+        Collections.shuffle(remaining, random);
+        while (remaining.size() > 100) {
+            Content removed = remaining.remove(remaining.size() - 1);
+            tree = tree.remove(removed.getTitle().toLowerCase(), removed.getId());
+
+            // Solo sale ese contenido; los demás con su título siguen ahí
+            List<Content> sameTitle = inKeyOrder(remaining).stream()
+                    .filter(content -> content.getTitle().equalsIgnoreCase(removed.getTitle()))
+                    .collect(Collectors.toList());
+            assertEquals(sameTitle, tree.searchAll(removed.getTitle()));
+            assertEquals(sameTitle.isEmpty() ? null : sameTitle.get(0), tree.search(removed.getTitle()));
+            assertEquals(remaining.size(), tree.size());
+        }
+        assertEquals(inKeyOrder(remaining), tree.inOrderTraversal());
+
+        // Quitar un ID que no está, o con otro título, no cambia nada
+        Content kept = remaining.get(0);
+        assertSame(tree, tree.remove(kept.getTitle(), UUID.randomUUID()));
+        assertSame(tree, tree.remove(kept.getTitle() + "x", kept.getId()));
+
+        // Reindexar el mismo contenido con otras mayúsculas reemplaza su nodo
+        Content renamed = new Content();
+        renamed.setId(kept.getId());
+        renamed.setTitle(kept.getTitle().toLowerCase());
+        PersistentContentTree next = tree.insert(renamed);
+        assertEquals(tree.size(), next.size());
+        assertTrue(next.searchAll(kept.getTitle()).contains(renamed));
+    }
+
+    // ---------------------------------------------------------------- ayudas
+
+    /**
+     * Referencia del orden de los árboles: título sin distinguir mayúsculas y, a
+     * igual título, ID.
+     */
+    private static List<Content> inKeyOrder(List<Content> contents) {
+        List<Content> sorted = new ArrayList<>(contents);
+        sorted.sort(Comparator.comparing(Content::getTitle, String.CASE_INSENSITIVE_ORDER)
+                .thenComparing(Content::getId));
+        return sorted;
+    }
+
+    /**
+     * Contenidos "Tema 000" a "Tema N-1" en orden aleatorio, para que el árbol
+     * no degenere y los extremos de los rangos sean conocidos.
+     */
+    private List<Content> shuffledContents(int count) {
+        List<Content> contents = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            contents.add(content(String.format("Tema %03d", i)));
+        }
+        Collections.shuffle(contents, random);
+        return contents;
+    }
+
+    private static ContentBinarySearchTree bst(List<Content> contents) {
+        ContentBinarySearchTree tree = new ContentBinarySearchTree();
+        contents.forEach(tree::insert);
+        return tree;
+    }
+
+    private static PersistentContentTree persistent(List<Content> contents) {
+        PersistentContentTree tree = PersistentContentTree.empty();
+        for (Content content : contents) {
+            tree = tree.insert(content);
+        }
+        return tree;
+    }
+
+    /**
+     * Referencia: los títulos ordenados que caen en el rango, calculados
+     * filtrando la lista entera.
+     */
+    private static List<String> titlesInRange(List<Content> contents, String from, boolean fromInclusive,
+            String to) {
+        return contents.stream()
+                .map(Content::getTitle)
+                .filter(title -> from == null || title.compareToIgnoreCase(from) > 0
+                        || (fromInclusive && title.equalsIgnoreCase(from)))
+                .filter(title -> to == null || title.compareToIgnoreCase(to) < 0)
+                .sorted(String.CASE_INSENSITIVE_ORDER)
+                .collect(Collectors.toList());
+    }
+
+    private static List<String> titles(Iterator<Content> iterator) {
+        List<String> titles = new ArrayList<>();
+        iterator.forEachRemaining(content -> titles.add(content.getTitle()));
+        return titles;
+    }
+
+    /**
+     * Comprueba recursivamente que cada nodo guarda 1 + tamaño de sus hijos.
+     *
+     * @return Tamaño real del subárbol
+     */
+    private static int assertSizesConsistent(ContentBSTNode node) {
+        if (node == null) {
+            return 0;
+        }
+        int size = 1 + assertSizesConsistent(node.getLeft()) + assertSizesConsistent(node.getRight());
+        assertEquals(size, node.getSize(), "Size of " + node.getContent().getTitle());
+        return size;
+    }
+
+    private static int height(ContentBSTNode node) {
+        return node == null ? 0 : 1 + Math.max(height(node.getLeft()), height(node.getRight()));
+    }
+
+    private ContentBinarySearchTree randomTree(int size) {
+        ContentBinarySearchTree tree = new ContentBinarySearchTree();
+        Set<String> titles = new HashSet<>();
+        while (titles.size() < size) {
+            String title = "Title " + UUID.randomUUID();
+            if (titles.add(title.toLowerCase())) {
+                tree.insert(content(title));
+            }
+        }
+        return tree;
+    }
+
+    private Content content(String title) {
+        Set<String> tags = new HashSet<>();
+        for (String tag : TAGS) {
+            if (random.nextInt(3) == 0) {
+                tags.add(tag);
+            }
+        }
+        Student author = new Student();
+        author.setUsername(AUTHORS[random.nextInt(AUTHORS.length)]);
+
+        Content content = new Content();
+        content.setId(UUID.randomUUID());
+        content.setTitle(title);
+        content.setTags(tags);
+        content.setAuthor(author);
+        return content;
+    }
+}
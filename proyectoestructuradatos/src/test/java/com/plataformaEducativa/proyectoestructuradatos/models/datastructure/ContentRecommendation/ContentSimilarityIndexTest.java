@@ -0,0 +1,296 @@
+package com.plataformaEducativa.proyectoestructuradatos.models.datastructure.ContentRecommendation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Comprueba que el refresco incremental del índice de similitud deja los
+ * mismos vecinos que construirlo desde cero con los mismos datos, y que el
+ * índice inverso (quién tiene a cada contenido como vecino) sigue coherente.
+ *
+ * Los cambios de etiquetas desplazan el IDF de otros pares hasta la siguiente
+ * reconstrucción, así que con etiquetas solo se exige exactitud en la lista
+ * del contenido modificado; sin ellas, en todas.
+ */
+class ContentSimilarityIndexTest {
+
+    private static final int NEIGHBOURS = 4;
+    private static final double TOLERANCE = 1e-4;
+    private static final String[] TAGS = { "java", "sql", "grafos", "arboles", "hash", "redes" };
+
+    private final Random random = new Random(42);
+
+    // Estado esperado: lo que se ha aplicado al índice, para construir uno desde cero
+    private Map<UUID, UUID> authors;
+    private Map<UUID, List<String>> tags;
+    private Map<UUID, Map<UUID, Integer>> ratings;
+    private List<UUID> students;
+
+    @BeforeEach
+    void setUp() {
+        authors = new LinkedHashMap<>();
+        tags = new HashMap<>();
+        ratings = new HashMap<>();
+        students = new ArrayList<>();
+        for (int s = 0; s < 12; s++) {
+            students.add(UUID.randomUUID());
+        }
+    }
+
+    @Test
+    void ratingChangesMatchFreshBuild() {
+        for (int c = 0; c < 30; c++) {
+            addContent(randomTags());
+        }
+        for (int r = 0; r < 60; r++) {
+            rate(randomContent(), randomStudent(), 1 + random.nextInt(5));
+        }
+        ContentSimilarityIndex index = build();
+
+        for (int round = 0; round < 10; round++) {
+            for (int r = 0; r < 25; r++) {
+                UUID contentId = randomContent();
+                UUID studentId = randomStudent();
+                int rating = 1 + random.nextInt(5);
+                rate(contentId, studentId, rating);
+                index.putRating(contentId, studentId, rating);
+            }
+            index.refreshPending();
+
+            assertFalse(index.hasPendingChanges());
+            assertAllNeighboursMatch(index, build());
+            assertListedByConsistent(index);
+        }
+    }
+
+    @Test
+    void contentAndRatingChangesWithoutTagsMatchFreshBuild() {
+        for (int c = 0; c < 20; c++) {
+            addContent(List.of());
+        }
+        for (int r = 0; r < 50; r++) {
+            rate(randomContent(), randomStudent(), 1 + random.nextInt(5));
+        }
+        ContentSimilarityIndex index = build();
+        List<UUID> removed = new ArrayList<>();
+
+        for (int round = 0; round < 15; round++) {
+            for (int op = 0; op < 10; op++) {
+                int choice = random.nextInt(10);
+                if (choice == 0) {
+                    UUID contentId = addContent(List.of());
+                    index.putContent(contentId, authors.get(contentId), List.of());
+                } else if (choice == 1 && authors.size() > 5) {
+                    UUID contentId = randomContent();
+                    removeContent(contentId);
+                    index.removeContent(contentId);
+                    removed.add(contentId);
+                } else if (choice == 2 && !removed.isEmpty()) {
+                    // Vuelve un contenido eliminado: sin valoraciones previas
+                    UUID contentId = removed.remove(random.nextInt(removed.size()));
+                    UUID authorId = UUID.randomUUID();
+                    authors.put(contentId, authorId);
+                    tags.put(contentId, List.of());
+                    index.putContent(contentId, authorId, List.of());
+                } else {
+                    UUID contentId = randomContent();
+                    UUID studentId = randomStudent();
+                    int rating = 1 + random.nextInt(5);
+                    rate(contentId, studentId, rating);
+                    index.putRating(contentId, studentId, rating);
+                }
+            }
+            index.refreshPending();
+
+            assertEquals(authors.size(), index.size());
+            assertAllNeighboursMatch(index, build());
+            assertListedByConsistent(index);
+            for (UUID contentId : removed) {
+                assertFalse(index.contains(contentId));
+                assertTrue(index.getNeighbours(contentId, Integer.MAX_VALUE).isEmpty());
+            }
+        }
+    }
+
+    @Test
+    void tagChangeRecomputesChangedContentExactly() {
+        for (int c = 0; c < 25; c++) {
+            addContent(randomTags());
+        }
+        for (int r = 0; r < 40; r++) {
+            rate(randomContent(), randomStudent(), 1 + random.nextInt(5));
+        }
+        ContentSimilarityIndex index = build();
+
+        for (int round = 0; round < 20; round++) {
+            UUID contentId;
+            if (random.nextInt(4) == 0) {
+                contentId = addContent(randomTags());
+            } else {
+                contentId = randomContent();
+                List<String> previous = tags.get(contentId);
+                List<String> next;
+                do {
+                    next = randomTags();
+                } while (next.equals(previous));
+                tags.put(contentId, next);
+            }
+            index.putContent(contentId, authors.get(contentId), tags.get(contentId));
+            index.refreshPending();
+
+            // La lista recalculada usa el IDF actual, igual que una construcción nueva
+            assertSameNeighbours(build().getNeighbours(contentId, Integer.MAX_VALUE),
+                    index.getNeighbours(contentId, Integer.MAX_VALUE), contentId);
+            assertListedByConsistent(index);
+        }
+    }
+
+    @Test
+    void removedContentLeavesEveryNeighbourList() {
+        for (int c = 0; c < 15; c++) {
+            addContent(List.of("java"));
+        }
+        ContentSimilarityIndex index = build();
+        // Todos empatan: solo algunos entran en las listas de los demás
+        UUID contentId = authors.keySet().stream()
+                .filter(id -> !index.listedBy(id).isEmpty())
+                .findFirst()
+                .orElseThrow();
+
+        removeContent(contentId);
+        index.removeContent(contentId);
+        index.refreshPending();
+
+        assertTrue(index.listedBy(contentId).isEmpty());
+        for (UUID other : authors.keySet()) {
+            for (ContentNeighbour neighbour : index.getNeighbours(other, Integer.MAX_VALUE)) {
+                assertFalse(neighbour.getContentId().equals(contentId));
+            }
+            // Los huecos se rellenan con el siguiente candidato
+            assertEquals(NEIGHBOURS, index.getNeighbours(other, Integer.MAX_VALUE).size());
+        }
+        assertListedByConsistent(index);
+    }
+
+    // ---------------------------------------------------------------- ayudas
+
+    private ContentSimilarityIndex build() {
+        ContentSimilarityIndex.Builder builder = ContentSimilarityIndex.builder();
+        authors.forEach(builder::addContent);
+        tags.forEach((contentId, contentTags) -> contentTags.forEach(tag -> builder.addTag(contentId, tag)));
+        ratings.forEach((contentId, byStudent) ->
+                byStudent.forEach((studentId, rating) -> builder.addRating(contentId, studentId, rating)));
+        return builder.build(NEIGHBOURS);
+    }
+
+    private UUID addContent(List<String> contentTags) {
+        UUID contentId = UUID.randomUUID();
+        authors.put(contentId, UUID.randomUUID());
+        tags.put(contentId, contentTags);
+        return contentId;
+    }
+
+    private void removeContent(UUID contentId) {
+        authors.remove(contentId);
+        tags.remove(contentId);
+        ratings.remove(contentId);
+    }
+
+    private void rate(UUID contentId, UUID studentId, int rating) {
+        ratings.computeIfAbsent(contentId, id -> new HashMap<>()).put(studentId, rating);
+    }
+
+    private UUID randomContent() {
+        List<UUID> ids = new ArrayList<>(authors.keySet());
+        return ids.get(random.nextInt(ids.size()));
+    }
+
+    private UUID randomStudent() {
+        return students.get(random.nextInt(students.size()));
+    }
+
+    private List<String> randomTags() {
+        List<String> contentTags = new ArrayList<>();
+        for (String tag : TAGS) {
+            if (random.nextInt(3) == 0) {
+                contentTags.add(tag);
+            }
+        }
+        return contentTags;
+    }
+
+    private void assertAllNeighboursMatch(ContentSimilarityIndex actual, ContentSimilarityIndex expected) {
+        for (UUID contentId : authors.keySet()) {
+            assertSameNeighbours(expected.getNeighbours(contentId, Integer.MAX_VALUE),
+                    actual.getNeighbours(contentId, Integer.MAX_VALUE), contentId);
+        }
+    }
+
+    /**
+     * Mismas puntuaciones en el mismo orden. Entre vecinos empatados el orden
+     * (y, al final de una lista llena, cuál entra) depende del orden de
+     * cálculo, así que solo se comparan los IDs de los que no empatan con el
+     * último.
+     */
+    private static void assertSameNeighbours(List<ContentNeighbour> expected, List<ContentNeighbour> actual,
+            UUID contentId) {
+        assertEquals(expected.size(), actual.size(), "Neighbour count of " + contentId);
+        if (expected.isEmpty()) {
+            return;
+        }
+        for (int k = 0; k < expected.size(); k++) {
+            assertEquals(expected.get(k).getSimilarity(), actual.get(k).getSimilarity(), TOLERANCE,
+                    "Similarity #" + k + " of " + contentId);
+        }
+
+        double last = expected.get(expected.size() - 1).getSimilarity();
+        boolean full = expected.size() == NEIGHBOURS;
+        assertEquals(unambiguous(expected, last, full), unambiguous(actual, last, full),
+                "Neighbours of " + contentId);
+    }
+
+    private static Set<UUID> unambiguous(List<ContentNeighbour> neighbours, double last, boolean full) {
+        Set<UUID> ids = new HashSet<>();
+        for (ContentNeighbour neighbour : neighbours) {
+            if (!full || neighbour.getSimilarity() > last + TOLERANCE) {
+                ids.add(neighbour.getContentId());
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * El índice inverso contiene exactamente a quienes tienen al contenido
+     * entre sus vecinos.
+     */
+    private void assertListedByConsistent(ContentSimilarityIndex index) {
+        Map<UUID, Set<UUID>> expected = new HashMap<>();
+        for (UUID contentId : authors.keySet()) {
+            for (ContentNeighbour neighbour : index.getNeighbours(contentId, Integer.MAX_VALUE)) {
+                assertTrue(authors.containsKey(neighbour.getContentId()),
+                        "Removed content listed as neighbour of " + contentId);
+                expected.computeIfAbsent(neighbour.getContentId(), id -> new HashSet<>()).add(contentId);
+            }
+        }
+        for (UUID contentId : authors.keySet()) {
+            List<UUID> listing = index.listedBy(contentId);
+            assertEquals(listing.size(), new HashSet<>(listing).size(), "Duplicates in listedBy of " + contentId);
+            assertEquals(expected.getOrDefault(contentId, Set.of()), new HashSet<>(listing),
+                    "listedBy of " + contentId);
+        }
+    }
+}
@@ -0,0 +1,306 @@
+package com.plataformaEducativa.proyectoestructuradatos.models.datastructure.HelpRequestPriorityQueue;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.plataformaEducativa.proyectoestructuradatos.enums.HelpRequestPriority;
+import com.plataformaEducativa.proyectoestructuradatos.models.HelpRequest;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Comprueba el montículo indexado de solicitudes: tras cada alta, baja o
+ * actualización por ID, cada nodo conoce su posición, se cumple la propiedad
+ * de montículo y las solicitudes salen en el mismo orden que ordenando una
+ * copia. Los listados sin extracción ({@code topN}, {@code page} y el
+ * iterador ordenado) deben dar ese mismo orden.
+ */
+class HelpRequestPriorityQueueTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 3, 1, 9, 0);
+    private static final HelpRequestPriority[] PRIORITIES = HelpRequestPriority.values();
+
+    private final Random random = new Random(7);
+
+    @Test
+    void removeByIdKeepsPositionsAndOrder() {
+        HelpRequestPriorityQueue queue = new HelpRequestPriorityQueue();
+        Map<UUID, HelpRequest> expected = new HashMap<>();
+        for (int i = 0; i < 200; i++) {
+            HelpRequest request = request(UUID.randomUUID(), randomPriority(), i);
+            queue.enqueue(request);
+            expected.put(request.getId(), request);
+        }
+
+        List<UUID> ids = new ArrayList<>(expected.keySet());
+        Collections.shuffle(ids, random);
+        for (UUID id : ids.subList(0, 120)) {
+            assertTrue(queue.remove(id));
+            expected.remove(id);
+            assertFalse(queue.contains(id));
+            assertNull(queue.findById(id));
+            assertConsistent(queue, expected);
+        }
+        assertFalse(queue.remove(ids.get(0)));
+
+        assertDequeuesInOrder(queue, expected);
+    }
+
+    @Test
+    void updateMovesRequestUpAndDown() {
+        HelpRequestPriorityQueue queue = new HelpRequestPriorityQueue();
+        Map<UUID, HelpRequest> expected = new HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            HelpRequest request = request(UUID.randomUUID(), HelpRequestPriority.MEDIUM, i);
+            queue.enqueue(request);
+            expected.put(request.getId(), request);
+        }
+
+        List<UUID> ids = new ArrayList<>(expected.keySet());
+        for (int round = 0; round < 150; round++) {
+            UUID id = ids.get(random.nextInt(ids.size()));
+            // A veces más antigua que todas, a veces más reciente
+            int minute = random.nextBoolean() ? -1 - round : 100 + round;
+            HelpRequest updated = request(id, randomPriority(), minute);
+            assertTrue(queue.update(updated));
+            expected.put(id, updated);
+
+            assertSame(updated, queue.findById(id));
+            assertConsistent(queue, expected);
+        }
+        assertFalse(queue.update(request(UUID.randomUUID(), HelpRequestPriority.HIGH, 0)));
+
+        assertDequeuesInOrder(queue, expected);
+    }
+
+    @Test
+    void enqueueWithKnownIdUpdatesInPlace() {
+        HelpRequestPriorityQueue queue = new HelpRequestPriorityQueue();
+        UUID id = UUID.randomUUID();
+        queue.enqueue(request(id, HelpRequestPriority.LOW, 0));
+        queue.enqueue(request(UUID.randomUUID(), HelpRequestPriority.MEDIUM, 1));
+
+        HelpRequest raised = request(id, HelpRequestPriority.URGENT, 0);
+        queue.enqueue(raised);
+
+        assertEquals(2, queue.size());
+        assertSame(raised, queue.peek());
+    }
+
+    @Test
+    void randomOperationsMatchSortedCopy() {
+        HelpRequestPriorityQueue queue = new HelpRequestPriorityQueue();
+        Map<UUID, HelpRequest> expected = new HashMap<>();
+        List<UUID> known = new ArrayList<>();
+        int clock = 0;
+
+        for (int op = 0; op < 2000; op++) {
+            int choice = random.nextInt(10);
+            if (choice < 4 || known.isEmpty()) {
+                HelpRequest request = request(UUID.randomUUID(), randomPriority(), clock++);
+                queue.enqueue(request);
+                expected.put(request.getId(), request);
+                known.add(request.getId());
+            } else if (choice < 6) {
+                UUID id = known.get(random.nextInt(known.size()));
+                assertEquals(expected.remove(id) != null, queue.remove(id));
+            } else if (choice < 8) {
+                UUID id = known.get(random.nextInt(known.size()));
+                HelpRequest updated = request(id, randomPriority(), clock++);
+                assertEquals(expected.containsKey(id), queue.update(updated));
+                expected.computeIfPresent(id, (key, previous) -> updated);
+            } else if (!expected.isEmpty()) {
+                HelpRequest head = sorted(expected).get(0);
+                assertSame(head, queue.dequeue());
+                expected.remove(head.getId());
+            }
+            assertConsistent(queue, expected);
+        }
+    }
+
+    @Test
+    void orderedIteratorMatchesDequeueOrder() {
+        HelpRequestPriorityQueue queue = filledQueue(300);
+        List<HelpRequest> iterated = new ArrayList<>();
+        Iterator<HelpRequest> iterator = queue.orderedIterator();
+        while (iterator.hasNext()) {
+            iterated.add(iterator.next());
+        }
+        assertThrows(NoSuchElementException.class, iterator::next);
+        assertEquals(300, queue.size());
+
+        for (HelpRequest request : iterated) {
+            assertSame(request, queue.dequeue());
+        }
+        assertTrue(queue.isEmpty());
+        assertFalse(queue.orderedIterator().hasNext());
+    }
+
+    @Test
+    void orderedIteratorFailsAfterModification() {
+        HelpRequestPriorityQueue queue = filledQueue(10);
+        HelpRequest head = queue.peek();
+
+        Iterator<HelpRequest> afterEnqueue = queue.orderedIterator();
+        afterEnqueue.next();
+        queue.enqueue(request(UUID.randomUUID(), HelpRequestPriority.LOW, 500));
+        assertThrows(ConcurrentModificationException.class, afterEnqueue::hasNext);
+        assertThrows(ConcurrentModificationException.class, afterEnqueue::next);
+
+        Iterator<HelpRequest> afterUpdate = queue.orderedIterator();
+        queue.update(request(head.getId(), HelpRequestPriority.LOW, 501));
+        assertThrows(ConcurrentModificationException.class, afterUpdate::next);
+
+        Iterator<HelpRequest> afterRemove = queue.orderedIterator();
+        queue.remove(head.getId());
+        assertThrows(ConcurrentModificationException.class, afterRemove::hasNext);
+
+        // Buscar no modifica la cola
+        Iterator<HelpRequest> afterRead = queue.orderedIterator();
+        queue.findById(head.getId());
+        queue.peek();
+        assertTrue(afterRead.hasNext());
+    }
+
+    @Test
+    void topNAndPageFollowDequeueOrder() {
+        HelpRequestPriorityQueue queue = filledQueue(120);
+        List<HelpRequest> expected = new ArrayList<>();
+        queue.orderedIterator().forEachRemaining(expected::add);
+
+        assertEquals(expected.subList(0, 10), queue.topN(10));
+        assertEquals(expected, queue.topN(500));
+        assertTrue(queue.topN(0).isEmpty());
+
+        assertEquals(expected.subList(40, 60), queue.page(40, 20));
+        assertEquals(expected.subList(110, 120), queue.page(110, 20));
+        assertTrue(queue.page(120, 5).isEmpty());
+        assertTrue(queue.page(Long.MAX_VALUE, 5).isEmpty());
+        assertTrue(queue.page(0, 0).isEmpty());
+        assertEquals(120, queue.size());
+
+        assertThrows(IllegalArgumentException.class, () -> queue.page(-1, 5));
+        assertThrows(IllegalArgumentException.class, () -> queue.page(0, -1));
+        assertThrows(IllegalArgumentException.class, () -> queue.topN(-1));
+        assertTrue(new HelpRequestPriorityQueue().topN(5).isEmpty());
+    }
+
+    @Test
+    void agingQueueFollowsComparatorWithStoredDeadlines() {
+        Map<HelpRequestPriority, Duration> delays = new EnumMap<>(HelpRequestPriority.class);
+        delays.put(HelpRequestPriority.LOW, Duration.ofMinutes(30));
+        delays.put(HelpRequestPriority.MEDIUM, Duration.ofMinutes(15));
+        delays.put(HelpRequestPriority.HIGH, Duration.ofMinutes(5));
+        AgingHelpRequestComparator aging = new AgingHelpRequestComparator(delays);
+        HelpRequestPriorityQueue queue = new HelpRequestPriorityQueue(aging);
+
+        Map<UUID, HelpRequest> expected = new HashMap<>();
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            // Fechas repetidas: plazos iguales que desempata el orden natural
+            HelpRequest request = request(UUID.randomUUID(), randomPriority(), random.nextInt(60));
+            queue.enqueue(request);
+            expected.put(request.getId(), request);
+            ids.add(request.getId());
+        }
+        for (int round = 0; round < 100; round++) {
+            UUID id = ids.get(random.nextInt(ids.size()));
+            HelpRequest updated = request(id, randomPriority(), random.nextInt(60));
+            queue.update(updated);
+            expected.put(id, updated);
+            assertConsistent(queue, expected);
+        }
+
+        List<HelpRequest> sorted = new ArrayList<>(expected.values());
+        sorted.sort(aging);
+        for (HelpRequest request : sorted) {
+            assertEquals(0, aging.compare(request, queue.dequeue()));
+        }
+        assertTrue(queue.isEmpty());
+    }
+
+    // ---------------------------------------------------------------- ayudas
+
+    private HelpRequestPriorityQueue filledQueue(int size) {
+        HelpRequestPriorityQueue queue = new HelpRequestPriorityQueue();
+        for (int i = 0; i < size; i++) {
+            queue.enqueue(request(UUID.randomUUID(), randomPriority(), i));
+        }
+        return queue;
+    }
+
+    /**
+     * Cada ID apunta a un nodo que sabe su posición, y ningún padre va
+     * después que sus hijos.
+     */
+    private static void assertConsistent(HelpRequestPriorityQueue queue, Map<UUID, HelpRequest> expected) {
+        List<HelpRequestNode> heap = queue.getHeap();
+        assertEquals(expected.size(), queue.size());
+        assertEquals(expected.size(), heap.size());
+
+        for (int i = 0; i < heap.size(); i++) {
+            HelpRequestNode node = heap.get(i);
+            assertEquals(i, node.index, "Stored position");
+            assertSame(expected.get(node.getHelpRequest().getId()), node.getHelpRequest());
+            if (i > 0) {
+                HelpRequestNode parent = heap.get((i - 1) / 2);
+                assertTrue(queue.getOrder().compare(parent.getHelpRequest(), node.getHelpRequest()) <= 0,
+                        "Heap property at " + i);
+            }
+        }
+        for (HelpRequest request : expected.values()) {
+            assertTrue(queue.contains(request.getId()));
+            assertSame(request, queue.findById(request.getId()));
+        }
+    }
+
+    private static void assertDequeuesInOrder(HelpRequestPriorityQueue queue, Map<UUID, HelpRequest> expected) {
+        for (HelpRequest request : sorted(expected)) {
+            assertSame(request, queue.dequeue());
+        }
+        assertTrue(queue.isEmpty());
+    }
+
+    private static List<HelpRequest> sorted(Map<UUID, HelpRequest> requests) {
+        List<HelpRequest> sorted = new ArrayList<>(requests.values());
+        sorted.sort(Comparator.naturalOrder());
+        return sorted;
+    }
+
+    private HelpRequestPriority randomPriority() {
+        return PRIORITIES[random.nextInt(PRIORITIES.length)];
+    }
+
+    /**
+     * Solicitud creada {@code minute} minutos después de la base: fechas
+     * distintas para que el orden sea total.
+     */
+    static HelpRequest request(UUID id, HelpRequestPriority priority, int minute) {
+        return HelpRequest.builder()
+                .id(id)
+                .title("Request " + minute)
+                .topic("topic-" + (minute % 3))
+                .priority(priority)
+                .createdAt(BASE.plusMinutes(minute))
+                .build();
+    }
+}
@@ -0,0 +1,154 @@
+package com.plataformaEducativa.proyectoestructuradatos.models.datastructure.HelpRequestPriorityQueue;
+
+import static com.plataformaEducativa.proyectoestructuradatos.models.datastructure.HelpRequestPriorityQueue.HelpRequestPriorityQueueTest.request;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.plataformaEducativa.proyectoestructuradatos.enums.HelpRequestPriority;
+import com.plataformaEducativa.proyectoestructuradatos.models.HelpRequest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Comprueba que el montículo de claves empaquetadas extrae en el mismo orden
+ * que {@link HelpRequestPriorityQueue} cuando las fechas difieren en al menos
+ * un milisegundo, y que dentro del mismo milisegundo decide el orden de
+ * llegada.
+ */
+class PackedHelpRequestHeapTest {
+
+    private static final HelpRequestPriority[] PRIORITIES = HelpRequestPriority.values();
+
+    private final Random random = new Random(11);
+
+    @Test
+    void dequeuesLikeIndexedQueueForDistinctMillis() {
+        PackedHelpRequestHeap packed = new PackedHelpRequestHeap();
+        HelpRequestPriorityQueue reference = new HelpRequestPriorityQueue();
+        List<UUID> known = new ArrayList<>();
+        int clock = 0;
+
+        for (int op = 0; op < 3000; op++) {
+            int choice = random.nextInt(10);
+            if (choice < 4 || known.isEmpty()) {
+                HelpRequest request = request(UUID.randomUUID(), randomPriority(), clock++);
+                packed.enqueue(request);
+                reference.enqueue(request);
+                known.add(request.getId());
+            } else if (choice < 6) {
+                UUID id = known.get(random.nextInt(known.size()));
+                assertEquals(reference.remove(id), packed.remove(id));
+            } else if (choice < 8) {
+                UUID id = known.get(random.nextInt(known.size()));
+                HelpRequest updated = request(id, randomPriority(), clock++);
+                assertEquals(reference.update(updated), packed.update(updated));
+                assertSame(reference.findById(id), packed.findById(id));
+            } else if (!reference.isEmpty()) {
+                assertSame(reference.dequeue(), packed.dequeue());
+            }
+            assertEquals(reference.size(), packed.size());
+        }
+
+        while (!reference.isEmpty()) {
+            assertSame(reference.dequeue(), packed.dequeue());
+        }
+        assertTrue(packed.isEmpty());
+    }
+
+    @Test
+    void sameMillisecondFollowsArrivalOrder() {
+        PackedHelpRequestHeap packed = new PackedHelpRequestHeap();
+        List<HelpRequest> arrivals = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            HelpRequest request = request(UUID.randomUUID(), HelpRequestPriority.HIGH, 0);
+            arrivals.add(request);
+            packed.enqueue(request);
+        }
+
+        // Actualizar sin cambiar la clave conserva la secuencia de llegada
+        HelpRequest second = arrivals.get(1);
+        HelpRequest sameKey = request(second.getId(), HelpRequestPriority.HIGH, 0);
+        assertTrue(packed.update(sameKey));
+        arrivals.set(1, sameKey);
+
+        for (HelpRequest request : arrivals) {
+            assertSame(request, packed.dequeue());
+        }
+        assertThrows(NoSuchElementException.class, packed::dequeue);
+    }
+
+    @Test
+    void removeAndUpdateById() {
+        PackedHelpRequestHeap packed = new PackedHelpRequestHeap();
+        UUID low = UUID.randomUUID();
+        UUID medium = UUID.randomUUID();
+        UUID high = UUID.randomUUID();
+        packed.enqueue(request(low, HelpRequestPriority.LOW, 0));
+        packed.enqueue(request(medium, HelpRequestPriority.MEDIUM, 1));
+        packed.enqueue(request(high, HelpRequestPriority.HIGH, 2));
+
+        HelpRequest raised = request(low, HelpRequestPriority.URGENT, 0);
+        packed.enqueue(raised);
+        assertEquals(3, packed.size());
+        assertSame(raised, packed.peek());
+
+        assertTrue(packed.remove(high));
+        assertFalse(packed.remove(high));
+        assertFalse(packed.contains(high));
+        assertNull(packed.findById(high));
+        assertFalse(packed.update(request(high, HelpRequestPriority.LOW, 2)));
+
+        assertSame(raised, packed.dequeue());
+        assertEquals(medium, packed.dequeue().getId());
+        assertTrue(packed.isEmpty());
+    }
+
+    @Test
+    void pollWithFilterTakesBestMatch() {
+        PackedHelpRequestHeap packed = new PackedHelpRequestHeap();
+        HelpRequestPriorityQueue reference = new HelpRequestPriorityQueue();
+        for (int i = 0; i < 200; i++) {
+            HelpRequest request = request(UUID.randomUUID(), randomPriority(), i);
+            packed.enqueue(request);
+            reference.enqueue(request);
+        }
+
+        while (!reference.isEmpty()) {
+            String topic = "topic-" + random.nextInt(3);
+            HelpRequest expected = reference.poll(request -> topic.equals(request.getTopic()));
+            assertSame(expected, packed.poll(request -> topic.equals(request.getTopic())));
+            if (expected == null) {
+                assertSame(reference.dequeue(), packed.dequeue());
+            }
+        }
+        assertTrue(packed.isEmpty());
+    }
+
+    @Test
+    void packKeyOrdersByPriorityThenTimeThenSequence() {
+        LocalDateTime now = LocalDateTime.of(2024, 3, 1, 9, 0);
+        long urgentLater = PackedHelpRequestHeap.packKey(HelpRequestPriority.URGENT, now.plusDays(30), 9);
+        long highEarlier = PackedHelpRequestHeap.packKey(HelpRequestPriority.HIGH, now, 0);
+        long highSameMillis = PackedHelpRequestHeap.packKey(HelpRequestPriority.HIGH, now.plusNanos(999_999), 1);
+        long highNextMillis = PackedHelpRequestHeap.packKey(HelpRequestPriority.HIGH, now.plusNanos(1_000_000), 0);
+
+        assertTrue(urgentLater < highEarlier);
+        assertTrue(highEarlier < highSameMillis);
+        assertTrue(highSameMillis < highNextMillis);
+    }
+
+    private HelpRequestPriority randomPriority() {
+        return PRIORITIES[random.nextInt(PRIORITIES.length)];
+    }
+}
@@ -0,0 +1,113 @@
+package com.plataformaEducativa.proyectoestructuradatos.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import com.plataformaEducativa.proyectoestructuradatos.entity.ContentEntity;
+import com.plataformaEducativa.proyectoestructuradatos.entity.StudentEntity;
+import com.plataformaEducativa.proyectoestructuradatos.enums.ContentType;
+import com.plataformaEducativa.proyectoestructuradatos.enums.UserRole;
+import com.plataformaEducativa.proyectoestructuradatos.repository.projection.ContentListingRow;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Comprueba que una página de listado se resuelve con un número fijo de
+ * sentencias, sin una consulta extra por autor o por etiquetas de cada contenido.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class ContentListingQueryTest {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ContentRepository contentRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        for (int s = 0; s < 5; s++) {
+            StudentEntity author = entityManager.persist(StudentEntity.builder()
+                    .username("author" + s)
+                    .password("secret")
+                    .email("author" + s + "@example.com")
+                    .fullName("Author " + s)
+                    .role(UserRole.STUDENT)
+                    .active(true)
+                    .build());
+
+            for (int c = 0; c < 6; c++) {
+                entityManager.persist(ContentEntity.builder()
+                        .title("Content " + s + "-" + c)
+                        .description("Description " + c)
+                        .contentType(ContentType.DOCUMENT)
+                        .tags(Set.of("java", "tag" + c))
+                        .author(author)
+                        .averageRating(0.0)
+                        .ratingCount(0)
+                        .ratingSum(0L)
+                        .viewCount(0)
+                        .build());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void listingPageUsesPageCountAndTagQueriesOnly() {
+        Page<ContentListingRow> page = contentRepository.findAllListings(PageRequest.of(0, PAGE_SIZE));
+        List<UUID> ids = page.map(ContentListingRow::id).getContent();
+        List<Object[]> tags = contentRepository.findTagsByContentIds(ids);
+
+        assertEquals(PAGE_SIZE, page.getNumberOfElements());
+        assertEquals(30, page.getTotalElements());
+        assertEquals(PAGE_SIZE * 2, tags.size());
+        assertTrue(page.getContent().stream().allMatch(row -> row.authorUsername() != null));
+
+        // Página + COUNT + etiquetas de toda la página
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void entityPageLoadsAuthorsAndTagsInBatches() {
+        List<UUID> ids = new ArrayList<>(contentRepository.findAllListings(PageRequest.of(0, PAGE_SIZE))
+                .map(ContentListingRow::id).getContent());
+        statistics.clear();
+
+        List<ContentEntity> contents = contentRepository.findAllByIdInOrder(ids);
+        for (ContentEntity content : contents) {
+            content.getAuthor().getUsername();
+            content.getTags().size();
+        }
+
+        assertEquals(PAGE_SIZE, contents.size());
+        // Contenidos + un lote de autores + un lote de etiquetas, sea cual sea el tamaño de página
+        assertTrue(statistics.getPrepareStatementCount() <= 3);
+    }
+}
@@ -0,0 +1,73 @@
+-- Benchmark de búsqueda por palabra clave: LIKE sobre LOWER() frente a ILIKE con pg_trgm.
+--
+-- Uso (sobre una base de datos desechable con el esquema ya creado por la aplicación):
+--   psql -d plataforma_educativa_bench -f keyword-search-benchmark.sql
+--
+-- Genera 1.000.000 de contenidos y 1.000.000 de solicitudes de ayuda sintéticas,
+-- y muestra EXPLAIN ANALYZE de cada consulta antes y después de crear los índices.
+
+\timing on
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Autor sintético para los contenidos y solicitudes
+INSERT INTO users (id, username, password, email, full_name, role, active, created_at, updated_at)
+VALUES ('00000000-0000-0000-0000-000000000001', 'bench_author', 'x', 'bench@example.com',
+        'Bench Author', 'STUDENT', true, now(), now())
+ON CONFLICT DO NOTHING;
+
+INSERT INTO students (user_id) VALUES ('00000000-0000-0000-0000-000000000001')
+ON CONFLICT DO NOTHING;
+
+INSERT INTO contents (id, title, description, content_type, author_id,
+                      average_rating, rating_count, view_count, created_at, updated_at)
+SELECT gen_random_uuid(),
+       'Contenido ' || g || ' ' || (ARRAY['árboles', 'grafos', 'java', 'python', 'redes'])[1 + g % 5],
+       repeat(md5(g::text), 20) || ' estructuras de datos ' || (ARRAY['heap', 'bst', 'hash'])[1 + g % 3],
+       'DOCUMENT', '00000000-0000-0000-0000-000000000001',
+       0, 0, 0, now() - (g || ' seconds')::interval, now()
+FROM generate_series(1, 1000000) AS g;
+
+INSERT INTO help_requests (id, title, description, topic, priority, requester_id,
+                           resolved, created_at, updated_at)
+SELECT gen_random_uuid(),
+       'Ayuda ' || g,
+       repeat(md5(g::text), 10),
+       (ARRAY['matematicas', 'fisica', 'programacion', 'quimica'])[1 + g % 4],
+       (ARRAY['LOW', 'MEDIUM', 'HIGH', 'URGENT'])[1 + g % 4],
+       '00000000-0000-0000-0000-000000000001',
+       g % 10 <> 0, now() - (g || ' seconds')::interval, now()
+FROM generate_series(1, 1000000) AS g;
+
+ANALYZE contents;
+ANALYZE help_requests;
+
+-- 1. Consultas originales (LOWER(...) LIKE): recorrido secuencial
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT c.* FROM contents c
+WHERE LOWER(c.title) LIKE LOWER('%grafos%') OR LOWER(c.description) LIKE LOWER('%grafos%')
+ORDER BY c.created_at DESC LIMIT 10;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT hr.* FROM help_requests hr WHERE hr.resolved = false AND
+    (LOWER(hr.title) LIKE LOWER('%fisica%') OR LOWER(hr.description) LIKE LOWER('%fisica%')
+     OR LOWER(hr.topic) LIKE LOWER('%fisica%'));
+
+-- 2. Índices de V1__search_trigram_indexes.sql
+\ir ../../../main/resources/db/migration/V1__search_trigram_indexes.sql
+ANALYZE contents;
+ANALYZE help_requests;
+
+-- 3. Consultas reescritas (ILIKE): Bitmap Index Scan sobre los índices GIN
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT c.* FROM contents c
+WHERE c.title ILIKE '%grafos%' OR c.description ILIKE '%grafos%'
+ORDER BY c.created_at DESC LIMIT 10;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT hr.* FROM help_requests hr WHERE hr.resolved = false AND
+    (hr.title ILIKE '%fisica%' OR hr.description ILIKE '%fisica%' OR hr.topic ILIKE '%fisica%');
+
+-- Limpieza
+DELETE FROM help_requests WHERE requester_id = '00000000-0000-0000-0000-000000000001';
+DELETE FROM contents WHERE author_id = '00000000-0000-0000-0000-000000000001';